@@ -0,0 +1,225 @@
+package io.datadynamics.hive.udf.benchmark;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.serde.serdeConstants;
+import org.apache.hadoop.hive.serde2.AbstractSerDe;
+import org.apache.hadoop.hive.serde2.SerDeException;
+import org.apache.hadoop.hive.serde2.SerDeUtils;
+import org.apache.hadoop.hive.serde2.io.DoubleWritable;
+import org.apache.hadoop.hive.serde2.lazy.LazySimpleSerDe;
+import org.apache.hadoop.hive.serde2.lazybinary.LazyBinarySerDe;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.StructField;
+import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.PrimitiveTypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.Writable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * A fixed set of generated array rows, exposed through the object inspectors of one encoding.
+ * <p>
+ * Lazy encodings keep the serialized rows and deserialize one per call of {@link #array(int)}, as a
+ * table scan would; the returned array is only valid until the next call.
+ */
+public final class ArrayInput {
+    public static final int ROWS = 64;
+
+    public enum ElementType {
+        INT(TypeInfoFactory.intTypeInfo),
+        BIGINT(TypeInfoFactory.longTypeInfo),
+        DOUBLE(TypeInfoFactory.doubleTypeInfo),
+        STRING(TypeInfoFactory.stringTypeInfo);
+
+        private final PrimitiveTypeInfo typeInfo;
+
+        ElementType(PrimitiveTypeInfo typeInfo) {
+            this.typeInfo = typeInfo;
+        }
+
+        public PrimitiveTypeInfo getTypeInfo() {
+            return typeInfo;
+        }
+
+        public boolean isNumeric() {
+            return this != STRING;
+        }
+
+        Object javaValue(long value) {
+            switch (this) {
+                case INT:
+                    return (int) value;
+                case BIGINT:
+                    return value * 1_000_003L;
+                case DOUBLE:
+                    return value / 8.0d;
+                default:
+                    return "value-" + Long.toHexString(value * 0x9E3779B97F4A7C15L);
+            }
+        }
+
+        Writable writableValue(Object javaValue) {
+            switch (this) {
+                case INT:
+                    return new IntWritable((Integer) javaValue);
+                case BIGINT:
+                    return new LongWritable((Long) javaValue);
+                case DOUBLE:
+                    return new DoubleWritable((Double) javaValue);
+                default:
+                    return new Text((String) javaValue);
+            }
+        }
+    }
+
+    public enum Encoding {
+        JAVA, WRITABLE, LAZY_SIMPLE, LAZY_BINARY
+    }
+
+    private final ListObjectInspector arrayOI;
+    private final Object[] rows;
+    private final AbstractSerDe serde;
+    private final StructObjectInspector rowOI;
+    private final StructField field;
+    private final Writable sampleValue;
+
+    private ArrayInput(ListObjectInspector arrayOI, Object[] rows, AbstractSerDe serde,
+                       StructObjectInspector rowOI, StructField field, Writable sampleValue) {
+        this.arrayOI = arrayOI;
+        this.rows = rows;
+        this.serde = serde;
+        this.rowOI = rowOI;
+        this.field = field;
+        this.sampleValue = sampleValue;
+    }
+
+    /**
+     * Generates {@link #ROWS} arrays of the given length.
+     *
+     * @param nullRatio      probability of an element being null
+     * @param duplicateRatio probability of a non-null element repeating an earlier value of its row
+     * @param sorted         whether every row is sorted in ascending order with its nulls last
+     */
+    public static ArrayInput create(ElementType elementType, Encoding encoding, int length,
+                                    double nullRatio, double duplicateRatio, boolean sorted, long seed) throws SerDeException {
+        Random random = new Random(seed);
+        // values are drawn from a domain of twice the array length, so two inputs overlap
+        long domain = Math.max(2L * length, 16L);
+        List<List<Object>> javaRows = new ArrayList<>(ROWS);
+        Object sample = elementType.javaValue(0);
+        for (int row = 0; row < ROWS; row++) {
+            List<Object> values = new ArrayList<>(length);
+            List<Object> seen = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                if (random.nextDouble() < nullRatio) {
+                    values.add(null);
+                } else if (!seen.isEmpty() && random.nextDouble() < duplicateRatio) {
+                    values.add(seen.get(random.nextInt(seen.size())));
+                } else {
+                    Object value = elementType.javaValue((long) (random.nextDouble() * domain));
+                    seen.add(value);
+                    values.add(value);
+                }
+            }
+            if (row == 0 && !seen.isEmpty()) {
+                sample = seen.get(seen.size() / 2);
+            }
+            if (sorted) {
+                values.sort(Comparator.nullsLast(ArrayInput::compareValues));
+            }
+            javaRows.add(values);
+        }
+        Writable sampleValue = elementType.writableValue(sample);
+
+        ObjectInspector javaElementOI = PrimitiveObjectInspectorFactory
+                .getPrimitiveJavaObjectInspector(elementType.getTypeInfo());
+        switch (encoding) {
+            case JAVA:
+                return new ArrayInput(ObjectInspectorFactory.getStandardListObjectInspector(javaElementOI),
+                        javaRows.toArray(), null, null, null, sampleValue);
+            case WRITABLE: {
+                Object[] rows = new Object[ROWS];
+                for (int row = 0; row < ROWS; row++) {
+                    List<Object> writables = new ArrayList<>(length);
+                    for (Object value : javaRows.get(row)) {
+                        writables.add(value == null ? null : elementType.writableValue(value));
+                    }
+                    rows[row] = writables;
+                }
+                return new ArrayInput(ObjectInspectorFactory.getStandardListObjectInspector(
+                        PrimitiveObjectInspectorFactory.getPrimitiveWritableObjectInspector(elementType.getTypeInfo())),
+                        rows, null, null, null, sampleValue);
+            }
+            default:
+                return serialized(encoding, elementType, javaElementOI, javaRows, sampleValue);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object left, Object right) {
+        // the generated strings are ASCII, so String order matches the byte order of Text
+        return ((Comparable<Object>) left).compareTo(right);
+    }
+
+    private static ArrayInput serialized(Encoding encoding, ElementType elementType, ObjectInspector javaElementOI,
+                                         List<List<Object>> javaRows, Writable sampleValue) throws SerDeException {
+        AbstractSerDe serde = encoding == Encoding.LAZY_SIMPLE ? new LazySimpleSerDe() : new LazyBinarySerDe();
+        Properties properties = new Properties();
+        properties.setProperty(serdeConstants.LIST_COLUMNS, "a");
+        properties.setProperty(serdeConstants.LIST_COLUMN_TYPES,
+                serdeConstants.LIST_TYPE_NAME + "<" + elementType.getTypeInfo().getTypeName() + ">");
+        SerDeUtils.initializeSerDe(serde, new Configuration(), properties, null);
+
+        StructObjectInspector inputRowOI = ObjectInspectorFactory.getStandardStructObjectInspector(
+                Collections.singletonList("a"),
+                Collections.<ObjectInspector>singletonList(ObjectInspectorFactory.getStandardListObjectInspector(javaElementOI)));
+        Object[] rows = new Object[ROWS];
+        for (int row = 0; row < ROWS; row++) {
+            // serializers reuse their output buffer
+            Writable serialized = serde.serialize(Collections.<Object>singletonList(javaRows.get(row)), inputRowOI);
+            if (serialized instanceof Text) {
+                rows[row] = new Text((Text) serialized);
+            } else {
+                BytesWritable bytes = (BytesWritable) serialized;
+                rows[row] = new BytesWritable(Arrays.copyOf(bytes.getBytes(), bytes.getLength()));
+            }
+        }
+
+        StructObjectInspector rowOI = (StructObjectInspector) serde.getObjectInspector();
+        StructField field = rowOI.getStructFieldRef("a");
+        return new ArrayInput((ListObjectInspector) field.getFieldObjectInspector(), rows, serde, rowOI, field, sampleValue);
+    }
+
+    public ListObjectInspector getArrayOI() {
+        return arrayOI;
+    }
+
+    /**
+     * @return writable value that occurs in the first row, for probe arguments
+     */
+    public Writable getSampleValue() {
+        return sampleValue;
+    }
+
+    public Object array(int row) throws SerDeException {
+        if (serde == null) {
+            return rows[row];
+        }
+        Object struct = serde.deserialize((Writable) rows[row]);
+        return rowOI.getStructFieldData(struct, field);
+    }
+}
@@ -0,0 +1,227 @@
+package io.datadynamics.hive.udf.benchmark;
+
+import io.datadynamics.hive.udf.array.*;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.io.DoubleWritable;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.PrimitiveTypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.Text;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Throughput of every GenericUDF in {@code io.datadynamics.hive.udf.array}, one row per operation.
+ * <p>
+ * Run with the GC profiler to get allocation per row ({@code gc.alloc.rate.norm}):
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar ArrayUdfBenchmark -prof gc
+ * java -jar benchmarks/target/benchmarks.jar ArrayUdfBenchmark -prof gc -p udf=array_sort,array_distinct -p length=100000
+ * </pre>
+ * Combinations a function does not accept (array_sum over strings, ...) fail in setup and are
+ * reported as such by JMH; narrow the parameters with {@code -p} to avoid them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.net=ALL-UNNAMED")
+public class ArrayUdfBenchmark {
+
+    private enum Shape {
+        ARRAY, ARRAY_VALUE, SORTED_ARRAY_VALUE, ARRAY_ARRAY, ARRAY_INDEX, ARRAY_WEIGHTS_INDEX, ARRAY_FRACTION, ARRAY_SLICE, ARRAY_DELIMITER
+    }
+
+    private enum UdfCase {
+        ARRAY_AVG(UDFArrayAvg::new, Shape.ARRAY),
+        ARRAY_BOTTOM_K(UDFArrayBottomK::new, Shape.ARRAY_INDEX),
+        ARRAY_CONCAT(UDFArrayConcat::new, Shape.ARRAY_ARRAY),
+        ARRAY_CONTAINS(UDFArrayContains::new, Shape.ARRAY_VALUE),
+        ARRAY_CONTAINS_ALL(UDFArrayContainsAll::new, Shape.ARRAY_ARRAY),
+        ARRAY_CONTAINS_ANY(UDFArrayContainsAny::new, Shape.ARRAY_ARRAY),
+        ARRAY_CONTAINS_SORTED(UDFArrayContainsSorted::new, Shape.SORTED_ARRAY_VALUE),
+        ARRAY_DISTINCT(UDFArrayDistinct::new, Shape.ARRAY),
+        ARRAY_ELEMENT_AT(UDFArrayElementAt::new, Shape.ARRAY_INDEX),
+        ARRAY_EQUALS(UDFArrayEquals::new, Shape.ARRAY_ARRAY),
+        ARRAY_EXCEPT(UDFArrayExcept::new, Shape.ARRAY_ARRAY),
+        ARRAY_FREQUENCIES(UDFArrayFrequencies::new, Shape.ARRAY),
+        ARRAY_INTERSECT(UDFArrayIntersect::new, Shape.ARRAY_ARRAY),
+        ARRAY_JOIN(UDFArrayJoin::new, Shape.ARRAY_DELIMITER),
+        ARRAY_MAX(UDFArrayMax::new, Shape.ARRAY),
+        ARRAY_MEDIAN(UDFArrayMedian::new, Shape.ARRAY),
+        ARRAY_MIN(UDFArrayMin::new, Shape.ARRAY),
+        ARRAY_MIN_MAX(UDFArrayMinMax::new, Shape.ARRAY),
+        ARRAY_NTH(UDFArrayNth::new, Shape.ARRAY_INDEX),
+        ARRAY_PERCENTILE(UDFArrayPercentile::new, Shape.ARRAY_FRACTION),
+        ARRAY_POSITION(UDFArrayPosition::new, Shape.ARRAY_VALUE),
+        ARRAY_POSITION_SORTED(UDFArrayPositionSorted::new, Shape.SORTED_ARRAY_VALUE),
+        ARRAY_RANK(UDFArrayRank::new, Shape.SORTED_ARRAY_VALUE),
+        ARRAY_REMOVE(UDFArrayRemove::new, Shape.ARRAY_VALUE),
+        ARRAY_REVERSE(UDFArrayReverse::new, Shape.ARRAY),
+        ARRAY_SAMPLE(UDFArraySample::new, Shape.ARRAY_INDEX),
+        ARRAY_SHUFFLE(UDFArrayShuffle::new, Shape.ARRAY),
+        ARRAY_SIZE(UDFArraySize::new, Shape.ARRAY),
+        ARRAY_SLICE(UDFArraySlice::new, Shape.ARRAY_SLICE),
+        ARRAY_SORT(UDFArraySort::new, Shape.ARRAY),
+        ARRAY_SUM(UDFArraySum::new, Shape.ARRAY),
+        ARRAY_TOP_K(UDFArrayTopK::new, Shape.ARRAY_INDEX),
+        ARRAY_TOP_VALUES(UDFArrayTopValues::new, Shape.ARRAY_INDEX),
+        ARRAY_UNION(UDFArrayUnion::new, Shape.ARRAY_ARRAY),
+        ARRAY_VALUE_COUNT(UDFArrayValueCount::new, Shape.ARRAY_VALUE),
+        ARRAY_WEIGHTED_SAMPLE(UDFArrayWeightedSample::new, Shape.ARRAY_WEIGHTS_INDEX);
+
+        private final Supplier<GenericUDF> factory;
+        private final Shape shape;
+
+        UdfCase(Supplier<GenericUDF> factory, Shape shape) {
+            this.factory = factory;
+            this.shape = shape;
+        }
+    }
+
+    /**
+     * Argument whose value is replaced for every row, like the operator's deferred arguments.
+     */
+    private static final class RowArgument implements GenericUDF.DeferredObject {
+        private Object value;
+
+        RowArgument(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public void prepare(int version) {
+        }
+
+        @Override
+        public Object get() {
+            return value;
+        }
+    }
+
+    @Param({"array_contains", "array_position", "array_value_count", "array_remove", "array_contains_sorted",
+            "array_position_sorted", "array_rank", "array_min", "array_max", "array_min_max", "array_sum",
+            "array_avg", "array_frequencies", "array_top_values", "array_top_k", "array_bottom_k", "array_nth",
+            "array_median", "array_percentile", "array_sort", "array_distinct", "array_intersect", "array_union",
+            "array_except", "array_contains_any", "array_contains_all", "array_concat", "array_equals",
+            "array_element_at", "array_size", "array_slice", "array_join", "array_reverse", "array_shuffle",
+            "array_sample", "array_weighted_sample"})
+    public String udf;
+
+    @Param({"16", "1024"})
+    public int length;
+
+    @Param({"int", "bigint", "double", "string"})
+    public String elementType;
+
+    @Param({"0.1"})
+    public double nullRatio;
+
+    @Param({"0.5"})
+    public double duplicateRatio;
+
+    @Param({"java", "writable", "lazy_simple", "lazy_binary"})
+    public String encoding;
+
+    private GenericUDF function;
+    private ArrayInput left;
+    private ArrayInput right;
+    private RowArgument[] arguments;
+    private int row;
+
+    private static ObjectInspector constant(PrimitiveTypeInfo typeInfo, Object value) {
+        return PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(typeInfo, value);
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        UdfCase udfCase = UdfCase.valueOf(udf.toUpperCase());
+        ArrayInput.ElementType type = ArrayInput.ElementType.valueOf(elementType.toUpperCase());
+        ArrayInput.Encoding inputEncoding = ArrayInput.Encoding.valueOf(encoding.toUpperCase());
+        left = ArrayInput.create(type, inputEncoding, length, nullRatio, duplicateRatio,
+                udfCase.shape == Shape.SORTED_ARRAY_VALUE, 1L);
+
+        ObjectInspector[] argumentOIs;
+        switch (udfCase.shape) {
+            case ARRAY:
+                argumentOIs = new ObjectInspector[]{left.getArrayOI()};
+                arguments = new RowArgument[]{new RowArgument(null)};
+                break;
+            case ARRAY_VALUE:
+            case SORTED_ARRAY_VALUE:
+                argumentOIs = new ObjectInspector[]{left.getArrayOI(), constant(type.getTypeInfo(), left.getSampleValue())};
+                arguments = new RowArgument[]{new RowArgument(null), new RowArgument(left.getSampleValue())};
+                break;
+            case ARRAY_ARRAY:
+                right = ArrayInput.create(type, inputEncoding, length, nullRatio, duplicateRatio, false, 2L);
+                argumentOIs = new ObjectInspector[]{left.getArrayOI(), right.getArrayOI()};
+                arguments = new RowArgument[]{new RowArgument(null), new RowArgument(null)};
+                break;
+            case ARRAY_INDEX: {
+                IntWritable index = new IntWritable(length / 2 + 1);
+                argumentOIs = new ObjectInspector[]{left.getArrayOI(), constant(TypeInfoFactory.intTypeInfo, index)};
+                arguments = new RowArgument[]{new RowArgument(null), new RowArgument(index)};
+                break;
+            }
+            case ARRAY_WEIGHTS_INDEX: {
+                // double weights of the same length, null weights included, whatever the element type
+                right = ArrayInput.create(ArrayInput.ElementType.DOUBLE, inputEncoding, length, nullRatio, duplicateRatio,
+                        false, 2L);
+                IntWritable k = new IntWritable(length / 2 + 1);
+                argumentOIs = new ObjectInspector[]{left.getArrayOI(), right.getArrayOI(),
+                        constant(TypeInfoFactory.intTypeInfo, k)};
+                arguments = new RowArgument[]{new RowArgument(null), new RowArgument(null), new RowArgument(k)};
+                break;
+            }
+            case ARRAY_FRACTION: {
+                DoubleWritable fraction = new DoubleWritable(0.9d);
+                argumentOIs = new ObjectInspector[]{left.getArrayOI(), constant(TypeInfoFactory.doubleTypeInfo, fraction)};
+                arguments = new RowArgument[]{new RowArgument(null), new RowArgument(fraction)};
+                break;
+            }
+            case ARRAY_SLICE: {
+                IntWritable start = new IntWritable(length / 4 + 1);
+                IntWritable sliceLength = new IntWritable(length / 2);
+                argumentOIs = new ObjectInspector[]{left.getArrayOI(),
+                        constant(TypeInfoFactory.intTypeInfo, start), constant(TypeInfoFactory.intTypeInfo, sliceLength)};
+                arguments = new RowArgument[]{new RowArgument(null), new RowArgument(start), new RowArgument(sliceLength)};
+                break;
+            }
+            default: {
+                Text delimiter = new Text(",");
+                argumentOIs = new ObjectInspector[]{left.getArrayOI(), constant(TypeInfoFactory.stringTypeInfo, delimiter)};
+                arguments = new RowArgument[]{new RowArgument(null), new RowArgument(delimiter)};
+                break;
+            }
+        }
+
+        function = udfCase.factory.get();
+        function.initialize(argumentOIs);
+        row = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        function.close();
+    }
+
+    @Benchmark
+    public Object evaluate() throws Exception {
+        int current = row++ & (ArrayInput.ROWS - 1);
+        arguments[0].value = left.array(current);
+        if (right != null) {
+            arguments[1].value = right.array(current);
+        }
+        return evaluate(arguments);
+    }
+
+    private Object evaluate(GenericUDF.DeferredObject[] deferredObjects) throws HiveException {
+        return function.evaluate(deferredObjects);
+    }
+}
@@ -1,9 +1,13 @@
 package io.datadynamics.hive.udf;
 
+import io.datadynamics.hive.udf.vector.SafeDivideColCol;
+import io.datadynamics.hive.udf.vector.SafeDivideColScalar;
+import io.datadynamics.hive.udf.vector.SafeDivideScalarCol;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedExpressions;
 import org.apache.hadoop.hive.ql.metadata.HiveException;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
@@ -17,6 +21,7 @@ import org.apache.hadoop.io.DoubleWritable;
 /**
  * safe_divide(a, b) :  b = 0 이거나 NULL이면 NULL을 반환하고, 아니면 a / b 결과를 DOUBLE로 반환합니다.
  * 문자열/정수/실수/DECIMAL 등 원시 타입(Primitive)은 내부적으로 DOUBLE로 변환하여 처리합니다.
+ * 벡터화 실행 시에는 {@link SafeDivideColCol}, {@link SafeDivideColScalar}, {@link SafeDivideScalarCol}이 사용됩니다.
  */
 @Description(
         name = "safe_divide",
@@ -28,6 +33,7 @@ import org.apache.hadoop.io.DoubleWritable;
                 + "  > SELECT safe_divide(1, NULL);   -- NULL\n"
                 + "  > SELECT safe_divide(1.0, 1e-400); -- NULL (underflow/overflow/NaN 방지)"
 )
+@VectorizedExpressions({SafeDivideColCol.class, SafeDivideColScalar.class, SafeDivideScalarCol.class})
 public class GenericUDFSafeDivide extends GenericUDF {
 
     private transient PrimitiveObjectInspector leftOI;
@@ -0,0 +1,308 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayElementSet;
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.BooleanWritable;
+
+import java.util.Arrays;
+
+/**
+ * Shared implementation of array_contains_any and array_contains_all.
+ * <p>
+ * The result is the OR (any) or the AND (all) of {@code array_contains(array, value)} over the
+ * values: a null value never matches, and an empty values array gives false (any) or true (all).
+ * A null array or values array gives false, like array_contains.
+ * <p>
+ * Hashable elements hash the smaller side and probe the other one until the answer is decided.
+ * A literal values array is hashed once in {@code initialize()}. Other element types bind every
+ * value and scan the array.
+ */
+abstract class ArrayMembershipUDF extends ConstantArgumentUDF {
+    private static final int INITIAL_SIZE = 128;
+    private static final int ARRAY_IDX = 0;
+    private static final int VALUES_IDX = 1;
+    private static final int ARG_COUNT = 2; // Number of arguments to this UDF
+    private static final byte FOUND = 1;
+
+    private final String name;
+    private final boolean all;
+
+    private byte[] states = new byte[INITIAL_SIZE];
+    private transient ListObjectInspector arrayOI;
+    private transient ListObjectInspector valuesOI;
+    private transient ObjectInspector valueOI;
+    private transient ArrayAccessor arrayAccessor;
+    private transient ArrayAccessor valuesAccessor;
+    private transient Argument valuesArgument;
+    private transient ArrayElementSet set;
+    private transient ArrayElementSet constantSet;
+    private transient boolean constantHasNull;
+
+    private BooleanWritable result;
+
+    ArrayMembershipUDF(String name, boolean all) {
+        this.name = name;
+        this.all = all;
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if two arguments were passed
+        if (arguments.length != ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function " + name + "(array, values) takes exactly " + ARG_COUNT + " arguments.");
+        }
+
+        // Check if two argument is of category LIST
+        for (int i = 0; i < ARG_COUNT; i++) {
+            if (!arguments[i].getCategory().equals(ObjectInspector.Category.LIST)) {
+                throw new UDFArgumentTypeException(i,
+                        "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                                + "expected at function " + name + ", but "
+                                + "\"" + arguments[i].getTypeName() + "\" "
+                                + "is found");
+            }
+        }
+
+        arrayOI = (ListObjectInspector) arguments[ARRAY_IDX];
+        valuesOI = (ListObjectInspector) arguments[VALUES_IDX];
+        ObjectInspector arrayElementOI = arrayOI.getListElementObjectInspector();
+        valueOI = valuesOI.getListElementObjectInspector();
+
+        // Check if two array are of same type
+        if (!ObjectInspectorUtils.compareTypes(arrayElementOI, valueOI)) {
+            throw new UDFArgumentTypeException(VALUES_IDX,
+                    "\"" + arrayElementOI.getTypeName() + "\""
+                            + " expected at function " + name + ", but "
+                            + "\"" + valueOI.getTypeName() + "\""
+                            + " is found");
+        }
+
+        // Check if the comparison is supported for this type
+        if (!ObjectInspectorUtils.compareSupported(valueOI)) {
+            throw new UDFArgumentException("The function " + name
+                    + " does not support comparison for "
+                    + "\"" + valueOI.getTypeName() + "\""
+                    + " types");
+        }
+
+        arrayAccessor = ArrayAccessor.create(arrayOI);
+        valuesAccessor = ArrayAccessor.create(valuesOI);
+        valuesArgument = argument(arguments, VALUES_IDX);
+        if (ArrayElementSet.isSupported(arrayAccessor) && valuesAccessor.getKind() == arrayAccessor.getKind()) {
+            set = new ArrayElementSet(arrayAccessor);
+            if (valuesArgument.isConstant()) {
+                buildConstantSet(valuesArgument.getConstantValue());
+            }
+        }
+        result = new BooleanWritable(false);
+
+        return PrimitiveObjectInspectorFactory.writableBooleanObjectInspector;
+    }
+
+    private void buildConstantSet(Object values) {
+        constantSet = new ArrayElementSet(valuesAccessor);
+        int valuesLength = values == null ? 0 : valuesAccessor.length(values);
+        for (int i = 0; i < valuesLength; i++) {
+            Object value = valuesAccessor.get(values, i);
+            if (value == null) {
+                constantHasNull = true;
+            } else {
+                constantSet.add(valuesAccessor, value);
+            }
+        }
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        result.set(false);
+
+        Object array = arguments[ARRAY_IDX].get();
+        Object values = valuesArgument.get(arguments);
+
+        // Check if array is null
+        if (array == null || values == null) {
+            return result;
+        }
+
+        int arrayLength = arrayAccessor.length(array);
+        if (constantSet != null) {
+            result.set(all ? constantContainsAll(array, arrayLength) : constantContainsAny(array, arrayLength));
+            return result;
+        }
+
+        int valuesLength = valuesAccessor.length(values);
+        if (set == null) {
+            result.set(scanContains(array, arrayLength, values, valuesLength));
+        } else if (all) {
+            result.set(hashContainsAll(array, arrayLength, values, valuesLength));
+        } else {
+            result.set(hashContainsAny(array, arrayLength, values, valuesLength));
+        }
+        return result;
+    }
+
+    private void resetStates(int size) {
+        if (states.length < size) {
+            states = new byte[size];
+        } else {
+            Arrays.fill(states, 0, size, (byte) 0);
+        }
+    }
+
+    private boolean constantContainsAny(Object array, int arrayLength) {
+        if (constantSet.size() == 0) {
+            return false;
+        }
+        for (int i = 0; i < arrayLength; i++) {
+            Object element = arrayAccessor.get(array, i);
+            if (element != null && constantSet.contains(arrayAccessor, element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean constantContainsAll(Object array, int arrayLength) {
+        if (constantHasNull) {
+            return false;
+        }
+        int distinctCount = constantSet.size();
+        if (distinctCount == 0) {
+            return true;
+        }
+        resetStates(distinctCount);
+        return markAll(constantSet, distinctCount, array, arrayLength);
+    }
+
+    /**
+     * Walks the array and marks the set keys it contains, stopping as soon as every key is marked.
+     */
+    private boolean markAll(ArrayElementSet keys, int distinctCount, Object array, int arrayLength) {
+        int foundCount = 0;
+        for (int i = 0; i < arrayLength; i++) {
+            Object element = arrayAccessor.get(array, i);
+            if (element == null) {
+                continue;
+            }
+            int ordinal = keys.find(arrayAccessor, element);
+            if (ordinal >= 0 && states[ordinal] != FOUND) {
+                states[ordinal] = FOUND;
+                if (++foundCount == distinctCount) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hashContainsAny(Object array, int arrayLength, Object values, int valuesLength) {
+        if (arrayLength <= 0 || valuesLength <= 0) {
+            return false;
+        }
+        set.clear();
+        if (valuesLength <= arrayLength) {
+            return addAll(valuesAccessor, values, valuesLength) && probeAny(arrayAccessor, array, arrayLength);
+        }
+        return addAll(arrayAccessor, array, arrayLength) && probeAny(valuesAccessor, values, valuesLength);
+    }
+
+    private boolean hashContainsAll(Object array, int arrayLength, Object values, int valuesLength) {
+        if (valuesLength <= 0) {
+            return true;
+        }
+        if (arrayLength <= 0) {
+            return false;
+        }
+        set.clear();
+        if (valuesLength <= arrayLength) {
+            // a null value can never be contained
+            if (!addAll(valuesAccessor, values, valuesLength) || set.size() < valuesLength && hasNull(values, valuesLength)) {
+                return false;
+            }
+            int distinctCount = set.size();
+            resetStates(distinctCount);
+            return markAll(set, distinctCount, array, arrayLength);
+        }
+
+        addAll(arrayAccessor, array, arrayLength);
+        for (int i = 0; i < valuesLength; i++) {
+            Object value = valuesAccessor.get(values, i);
+            if (value == null || !set.contains(valuesAccessor, value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return false if the array has no non-null element
+     */
+    private boolean addAll(ArrayAccessor accessor, Object array, int length) {
+        for (int i = 0; i < length; i++) {
+            Object element = accessor.get(array, i);
+            if (element != null) {
+                set.add(accessor, element);
+            }
+        }
+        return set.size() > 0;
+    }
+
+    private boolean probeAny(ArrayAccessor accessor, Object array, int length) {
+        for (int i = 0; i < length; i++) {
+            Object element = accessor.get(array, i);
+            if (element != null && set.contains(accessor, element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasNull(Object values, int valuesLength) {
+        for (int i = 0; i < valuesLength; i++) {
+            if (valuesAccessor.isNull(values, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fallback for element types that cannot be hashed: bind every value and scan the array.
+     */
+    private boolean scanContains(Object array, int arrayLength, Object values, int valuesLength) {
+        for (int i = 0; i < valuesLength; i++) {
+            boolean found = arrayAccessor.bind(valuesAccessor.get(values, i), valueOI) && scan(array, arrayLength);
+            if (found != all) {
+                // the first match decides any, the first miss decides all
+                return found;
+            }
+        }
+        return all;
+    }
+
+    private boolean scan(Object array, int arrayLength) {
+        for (int i = 0; i < arrayLength; i++) {
+            if (arrayAccessor.matches(array, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        assert (strings.length == ARG_COUNT);
+        return name + "(" + strings[ARRAY_IDX] + ", "
+                + strings[VALUES_IDX] + ")";
+    }
+}
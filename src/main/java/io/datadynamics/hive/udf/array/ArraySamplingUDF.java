@@ -0,0 +1,72 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
+import io.datadynamics.hive.udf.utils.TypeUtils;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.udf.UDFType;
+import org.apache.hadoop.hive.serde2.objectinspector.ConstantObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorUtils;
+
+import java.util.SplittableRandom;
+
+/**
+ * Shared state of the functions that draw random elements of an array.
+ * <p>
+ * Every instance owns one {@link SplittableRandom} and a reused position buffer, so a row costs
+ * no allocation beyond its result. The optional seed argument must be an integer literal; with a
+ * seed, a task that reads the same rows in the same order returns the same output on every run.
+ */
+@UDFType(deterministic = false)
+abstract class ArraySamplingUDF extends ConstantArgumentUDF {
+    private static final int INITIAL_LENGTH = 128;
+
+    protected transient SplittableRandom random;
+    protected int[] positions = new int[INITIAL_LENGTH];
+
+    /**
+     * Seeds the random generator from the literal at seedIndex, or randomly if there are not that
+     * many arguments.
+     */
+    protected void initializeRandom(ObjectInspector[] arguments, int seedIndex, String name) throws UDFArgumentException {
+        if (arguments.length <= seedIndex) {
+            random = new SplittableRandom();
+            return;
+        }
+
+        ObjectInspector seedOI = arguments[seedIndex];
+        if (!ObjectInspectorUtils.isConstantObjectInspector(seedOI) || !TypeUtils.isIntegral(seedOI)) {
+            throw new UDFArgumentTypeException(seedIndex, "A constant integer seed is expected at function " + name + ", but "
+                    + "\"" + seedOI.getTypeName() + "\" is found");
+        }
+        Object seed = ((ConstantObjectInspector) seedOI).getWritableConstantValue();
+        if (seed == null) {
+            throw new UDFArgumentTypeException(seedIndex, "A constant integer seed is expected at function " + name + ", but null is found");
+        }
+        random = new SplittableRandom(PrimitiveObjectInspectorUtils.getLong(seed, (PrimitiveObjectInspector) seedOI));
+    }
+
+    /**
+     * Fisher-Yates shuffle of the first draws positions of [0, length): afterwards
+     * {@code positions[0, draws)} is a uniform random sample of the positions, in random order.
+     * Draws exactly {@code min(draws, length - 1)} random numbers.
+     */
+    protected void shufflePositions(int length, int draws) {
+        if (positions.length < length) {
+            positions = new int[length];
+        }
+        for (int i = 0; i < length; i++) {
+            positions[i] = i;
+        }
+        int last = Math.min(draws, length - 1);
+        for (int i = 0; i < last; i++) {
+            int index = i + random.nextInt(length - i);
+            int swap = positions[i];
+            positions[i] = positions[index];
+            positions[index] = swap;
+        }
+    }
+}
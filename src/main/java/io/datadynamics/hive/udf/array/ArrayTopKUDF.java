@@ -0,0 +1,118 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArraySelector;
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.IntWritable;
+
+import java.util.ArrayList;
+
+/**
+ * Shared implementation of array_top_k and array_bottom_k.
+ * <p>
+ * The k largest (top) or smallest (bottom) non-null elements are kept in a bounded heap by
+ * {@link ArraySelector#top}, so the array is never sorted. A null array, a null k or a negative k
+ * gives null.
+ */
+abstract class ArrayTopKUDF extends ConstantArgumentUDF {
+    private static final int ARRAY_IDX = 0;
+    private static final int K_IDX = 1;
+    private static final int ARG_COUNT = 2; // Number of arguments to this UDF
+
+    private final String name;
+    private final boolean largest;
+
+    private transient ListObjectInspector arrayOI;
+    private transient ObjectInspector arrayElementOI;
+    private transient ArrayAccessor accessor;
+    private transient ArraySelector selector;
+    private transient Argument kArgument;
+
+    private final transient ArrayList<Object> result = new ArrayList<Object>();
+
+    ArrayTopKUDF(String name, boolean largest) {
+        this.name = name;
+        this.largest = largest;
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if two arguments were passed
+        if (arguments.length != ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function " + name + "(array, k) takes exactly " + ARG_COUNT + " arguments.");
+        }
+
+        // Check if ARRAY_IDX argument is of category LIST
+        if (!arguments[ARRAY_IDX].getCategory().equals(ObjectInspector.Category.LIST)) {
+            throw new UDFArgumentTypeException(ARRAY_IDX,
+                    "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                            + "expected at function " + name + ", but "
+                            + "\"" + arguments[ARRAY_IDX].getTypeName() + "\" "
+                            + "is found");
+        }
+
+        arrayOI = (ListObjectInspector) arguments[ARRAY_IDX];
+        arrayElementOI = arrayOI.getListElementObjectInspector();
+
+        ObjectInspector expectOI = PrimitiveObjectInspectorFactory.writableIntObjectInspector;
+
+        // Check if k is an int
+        if (!ObjectInspectorUtils.compareTypes(expectOI, arguments[K_IDX])) {
+            throw new UDFArgumentTypeException(K_IDX,
+                    "\"" + expectOI.getTypeName() + "\""
+                            + " expected at function " + name + ", but "
+                            + "\"" + arguments[K_IDX].getTypeName() + "\""
+                            + " is found");
+        }
+
+        // Check if the comparison is supported for this type
+        if (!ObjectInspectorUtils.compareSupported(arrayElementOI)) {
+            throw new UDFArgumentException("The function " + name
+                    + " does not support comparison for "
+                    + "\"" + arrayElementOI.getTypeName() + "\""
+                    + " types");
+        }
+
+        accessor = ArrayAccessor.create(arrayOI);
+        selector = new ArraySelector(accessor);
+        kArgument = argument(arguments, K_IDX, expectOI);
+
+        return ObjectInspectorFactory.getStandardListObjectInspector(arrayElementOI);
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Object array = arguments[ARRAY_IDX].get();
+        IntWritable k = (IntWritable) kArgument.get(arguments);
+
+        // Check if array or k is null, or k is negative
+        if (array == null || k == null || k.get() < 0) {
+            return null;
+        }
+
+        result.clear();
+        int count = selector.top(array, k.get(), largest);
+        result.ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            result.add(accessor.get(array, selector.getPosition(i)));
+        }
+        return result;
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        assert (strings.length == ARG_COUNT);
+        return name + "(" + strings[ARRAY_IDX] + ", "
+                + strings[K_IDX] + ")";
+    }
+}
@@ -0,0 +1,174 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+
+/**
+ * Shared implementation of the functions that binary search a value in an array sorted in
+ * ascending order, such as the output of array_sort. The nulls of the array may be all first or all
+ * last; they are skipped with a binary search as well. The result is undefined for unsorted arrays.
+ * <p>
+ * {@link #search} reads the array, binds the value and narrows the search range to the non-null
+ * elements; subclasses then call {@link #lowerBound()} or {@link #upperBound()}.
+ */
+abstract class SortedArraySearchUDF extends ConstantArgumentUDF {
+    protected static final int ARRAY_IDX = 0;
+    protected static final int VALUE_IDX = 1;
+    private static final int MIN_ARG_COUNT = 2;
+
+    private final String name;
+    private final int maxArgCount;
+
+    private transient ObjectInspector valueOI;
+    private transient Argument valueArgument;
+    private transient ListObjectInspector arrayOI;
+    private transient ArrayAccessor accessor;
+
+    // array of the current row and its range of non-null elements
+    private transient Object array;
+    private transient int from;
+    private transient int to;
+
+    SortedArraySearchUDF(String name, int maxArgCount) {
+        this.name = name;
+        this.maxArgCount = maxArgCount;
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if two arguments (or up to maxArgCount) were passed
+        if (arguments.length < MIN_ARG_COUNT || arguments.length > maxArgCount) {
+            throw new UDFArgumentLengthException(maxArgCount == MIN_ARG_COUNT
+                    ? "The function " + name + "(array, value) takes exactly " + MIN_ARG_COUNT + " arguments."
+                    : "The function " + name + " takes " + MIN_ARG_COUNT + " to " + maxArgCount + " arguments.");
+        }
+
+        // Check if ARRAY_IDX argument is of category LIST
+        if (!arguments[ARRAY_IDX].getCategory().equals(ObjectInspector.Category.LIST)) {
+            throw new UDFArgumentTypeException(ARRAY_IDX,
+                    "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                            + "expected at function " + name + ", but "
+                            + "\"" + arguments[ARRAY_IDX].getTypeName() + "\" "
+                            + "is found");
+        }
+
+        arrayOI = (ListObjectInspector) arguments[ARRAY_IDX];
+        ObjectInspector arrayElementOI = arrayOI.getListElementObjectInspector();
+
+        valueOI = arguments[VALUE_IDX];
+
+        // Check if list element and value are of same type
+        if (!ObjectInspectorUtils.compareTypes(arrayElementOI, valueOI)) {
+            throw new UDFArgumentTypeException(VALUE_IDX,
+                    "\"" + arrayElementOI.getTypeName() + "\""
+                            + " expected at function " + name + ", but "
+                            + "\"" + valueOI.getTypeName() + "\""
+                            + " is found");
+        }
+
+        // Check if the comparison is supported for this type
+        if (!ObjectInspectorUtils.compareSupported(valueOI)) {
+            throw new UDFArgumentException("The function " + name
+                    + " does not support comparison for "
+                    + "\"" + valueOI.getTypeName() + "\""
+                    + " types");
+        }
+
+        accessor = ArrayAccessor.create(arrayOI);
+        valueArgument = argument(arguments, VALUE_IDX).bindTo(accessor);
+
+        return initializeResult(arguments);
+    }
+
+    /**
+     * Checks the arguments after the value and returns the output inspector.
+     */
+    protected abstract ObjectInspector initializeResult(ObjectInspector[] arguments) throws UDFArgumentException;
+
+    /**
+     * @return false if the array or the value is null
+     */
+    protected boolean search(DeferredObject[] arguments) throws HiveException {
+        array = arguments[ARRAY_IDX].get();
+        if (array == null || !valueArgument.bindValue(arguments)) {
+            return false;
+        }
+
+        from = 0;
+        to = accessor.length(array);
+        if (to > 0 && accessor.isNull(array, 0)) {
+            from = firstNonNull(0, to);
+        } else if (to > 0 && accessor.isNull(array, to - 1)) {
+            to = lastNonNull(0, to);
+        }
+        return true;
+    }
+
+    /**
+     * @return end of the null prefix of [low, high)
+     */
+    private int firstNonNull(int low, int high) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (accessor.isNull(array, mid)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return start of the null suffix of [low, high)
+     */
+    private int lastNonNull(int low, int high) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (accessor.isNull(array, mid)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return number of non-null elements less than the value
+     */
+    protected int lowerBound() {
+        return accessor.lowerBound(array, from, to) - from;
+    }
+
+    /**
+     * @return number of non-null elements less than or equal to the value
+     */
+    protected int upperBound() {
+        return accessor.upperBound(array, from, to) - from;
+    }
+
+    /**
+     * @param bound result of {@link #lowerBound()}
+     * @return 1-based position in the array of the first element equal to the value, or 0 if none
+     */
+    protected int position(int bound) {
+        int index = from + bound;
+        if (index < to && accessor.compareToBound(accessor.get(array, index)) == 0) {
+            return index + 1;
+        }
+        return 0;
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        return getStandardDisplayString(name, strings);
+    }
+}
@@ -0,0 +1,97 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayReducer;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.io.DoubleWritable;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.DecimalTypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+
+@Description(name = "array_avg"
+        , value = "_FUNC_(array) - returns the average of the non-null values of input array, or null if there is none. "
+        + "Decimal(p,s) arrays are averaged as a decimal with four more digits of scale like avg(), other arrays as double."
+        , extended = "Example:\n > select _FUNC_(array) from src;")
+public class UDFArrayAvg extends GenericUDF {
+    private static final int ARG_COUNT = 1; // Number of arguments to this UDF
+    private transient ListObjectInspector arrayOI;
+    private transient ArrayReducer reducer;
+    private transient DecimalTypeInfo decimalTypeInfo;
+
+    private final DoubleWritable result = new DoubleWritable();
+    private final HiveDecimalWritable decimalResult = new HiveDecimalWritable();
+
+    public UDFArrayAvg() {
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if one argument was passed
+        if (arguments.length != ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function array_avg(array) takes exactly " + ARG_COUNT + " arguments.");
+        }
+
+        // Check if the argument is of category LIST
+        if (!arguments[0].getCategory().equals(ObjectInspector.Category.LIST)) {
+            throw new UDFArgumentTypeException(0,
+                    "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                            + "expected at function array_avg, but "
+                            + "\"" + arguments[0].getTypeName() + "\" "
+                            + "is found");
+        }
+
+        arrayOI = (ListObjectInspector) arguments[0];
+        ArrayAccessor accessor = ArrayAccessor.create(arrayOI);
+        ArrayReducer.checkSummable(accessor, "array_avg");
+        reducer = new ArrayReducer(accessor);
+
+        if (reducer.isDecimal()) {
+            // Same result type as avg(): the same integer digits, four more digits of scale
+            DecimalTypeInfo elementTypeInfo = (DecimalTypeInfo) ((PrimitiveObjectInspector) accessor.getElementOI()).getTypeInfo();
+            int integerDigits = elementTypeInfo.getPrecision() - elementTypeInfo.getScale();
+            int scale = Math.min(elementTypeInfo.getScale() + 4, HiveDecimal.MAX_SCALE - integerDigits);
+            decimalTypeInfo = TypeInfoFactory.getDecimalTypeInfo(integerDigits + scale, scale);
+            return PrimitiveObjectInspectorFactory.getPrimitiveWritableObjectInspector(decimalTypeInfo);
+        }
+        return PrimitiveObjectInspectorFactory.writableDoubleObjectInspector;
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Object array = arguments[0].get();
+
+        if (!reducer.sum(array)) {
+            return null;
+        }
+
+        if (reducer.isDecimal()) {
+            // Null on overflow, like avg()
+            if (!reducer.getDecimalSum().isSet()) {
+                return null;
+            }
+            decimalResult.set(reducer.getDecimalSum());
+            decimalResult.mutateDivide(HiveDecimal.create(reducer.getCount()));
+            return decimalResult.mutateEnforcePrecisionScale(decimalTypeInfo.getPrecision(), decimalTypeInfo.getScale())
+                    ? decimalResult : null;
+        }
+        result.set(reducer.getAverage());
+        return result;
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        assert (strings.length == ARG_COUNT);
+        return "array_avg(" + strings[0] + ")";
+    }
+}
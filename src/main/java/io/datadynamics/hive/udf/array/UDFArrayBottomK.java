@@ -0,0 +1,13 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.exec.Description;
+
+@Description(name = "array_bottom_k"
+        , value = "_FUNC_(array<E>, k) - returns the k smallest non-null elements of array, in ascending order."
+        , extended = "Example:\n > select _FUNC_(array, k) from src;")
+public class UDFArrayBottomK extends ArrayTopKUDF {
+
+    public UDFArrayBottomK() {
+        super("array_bottom_k", false);
+    }
+}
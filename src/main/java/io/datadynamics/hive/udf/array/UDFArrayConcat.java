@@ -1,43 +1,67 @@
 package io.datadynamics.hive.udf.array;
 
+import io.datadynamics.hive.udf.utils.ConcatListView;
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
+import io.datadynamics.hive.udf.utils.ListViewObjectInspector;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
 import org.apache.hadoop.hive.ql.metadata.HiveException;
-import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.serde2.objectinspector.*;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils.ObjectInspectorCopyOption;
 
 import java.util.ArrayList;
 
 @Description(name = "array_concat"
-        , value = "_FUNC_(array, array) - concatenates two arrays."
-        , extended = "Example:\n > select _FUNC_(array, array) from src;")
-public class UDFArrayConcat extends GenericUDF {
-
-    private static final int ARG_COUNT = 2; // Number of arguments to this UDF
-
-    private transient ListObjectInspector leftArrayOI;
-    private transient ListObjectInspector rightArrayOI;
-
-    private transient ObjectInspector leftArrayElementOI;
-    private transient ObjectInspector rightArrayElementOI;
-
+        , value = "_FUNC_(array, array, ...[, mode]) - concatenates the arrays. mode is 'view' (default) to return a view "
+        + "over the input arrays, or 'copy' to copy their elements into a new array."
+        , extended = "Example:\n > select _FUNC_(array1, array2, array3) from src;\n > select _FUNC_(array1, array2, 'copy') from src;")
+public class UDFArrayConcat extends ConstantArgumentUDF {
+
+    private static final int MIN_ARRAY_COUNT = 2; // min Number of array arguments to this UDF
+
+    private transient ListObjectInspector[] arrayOIs;
+    private transient Object[] arrays;
+    private transient int[] arrayLengths;
+
+    // Arrays that share an element inspector are returned as a view unless 'copy' is requested.
+    // A copy passes elements through when their inspector is the output one and converts the
+    // others to standard writable objects.
+    private transient boolean asView;
+    private transient boolean[] convertElements;
+    private final transient ConcatListView view = new ConcatListView();
     private final transient ArrayList<Object> result = new ArrayList<Object>();
-    private transient ObjectInspectorConverters.Converter converter;
 
     public UDFArrayConcat() {
     }
 
     @Override
     public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
-        // Check if two arguments were passed
-        if (arguments.length != ARG_COUNT) {
-            throw new UDFArgumentLengthException("The function array_concat(array, array) takes exactly " + ARG_COUNT + " arguments.");
+        // A trailing non-array argument is the mode
+        int arrayCount = arguments.length;
+        if (arrayCount > 0 && arguments[arrayCount - 1].getCategory() != ObjectInspector.Category.LIST) {
+            arrayCount--;
         }
 
-        // Check if two argument is of category LIST
-        for (int i = 0; i < 2; i++) {
+        // Check if at least two arrays were passed
+        if (arrayCount < MIN_ARRAY_COUNT) {
+            throw new UDFArgumentLengthException("The function array_concat(array, array, ...[, mode]) takes at least "
+                    + MIN_ARRAY_COUNT + " arrays.");
+        }
+
+        boolean copy = false;
+        if (arrayCount < arguments.length) {
+            String mode = getConstantOption(arguments, arrayCount, "array_concat");
+            if (mode.equals("copy")) {
+                copy = true;
+            } else if (!mode.equals("view")) {
+                throw new UDFArgumentException("The function array_concat expects 'view' or 'copy' as mode, but '" + mode + "' is found");
+            }
+        }
+
+        // Check if every array argument is of category LIST
+        for (int i = 0; i < arrayCount; i++) {
             if (!arguments[i].getCategory().equals(ObjectInspector.Category.LIST)) {
                 throw new UDFArgumentTypeException(i,
                         "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
@@ -47,74 +71,93 @@ public class UDFArrayConcat extends GenericUDF {
             }
         }
 
-        leftArrayOI = (ListObjectInspector) arguments[0];
-        rightArrayOI = (ListObjectInspector) arguments[1];
+        arrayOIs = new ListObjectInspector[arrayCount];
+        arrays = new Object[arrayCount];
+        arrayLengths = new int[arrayCount];
+        for (int i = 0; i < arrayCount; i++) {
+            arrayOIs[i] = (ListObjectInspector) arguments[i];
+        }
 
-        leftArrayElementOI = leftArrayOI.getListElementObjectInspector();
-        rightArrayElementOI = rightArrayOI.getListElementObjectInspector();
+        ObjectInspector firstElementOI = arrayOIs[0].getListElementObjectInspector();
+        boolean sameElementOI = true;
+        for (int i = 1; i < arrayCount; i++) {
+            ObjectInspector arrayElementOI = arrayOIs[i].getListElementObjectInspector();
 
-        // Check if two array are of same type
-        if (!ObjectInspectorUtils.compareTypes(leftArrayElementOI, rightArrayElementOI)) {
-            throw new UDFArgumentTypeException(1,
-                    "\"" + leftArrayElementOI.getTypeName() + "\""
-                            + " expected at function array_concat, but "
-                            + "\"" + rightArrayElementOI.getTypeName() + "\""
-                            + " is found");
+            // Check if the arrays are of same type
+            if (!ObjectInspectorUtils.compareTypes(firstElementOI, arrayElementOI)) {
+                throw new UDFArgumentTypeException(i,
+                        "\"" + firstElementOI.getTypeName() + "\""
+                                + " expected at function array_concat, but "
+                                + "\"" + arrayElementOI.getTypeName() + "\""
+                                + " is found");
+            }
+            sameElementOI &= arrayElementOI == firstElementOI;
         }
 
         // Check if the comparison is supported for this type
-        if (!ObjectInspectorUtils.compareSupported(leftArrayElementOI)) {
+        if (!ObjectInspectorUtils.compareSupported(firstElementOI)) {
             throw new UDFArgumentException("The function array_concat"
                     + " does not support comparison for "
-                    + "\"" + leftArrayElementOI.getTypeName() + "\""
+                    + "\"" + firstElementOI.getTypeName() + "\""
                     + " types");
         }
 
-        converter = ObjectInspectorConverters.getConverter(leftArrayElementOI, leftArrayElementOI);
+        asView = sameElementOI && !copy;
+        if (asView) {
+            return ListViewObjectInspector.get(firstElementOI);
+        }
 
-        return ObjectInspectorFactory.getStandardListObjectInspector(leftArrayElementOI);
+        ObjectInspector outputElementOI = sameElementOI
+                ? firstElementOI
+                : ObjectInspectorUtils.getStandardObjectInspector(firstElementOI, ObjectInspectorCopyOption.WRITABLE);
+        convertElements = new boolean[arrayCount];
+        for (int i = 0; i < arrayCount; i++) {
+            convertElements[i] = arrayOIs[i].getListElementObjectInspector() != outputElementOI;
+        }
+        return ObjectInspectorFactory.getStandardListObjectInspector(outputElementOI);
     }
 
     @Override
     public Object evaluate(DeferredObject[] arguments) throws HiveException {
-        Object leftArray = arguments[0].get();
-        Object rightArray = arguments[1].get();
-
-        int leftArrayLength = leftArrayOI.getListLength(leftArray);
-        int rightArrayLength = rightArrayOI.getListLength(rightArray);
-
-        // Check if array is null or empty
-        if (leftArray == null || rightArray == null || leftArrayLength < 0 || rightArrayLength < 0) {
-            return null;
-        }
-
-        if (leftArrayLength == 0) {
-            return rightArray;
+        // Check if any array is null, and sum the lengths for a single allocation
+        int totalLength = 0;
+        for (int i = 0; i < arrayOIs.length; i++) {
+            arrays[i] = arguments[i].get();
+            if (arrays[i] == null) {
+                return null;
+            }
+            arrayLengths[i] = arrayOIs[i].getListLength(arrays[i]);
+            totalLength += arrayLengths[i];
         }
 
-        if (rightArrayLength == 0) {
-            return leftArray;
+        if (asView) {
+            view.reset();
+            for (int i = 0; i < arrayOIs.length; i++) {
+                view.addPart(arrayOIs[i], arrays[i], arrayLengths[i]);
+            }
+            return view;
         }
 
         result.clear();
-
-        for (int i = 0; i < leftArrayLength; i++) {
-            Object arrayElement = leftArrayOI.getListElement(leftArray, i);
-            result.add(converter.convert(arrayElement));
+        result.ensureCapacity(totalLength);
+        for (int i = 0; i < arrayOIs.length; i++) {
+            copy(arrayOIs[i], arrays[i], arrayLengths[i], convertElements[i]);
         }
+        return result;
+    }
 
-        for (int i = 0; i < rightArrayLength; i++) {
-            Object arrayElement = rightArrayOI.getListElement(rightArray, i);
-            result.add(converter.convert(arrayElement));
+    private void copy(ListObjectInspector arrayOI, Object array, int arrayLength, boolean convert) {
+        ObjectInspector elementOI = arrayOI.getListElementObjectInspector();
+        for (int i = 0; i < arrayLength; i++) {
+            Object arrayElement = arrayOI.getListElement(array, i);
+            result.add(convert
+                    ? ObjectInspectorUtils.copyToStandardObject(arrayElement, elementOI, ObjectInspectorCopyOption.WRITABLE)
+                    : arrayElement);
         }
-
-        return result;
     }
 
     @Override
     public String getDisplayString(String[] strings) {
-        assert (strings.length == ARG_COUNT);
-        return "array_concat(" + strings[0] + ", "
-                + strings[1] + ")";
+        return getStandardDisplayString("array_concat", strings);
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,19 @@
 package io.datadynamics.hive.udf.array;
 
+import io.datadynamics.hive.udf.array.vector.*;
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayElementSet;
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedExpressions;
 import org.apache.hadoop.hive.ql.metadata.HiveException;
-import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.objectinspector.ConstantObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
 import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
 import org.apache.hadoop.io.BooleanWritable;
@@ -15,7 +21,9 @@ import org.apache.hadoop.io.BooleanWritable;
 @Description(name = "array_contains"
         , value = "_FUNC_(array<E>, E) - whether array contains value or not."
         , extended = "Example:\n > select _FUNC_(array, value) from src;")
-public class UDFArrayContains extends GenericUDF {
+@VectorizedExpressions({ListContainsLongScalar.class, ListContainsDoubleScalar.class, ListContainsStringScalar.class,
+        FilterListContainsLongScalar.class, FilterListContainsDoubleScalar.class, FilterListContainsStringScalar.class})
+public class UDFArrayContains extends ConstantArgumentUDF {
 
     private static final int ARRAY_IDX = 0;
     private static final int VALUE_IDX = 1;
@@ -23,10 +31,20 @@ public class UDFArrayContains extends GenericUDF {
 
     private transient ObjectInspector valueOI;
 
+    private transient Argument valueArgument;
+
     private transient ListObjectInspector arrayOI;
 
     private transient ObjectInspector arrayElementOI;
 
+    private transient ArrayAccessor accessor;
+
+    // Elements of a literal array, e.g. a whitelist of codes, hashed once in initialize()
+    private transient ArrayElementSet constantSet;
+
+    // Reads the value through the same typed inspector path as the set elements
+    private transient ArrayAccessor valueAccessor;
+
     private BooleanWritable result;
 
     public UDFArrayContains() {
@@ -71,6 +89,11 @@ public class UDFArrayContains extends GenericUDF {
                     + " types");
         }
 
+        accessor = ArrayAccessor.create(arrayOI);
+        valueArgument = argument(arguments, VALUE_IDX).bindTo(accessor);
+        if (ObjectInspectorUtils.isConstantObjectInspector(arrayOI)) {
+            buildConstantSet(((ConstantObjectInspector) arrayOI).getWritableConstantValue());
+        }
         result = new BooleanWritable(false);
 
         return PrimitiveObjectInspectorFactory.writableBooleanObjectInspector;
@@ -81,9 +104,13 @@ public class UDFArrayContains extends GenericUDF {
     public Object evaluate(DeferredObject[] arguments) throws HiveException {
         result.set(false);
 
-        Object array = arguments[ARRAY_IDX].get();
-        Object value = arguments[VALUE_IDX].get();
+        if (constantSet != null) {
+            Object value = valueArgument.get(arguments);
+            result.set(value != null && constantSet.contains(valueAccessor, value));
+            return result;
+        }
 
+        Object array = arguments[ARRAY_IDX].get();
         int arrayLength = arrayOI.getListLength(array);
 
         // Check if array is null or empty or value is null
@@ -91,24 +118,46 @@ public class UDFArrayContains extends GenericUDF {
             return result;
         }
 
-        if (value == null || arrayLength <= 0) {
+        if (arrayLength <= 0 || !valueArgument.bindValue(arguments)) {
             return result;
         }
 
         // Compare the value to each element of array until a match is found
         for (int i = 0; i < arrayLength; ++i) {
-            Object listElement = arrayOI.getListElement(array, i);
-            if (listElement != null) {
-                if (ObjectInspectorUtils.compare(value, valueOI, listElement, arrayElementOI) == 0) {
-                    result.set(true);
-                    break;
-                }
+            if (accessor.matches(array, i)) {
+                result.set(true);
+                break;
             }
         }
 
         return result;
     }
 
+    /**
+     * Hashes the non-null elements of a literal array so that every row is a single probe instead
+     * of a scan. Element types that cannot be hashed keep the scan.
+     */
+    private void buildConstantSet(Object array) {
+        if (!ArrayElementSet.isSupported(accessor)) {
+            return;
+        }
+        ArrayAccessor probeAccessor = ArrayAccessor.create(ObjectInspectorFactory.getStandardListObjectInspector(valueOI));
+        if (probeAccessor.getKind() != accessor.getKind()) {
+            return;
+        }
+
+        ArrayElementSet set = new ArrayElementSet(accessor);
+        int arrayLength = array == null ? 0 : accessor.length(array);
+        for (int i = 0; i < arrayLength; i++) {
+            Object element = accessor.get(array, i);
+            if (element != null) {
+                set.add(accessor, element);
+            }
+        }
+        valueAccessor = probeAccessor;
+        constantSet = set;
+    }
+
     @Override
     public String getDisplayString(String[] strings) {
         assert (strings.length == ARG_COUNT);
@@ -0,0 +1,13 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.exec.Description;
+
+@Description(name = "array_contains_all"
+        , value = "_FUNC_(array<E>, array<E>) - whether array contains every one of the values (false if a value is null)."
+        , extended = "Example:\n > select _FUNC_(array, values) from src;")
+public class UDFArrayContainsAll extends ArrayMembershipUDF {
+
+    public UDFArrayContainsAll() {
+        super("array_contains_all", true);
+    }
+}
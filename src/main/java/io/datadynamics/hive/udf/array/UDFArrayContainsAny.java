@@ -0,0 +1,13 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.exec.Description;
+
+@Description(name = "array_contains_any"
+        , value = "_FUNC_(array<E>, array<E>) - whether array contains at least one of the non-null values."
+        , extended = "Example:\n > select _FUNC_(array, values) from src;")
+public class UDFArrayContainsAny extends ArrayMembershipUDF {
+
+    public UDFArrayContainsAny() {
+        super("array_contains_any", false);
+    }
+}
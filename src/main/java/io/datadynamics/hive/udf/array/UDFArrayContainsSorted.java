@@ -0,0 +1,31 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.BooleanWritable;
+
+@Description(name = "array_contains_sorted"
+        , value = "_FUNC_(array<E>, E) - array_contains for an array sorted in ascending order, with its nulls first or last. "
+        + "Uses binary search; the result is undefined if array is not sorted."
+        , extended = "Example:\n > select _FUNC_(array_sort(array), value) from src;")
+public class UDFArrayContainsSorted extends SortedArraySearchUDF {
+    private BooleanWritable result;
+
+    public UDFArrayContainsSorted() {
+        super("array_contains_sorted", 2);
+    }
+
+    @Override
+    protected ObjectInspector initializeResult(ObjectInspector[] arguments) {
+        result = new BooleanWritable(false);
+        return PrimitiveObjectInspectorFactory.writableBooleanObjectInspector;
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        result.set(search(arguments) && position(lowerBound()) > 0);
+        return result;
+    }
+}
@@ -1,6 +1,7 @@
 package io.datadynamics.hive.udf.array;
 
-import io.datadynamics.hive.udf.fastuitl.ints.IntArrays;
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayElementSet;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
@@ -10,11 +11,10 @@ import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.serde2.objectinspector.*;
 
 import java.util.ArrayList;
-
-import static io.datadynamics.hive.udf.utils.ArrayUtils.IntArrayCompare;
+import java.util.Arrays;
 
 @Description(name = "array_distinct"
-        , value = "_FUNC_(array) - remove duplicate values from the array."
+        , value = "_FUNC_(array) - remove duplicate values from the array, keeping the first occurrence of each value in order."
         , extended = "Example:\n > select _FUNC_(array) from src;")
 public class UDFArrayDistinct extends GenericUDF {
     private static final int INITIAL_SIZE = 128;
@@ -22,8 +22,9 @@ public class UDFArrayDistinct extends GenericUDF {
     private int[] positions = new int[INITIAL_SIZE];
     private transient ListObjectInspector arrayOI;
     private transient ObjectInspector arrayElementOI;
+    private transient ArrayAccessor accessor;
+    private transient ArrayElementSet set;
 
-    private transient ObjectInspectorConverters.Converter converter;
     private final transient ArrayList<Object> result = new ArrayList<Object>();
 
     public UDFArrayDistinct() {
@@ -57,7 +58,10 @@ public class UDFArrayDistinct extends GenericUDF {
                     + " types");
         }
 
-        converter = ObjectInspectorConverters.getConverter(arrayElementOI, arrayElementOI);
+        accessor = ArrayAccessor.create(arrayOI);
+        if (ArrayElementSet.isSupported(accessor)) {
+            set = new ArrayElementSet(accessor);
+        }
 
         return ObjectInspectorFactory.getStandardListObjectInspector(arrayElementOI);
     }
@@ -65,42 +69,56 @@ public class UDFArrayDistinct extends GenericUDF {
     @Override
     public Object evaluate(DeferredObject[] arguments) throws HiveException {
         Object array = arguments[0].get();
-        int arrayLength = arrayOI.getListLength(array);
 
-        // Check if array is null or empty
-        if (array == null || arrayLength <= 0) {
+        // Check if array is null
+        if (array == null) {
             return null;
         }
 
-        if (arrayLength == 1) {
-            return array;
+        int arrayLength = accessor.length(array);
+        result.clear();
+        if (arrayLength <= 0) {
+            return result;
         }
 
-        if (positions.length < arrayLength) {
-            positions = new int[arrayLength];
+        if (set != null) {
+            hashDistinct(array, arrayLength);
+        } else {
+            sortDistinct(array, arrayLength);
         }
+        return result;
+    }
 
+    private void hashDistinct(Object array, int arrayLength) {
+        set.clear();
+        boolean seenNull = false;
         for (int i = 0; i < arrayLength; i++) {
-            positions[i] = i;
+            Object element = accessor.get(array, i);
+            if (element == null) {
+                if (!seenNull) {
+                    seenNull = true;
+                    result.add(null);
+                }
+            } else if (set.add(accessor, element) >= 0) {
+                result.add(element);
+            }
         }
+    }
 
-        IntArrays.quickSort(positions, 0, arrayLength, IntArrayCompare(array, arrayOI));
-
-        result.clear();
-        Object lastElement = arrayOI.getListElement(array, positions[0]);
-        result.add(lastElement);
-        for (int i = 1; i < arrayLength; i++) {
-            Object currentElement = arrayOI.getListElement(array, positions[i]);
-            int compareValue = ObjectInspectorUtils.compare(lastElement, arrayElementOI, currentElement, arrayElementOI);
-            if (compareValue == 0) {
-                continue;
-            } else {
-                lastElement = currentElement;
-                result.add(currentElement);
-            }
+    /**
+     * Fallback for element types that cannot be hashed: find the first occurrence of every value
+     * with {@link ArrayAccessor#distinctPositions}, then emit those positions in array order.
+     */
+    private void sortDistinct(Object array, int arrayLength) {
+        if (positions.length < arrayLength) {
+            positions = new int[arrayLength];
         }
 
-        return result;
+        int keptCount = accessor.distinctPositions(array, positions, arrayLength);
+        Arrays.sort(positions, 0, keptCount);
+        for (int i = 0; i < keptCount; i++) {
+            result.add(accessor.get(array, positions[i]));
+        }
     }
 
     @Override
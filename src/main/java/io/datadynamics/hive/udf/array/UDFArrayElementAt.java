@@ -1,5 +1,6 @@
 package io.datadynamics.hive.udf.array;
 
+import io.datadynamics.hive.udf.utils.ListElementReader;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
@@ -23,6 +24,7 @@ public class UDFArrayElementAt extends GenericUDF {
     private transient ObjectInspector indexOI;
     private transient ListObjectInspector arrayOI;
     private transient ObjectInspector arrayElementOI;
+    private transient ListElementReader reader;
 
     public UDFArrayElementAt() {
 
@@ -60,6 +62,8 @@ public class UDFArrayElementAt extends GenericUDF {
                             + " is found");
         }
 
+        reader = new ListElementReader(arrayOI);
+
         return arrayElementOI;
     }
 
@@ -68,25 +72,13 @@ public class UDFArrayElementAt extends GenericUDF {
         Object array = arguments[ARRAY_IDX].get();
         IntWritable index = (IntWritable) arguments[INDEX_IDX].get();
 
-        int arrayLength = arrayOI.getListLength(array);
-
-        // Check if array is null or empty or index is null
-        if (index == null || arrayLength <= 0) {
+        // Check if array or index is null
+        if (array == null || index == null) {
             return null;
         }
 
-        if (index.get() < 0) {
-            int idx = arrayLength + index.get();
-            if (idx >= 0) {
-                return arrayOI.getListElement(array, idx);
-            }
-        } else {
-            if (index.get() < arrayLength) {
-                return arrayOI.getListElement(array, index.get());
-            }
-        }
-
-        return null;
+        // reads only the requested element of LazyBinary arrays
+        return reader.get(array, index.get());
     }
 
     @Override
@@ -0,0 +1,186 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayElementSet;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.objectinspector.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+@Description(name = "array_except"
+        , value = "_FUNC_(array, array) - returns the elements of the first array that are not in the second array, without duplicates, in the order of the first array."
+        , extended = "Example:\n > select _FUNC_(array, array) from src;")
+public class UDFArrayExcept extends GenericUDF {
+    private static final int INITIAL_SIZE = 128;
+    private static final int ARG_COUNT = 2; // Number of arguments to this UDF
+    private int[] leftPositions = new int[INITIAL_SIZE];
+    private int[] rightPositions = new int[INITIAL_SIZE];
+    private int[] keptPositions = new int[INITIAL_SIZE];
+    private transient ListObjectInspector leftArrayOI;
+    private transient ListObjectInspector rightArrayOI;
+    private transient ObjectInspector leftArrayElementOI;
+    private transient ObjectInspector rightArrayElementOI;
+    private transient ArrayAccessor leftAccessor;
+    private transient ArrayAccessor rightAccessor;
+    private transient ArrayElementSet set;
+
+    private final transient ArrayList<Object> result = new ArrayList<Object>();
+
+    public UDFArrayExcept() {
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if two arguments were passed
+        if (arguments.length != ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function array_except(array, array) takes exactly " + ARG_COUNT + " arguments.");
+        }
+
+        // Check if two argument is of category LIST
+        for (int i = 0; i < 2; i++) {
+            if (!arguments[i].getCategory().equals(ObjectInspector.Category.LIST)) {
+                throw new UDFArgumentTypeException(i,
+                        "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                                + "expected at function array_except, but "
+                                + "\"" + arguments[i].getTypeName() + "\" "
+                                + "is found");
+            }
+        }
+
+        leftArrayOI = (ListObjectInspector) arguments[0];
+        rightArrayOI = (ListObjectInspector) arguments[1];
+
+        leftArrayElementOI = leftArrayOI.getListElementObjectInspector();
+        rightArrayElementOI = rightArrayOI.getListElementObjectInspector();
+
+        // Check if two array are of same type
+        if (!ObjectInspectorUtils.compareTypes(leftArrayElementOI, rightArrayElementOI)) {
+            throw new UDFArgumentTypeException(1,
+                    "\"" + leftArrayElementOI.getTypeName() + "\""
+                            + " expected at function array_except, but "
+                            + "\"" + rightArrayElementOI.getTypeName() + "\""
+                            + " is found");
+        }
+
+        // Check if the comparison is supported for this type
+        if (!ObjectInspectorUtils.compareSupported(leftArrayElementOI)) {
+            throw new UDFArgumentException("The function array_except"
+                    + " does not support comparison for "
+                    + "\"" + leftArrayElementOI.getTypeName() + "\""
+                    + " types");
+        }
+
+        leftAccessor = ArrayAccessor.create(leftArrayOI);
+        rightAccessor = ArrayAccessor.create(rightArrayOI);
+        if (ArrayElementSet.isSupported(leftAccessor)) {
+            set = new ArrayElementSet(leftAccessor);
+        }
+
+        return ObjectInspectorFactory.getStandardListObjectInspector(leftArrayElementOI);
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Object leftArray = arguments[0].get();
+        Object rightArray = arguments[1].get();
+
+        // Check if array is null
+        if (leftArray == null || rightArray == null) {
+            return null;
+        }
+
+        int leftArrayLength = leftAccessor.length(leftArray);
+        int rightArrayLength = rightAccessor.length(rightArray);
+
+        result.clear();
+        if (leftArrayLength <= 0) {
+            return result;
+        }
+
+        if (set != null) {
+            hashExcept(leftArray, leftArrayLength, rightArray, rightArrayLength);
+        } else {
+            sortMergeExcept(leftArray, leftArrayLength, rightArray, rightArrayLength);
+        }
+
+        return result;
+    }
+
+    /**
+     * Adds the right array to the set, then walks the left array and emits every element that
+     * is not in the set yet, adding it so that duplicates are dropped.
+     */
+    private void hashExcept(Object leftArray, int leftArrayLength, Object rightArray, int rightArrayLength) {
+        set.clear();
+        boolean seenNull = false;
+        for (int i = 0; i < rightArrayLength; i++) {
+            Object element = rightAccessor.get(rightArray, i);
+            if (element == null) {
+                seenNull = true;
+            } else {
+                set.add(rightAccessor, element);
+            }
+        }
+
+        for (int i = 0; i < leftArrayLength; i++) {
+            Object element = leftAccessor.get(leftArray, i);
+            if (element == null) {
+                if (!seenNull) {
+                    seenNull = true;
+                    result.add(null);
+                }
+            } else if (set.add(leftAccessor, element) >= 0) {
+                result.add(element);
+            }
+        }
+    }
+
+    /**
+     * Fallback for element types that cannot be hashed: deduplicate both arrays by sorting, merge
+     * them to drop the left values found in the right array, and emit the rest in left order.
+     */
+    private void sortMergeExcept(Object leftArray, int leftArrayLength, Object rightArray, int rightArrayLength) {
+        if (leftPositions.length < leftArrayLength) {
+            leftPositions = new int[leftArrayLength];
+            keptPositions = new int[leftArrayLength];
+        }
+        if (rightPositions.length < rightArrayLength) {
+            rightPositions = new int[rightArrayLength];
+        }
+        int leftCount = leftAccessor.distinctPositions(leftArray, leftPositions, leftArrayLength);
+        int rightCount = rightAccessor.distinctPositions(rightArray, rightPositions, rightArrayLength);
+
+        int keptCount = 0;
+        int rightCurrentPosition = 0;
+        for (int i = 0; i < leftCount; i++) {
+            int compareValue = 1;
+            while (rightCurrentPosition < rightCount
+                    && (compareValue = leftAccessor.compare(leftArray, leftPositions[i],
+                    rightAccessor, rightArray, rightPositions[rightCurrentPosition])) > 0) {
+                rightCurrentPosition++;
+            }
+            if (rightCurrentPosition == rightCount || compareValue != 0) {
+                keptPositions[keptCount++] = leftPositions[i];
+            }
+        }
+
+        Arrays.sort(keptPositions, 0, keptCount);
+        for (int i = 0; i < keptCount; i++) {
+            result.add(leftAccessor.get(leftArray, keptPositions[i]));
+        }
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        assert (strings.length == ARG_COUNT);
+        return "array_except(" + strings[0] + ", "
+                + strings[1] + ")";
+    }
+}
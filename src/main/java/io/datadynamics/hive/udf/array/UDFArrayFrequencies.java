@@ -0,0 +1,110 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayValueCounter;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.LongWritable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+@Description(name = "array_frequencies"
+        , value = "_FUNC_(array<E>) - returns a map<E, bigint> from every distinct non-null element to its number of occurrences, in the order of first occurrence."
+        , extended = "Example:\n > select _FUNC_(array) from src;")
+public class UDFArrayFrequencies extends GenericUDF {
+
+    private static final int ARRAY_IDX = 0;
+    private static final int ARG_COUNT = 1; // Number of arguments to this UDF
+    private transient ListObjectInspector arrayOI;
+    private transient ObjectInspector arrayElementOI;
+    private transient ArrayAccessor accessor;
+    private transient ArrayValueCounter counter;
+
+    // the map and its count writables are reused for every row
+    private final transient LinkedHashMap<Object, LongWritable> result = new LinkedHashMap<Object, LongWritable>();
+    private final transient ArrayList<LongWritable> counts = new ArrayList<LongWritable>();
+
+    public UDFArrayFrequencies() {
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if one argument was passed
+        if (arguments.length != ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function array_frequencies(array) takes exactly " + ARG_COUNT + " arguments.");
+        }
+
+        // Check if ARRAY_IDX argument is of category LIST
+        if (!arguments[ARRAY_IDX].getCategory().equals(ObjectInspector.Category.LIST)) {
+            throw new UDFArgumentTypeException(ARRAY_IDX,
+                    "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                            + "expected at function array_frequencies, but "
+                            + "\"" + arguments[ARRAY_IDX].getTypeName() + "\" "
+                            + "is found");
+        }
+
+        arrayOI = (ListObjectInspector) arguments[ARRAY_IDX];
+        arrayElementOI = arrayOI.getListElementObjectInspector();
+
+        // Check if the elements can be map keys
+        if (arrayElementOI.getCategory() != ObjectInspector.Category.PRIMITIVE) {
+            throw new UDFArgumentTypeException(ARRAY_IDX,
+                    "An array of primitive type is expected at function array_frequencies, but "
+                            + "\"" + arguments[ARRAY_IDX].getTypeName() + "\" "
+                            + "is found");
+        }
+
+        // Check if the comparison is supported for this type
+        if (!ObjectInspectorUtils.compareSupported(arrayElementOI)) {
+            throw new UDFArgumentException("The function array_frequencies"
+                    + " does not support comparison for "
+                    + "\"" + arrayElementOI.getTypeName() + "\""
+                    + " types");
+        }
+
+        accessor = ArrayAccessor.create(arrayOI);
+        counter = new ArrayValueCounter(accessor);
+
+        return ObjectInspectorFactory.getStandardMapObjectInspector(arrayElementOI,
+                PrimitiveObjectInspectorFactory.writableLongObjectInspector);
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Object array = arguments[ARRAY_IDX].get();
+
+        // Check if array is null
+        if (array == null) {
+            return null;
+        }
+
+        result.clear();
+        int distinctCount = counter.count(array);
+        for (int i = counts.size(); i < distinctCount; i++) {
+            counts.add(new LongWritable());
+        }
+        for (int i = 0; i < distinctCount; i++) {
+            LongWritable count = counts.get(i);
+            count.set(counter.getCount(i));
+            result.put(accessor.get(array, counter.getPosition(i)), count);
+        }
+        return result;
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        assert (strings.length == ARG_COUNT);
+        return "array_frequencies(" + strings[ARRAY_IDX] + ")";
+    }
+}
@@ -1,6 +1,7 @@
 package io.datadynamics.hive.udf.array;
 
-import io.datadynamics.hive.udf.fastuitl.ints.IntArrays;
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayElementSet;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
@@ -8,27 +9,31 @@ import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
 import org.apache.hadoop.hive.ql.metadata.HiveException;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.serde2.objectinspector.*;
-import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorConverters.Converter;
 
 import java.util.ArrayList;
-
-import static io.datadynamics.hive.udf.utils.ArrayUtils.IntArrayCompare;
+import java.util.Arrays;
 
 @Description(name = "array_intersect"
-        , value = "_FUNC_(array, array) - returns the two array's intersection, without duplicates."
+        , value = "_FUNC_(array, array) - returns the two array's intersection, without duplicates, in the order of the first array."
         , extended = "Example:\n > select _FUNC_(array, array) from src;")
 public class UDFArrayIntersect extends GenericUDF {
     private static final int INITIAL_SIZE = 128;
     private static final int ARG_COUNT = 2; // Number of arguments to this UDF
+    private static final byte FOUND = 1;
+    private static final byte EMITTED = 2;
     private int[] leftPositions = new int[INITIAL_SIZE];
     private int[] rightPositions = new int[INITIAL_SIZE];
+    private int[] matchedPositions = new int[INITIAL_SIZE];
+    private byte[] states = new byte[INITIAL_SIZE];
     private transient ListObjectInspector leftArrayOI;
     private transient ListObjectInspector rightArrayOI;
     private transient ObjectInspector leftArrayElementOI;
     private transient ObjectInspector rightArrayElementOI;
+    private transient ArrayAccessor leftAccessor;
+    private transient ArrayAccessor rightAccessor;
+    private transient ArrayElementSet set;
 
     private final transient ArrayList<Object> result = new ArrayList<Object>();
-    private transient Converter converter;
 
     public UDFArrayIntersect() {
     }
@@ -75,7 +80,11 @@ public class UDFArrayIntersect extends GenericUDF {
                     + " types");
         }
 
-        converter = ObjectInspectorConverters.getConverter(leftArrayElementOI, leftArrayElementOI);
+        leftAccessor = ArrayAccessor.create(leftArrayOI);
+        rightAccessor = ArrayAccessor.create(rightArrayOI);
+        if (ArrayElementSet.isSupported(leftAccessor)) {
+            set = new ArrayElementSet(leftAccessor);
+        }
 
         return ObjectInspectorFactory.getStandardListObjectInspector(leftArrayElementOI);
     }
@@ -85,77 +94,188 @@ public class UDFArrayIntersect extends GenericUDF {
         Object leftArray = arguments[0].get();
         Object rightArray = arguments[1].get();
 
-        int leftArrayLength = leftArrayOI.getListLength(leftArray);
-        int rightArrayLength = rightArrayOI.getListLength(rightArray);
-
-        // Check if array is null or empty
-        if (leftArray == null || rightArray == null || leftArrayLength < 0 || rightArrayLength < 0) {
+        // Check if array is null
+        if (leftArray == null || rightArray == null) {
             return null;
         }
 
-        if (leftArrayLength == 0) {
-            return leftArray;
+        int leftArrayLength = leftAccessor.length(leftArray);
+        int rightArrayLength = rightAccessor.length(rightArray);
+
+        result.clear();
+        if (leftArrayLength <= 0 || rightArrayLength <= 0) {
+            return result;
         }
-        if (rightArrayLength == 0) {
-            return rightArray;
+
+        if (set == null) {
+            sortMergeIntersect(leftArray, leftArrayLength, rightArray, rightArrayLength);
+        } else if (rightArrayLength <= leftArrayLength) {
+            hashIntersectProbeLeft(leftArray, leftArrayLength, rightArray, rightArrayLength);
+        } else {
+            hashIntersectProbeRight(leftArray, leftArrayLength, rightArray, rightArrayLength);
         }
 
-        if (leftPositions.length < leftArrayLength) {
-            leftPositions = new int[leftArrayLength];
+        return result;
+    }
+
+    private void resetStates(int size) {
+        if (states.length < size) {
+            states = new byte[size];
+        } else {
+            Arrays.fill(states, 0, size, (byte) 0);
         }
+    }
 
-        if (rightPositions.length < rightArrayLength) {
-            rightPositions = new int[rightArrayLength];
+    /**
+     * The right array is the smaller one: hash it, then walk the left array in order.
+     */
+    private void hashIntersectProbeLeft(Object leftArray, int leftArrayLength, Object rightArray, int rightArrayLength) {
+        set.clear();
+        boolean rightHasNull = false;
+        for (int i = 0; i < rightArrayLength; i++) {
+            Object element = rightAccessor.get(rightArray, i);
+            if (element == null) {
+                rightHasNull = true;
+            } else {
+                set.add(rightAccessor, element);
+            }
         }
+        resetStates(set.size());
 
+        boolean nullPending = rightHasNull;
         for (int i = 0; i < leftArrayLength; i++) {
-            leftPositions[i] = i;
+            Object element = leftAccessor.get(leftArray, i);
+            if (element == null) {
+                if (nullPending) {
+                    nullPending = false;
+                    result.add(null);
+                }
+                continue;
+            }
+            int ordinal = set.find(leftAccessor, element);
+            if (ordinal >= 0 && states[ordinal] != EMITTED) {
+                states[ordinal] = EMITTED;
+                result.add(element);
+            }
         }
-        for (int i = 0; i < rightArrayLength; i++) {
-            rightPositions[i] = i;
+    }
+
+    /**
+     * The left array is the smaller one: hash it, mark the keys found in the right array, then
+     * walk the left array again to emit the marked keys in order.
+     */
+    private void hashIntersectProbeRight(Object leftArray, int leftArrayLength, Object rightArray, int rightArrayLength) {
+        set.clear();
+        boolean leftHasNull = false;
+        for (int i = 0; i < leftArrayLength; i++) {
+            Object element = leftAccessor.get(leftArray, i);
+            if (element == null) {
+                leftHasNull = true;
+            } else {
+                set.add(leftAccessor, element);
+            }
         }
+        int distinctCount = set.size();
+        resetStates(distinctCount);
 
-        IntArrays.quickSort(leftPositions, 0, leftArrayLength, IntArrayCompare(leftArray, leftArrayOI));
-        IntArrays.quickSort(rightPositions, 0, rightArrayLength, IntArrayCompare(rightArray, rightArrayOI));
+        boolean nullPending = false;
+        int foundCount = 0;
+        for (int i = 0; i < rightArrayLength && (foundCount < distinctCount || (leftHasNull && !nullPending)); i++) {
+            Object element = rightAccessor.get(rightArray, i);
+            if (element == null) {
+                nullPending = leftHasNull;
+                continue;
+            }
+            int ordinal = set.find(rightAccessor, element);
+            if (ordinal >= 0 && states[ordinal] != FOUND) {
+                states[ordinal] = FOUND;
+                foundCount++;
+            }
+        }
+        if (foundCount == 0 && !nullPending) {
+            return;
+        }
+
+        for (int i = 0; i < leftArrayLength; i++) {
+            Object element = leftAccessor.get(leftArray, i);
+            if (element == null) {
+                if (nullPending) {
+                    nullPending = false;
+                    result.add(null);
+                }
+                continue;
+            }
+            int ordinal = set.find(leftAccessor, element);
+            if (states[ordinal] == FOUND) {
+                states[ordinal] = EMITTED;
+                result.add(element);
+            }
+        }
+    }
+
+    /**
+     * Fallback for element types that cannot be hashed: sort both position indexes, merge them,
+     * and emit the first left occurrence of every common element in left order.
+     */
+    private void sortMergeIntersect(Object leftArray, int leftArrayLength, Object rightArray, int rightArrayLength) {
+        leftPositions = fillPositions(leftPositions, leftArrayLength);
+        rightPositions = fillPositions(rightPositions, rightArrayLength);
+
+        leftAccessor.sortPositions(leftArray, leftPositions, 0, leftArrayLength);
+        rightAccessor.sortPositions(rightArray, rightPositions, 0, rightArrayLength);
+
+        if (matchedPositions.length < leftArrayLength) {
+            matchedPositions = new int[leftArrayLength];
+        }
+        int matchedCount = 0;
 
-        result.clear();
         int leftCurrentPosition = 0;
         int rightCurrentPosition = 0;
-        int leftBasePosition;
-        int rightBasePosition;
-
         while (leftCurrentPosition < leftArrayLength && rightCurrentPosition < rightArrayLength) {
-            leftBasePosition = leftCurrentPosition;
-            rightBasePosition = rightCurrentPosition;
-            Object leftArrayElement = leftArrayOI.getListElement(leftArray, leftPositions[leftCurrentPosition]);
-            Object rightArrayElement = rightArrayOI.getListElement(rightArray, rightPositions[rightCurrentPosition]);
-            int compareValue = ObjectInspectorUtils.compare(leftArrayElement, leftArrayElementOI, rightArrayElement, rightArrayElementOI);
+            int compareValue = leftAccessor.compare(leftArray, leftPositions[leftCurrentPosition],
+                    rightAccessor, rightArray, rightPositions[rightCurrentPosition]);
             if (compareValue > 0) {
                 rightCurrentPosition++;
             } else if (compareValue < 0) {
                 leftCurrentPosition++;
             } else {
-                result.add(converter.convert(leftArrayOI.getListElement(leftArray, leftPositions[leftCurrentPosition])));
+                int leftBasePosition = leftCurrentPosition;
+                int rightBasePosition = rightCurrentPosition;
+                int firstPosition = leftPositions[leftCurrentPosition];
                 leftCurrentPosition++;
                 rightCurrentPosition++;
 
-                while (leftCurrentPosition < leftArrayLength && compare(leftArrayOI, leftArray, leftBasePosition, leftCurrentPosition) == 0) {
+                while (leftCurrentPosition < leftArrayLength
+                        && compare(leftAccessor, leftArray, leftPositions, leftBasePosition, leftCurrentPosition) == 0) {
+                    firstPosition = Math.min(firstPosition, leftPositions[leftCurrentPosition]);
                     leftCurrentPosition++;
                 }
-                while (rightCurrentPosition < rightArrayLength && compare(rightArrayOI, rightArray, rightBasePosition, rightCurrentPosition) == 0) {
+                while (rightCurrentPosition < rightArrayLength
+                        && compare(rightAccessor, rightArray, rightPositions, rightBasePosition, rightCurrentPosition) == 0) {
                     rightCurrentPosition++;
                 }
+                matchedPositions[matchedCount++] = firstPosition;
             }
         }
 
-        return result;
+        Arrays.sort(matchedPositions, 0, matchedCount);
+        for (int i = 0; i < matchedCount; i++) {
+            result.add(leftAccessor.get(leftArray, matchedPositions[i]));
+        }
+    }
+
+    private static int[] fillPositions(int[] positions, int length) {
+        if (positions.length < length) {
+            positions = new int[length];
+        }
+        for (int i = 0; i < length; i++) {
+            positions[i] = i;
+        }
+        return positions;
     }
 
-    private int compare(ListObjectInspector arrayOI, Object array, int position1, int position2) {
-        ObjectInspector arrayElementOI = arrayOI.getListElementObjectInspector();
-        Object arrayElementTmp1 = arrayOI.getListElement(array, leftPositions[position1]);
-        Object arrayElementTmp2 = arrayOI.getListElement(array, leftPositions[position2]);
-        return ObjectInspectorUtils.compare(arrayElementTmp1, arrayElementOI, arrayElementTmp2, arrayElementOI);
+    private static int compare(ArrayAccessor accessor, Object array, int[] positions, int position1, int position2) {
+        return accessor.compare(array, positions[position1], positions[position2]);
     }
 
     @Override
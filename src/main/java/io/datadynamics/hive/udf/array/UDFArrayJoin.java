@@ -1,34 +1,34 @@
 package io.datadynamics.hive.udf.array;
 
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
 import org.apache.hadoop.hive.ql.metadata.HiveException;
-import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
-import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorConverters;
-import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorConverters.Converter;
 import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
 import org.apache.hadoop.io.Text;
 
 @Description(name = "array_join"
         , value = "_FUNC_(array<E>, delimiter, null_replacement) - concatenates the elements of the given array using the delimiter and an optional null_replacement to replace nulls."
         , extended = "Example:\n > select _FUNC_(array, delimiter) from src;\n> select _FUNC_(array, delimiter, null_replacement) from src;")
-public class UDFArrayJoin extends GenericUDF {
+public class UDFArrayJoin extends ConstantArgumentUDF {
 
     private static final int ARRAY_IDX = 0;
     private static final int DELIMITER_IDX = 1;
     private static final int NULL_REPLACE_IDX = 2;
     private static final int MIN_ARG_COUNT = 2; // min Number of arguments to this UDF
     private static final int MAX_ARG_COUNT = 3; // max Number of arguments to this UDF
-    private transient ObjectInspector delimiterOI;
-    private transient ObjectInspector nullReplaceOI;
     private transient ListObjectInspector arrayOI;
     private transient ObjectInspector arrayElementOI;
-    private transient Converter delimiterConvert;
-    private transient Converter nullReplaceConvert;
+    private transient Argument delimiterArgument;
+    private transient Argument nullReplaceArgument;
+    // text of the delimiter and of null elements, when the arguments are literals
+    private transient String constantDelimiter;
+    private transient String constantNullText;
+    private transient StringBuilder builder;
     private Text result;
 
     public UDFArrayJoin() {
@@ -55,13 +55,16 @@ public class UDFArrayJoin extends GenericUDF {
         arrayOI = (ListObjectInspector) arguments[ARRAY_IDX];
         arrayElementOI = arrayOI.getListElementObjectInspector();
 
-        delimiterOI = arguments[DELIMITER_IDX];
-        delimiterConvert = ObjectInspectorConverters.getConverter(delimiterOI, PrimitiveObjectInspectorFactory.writableStringObjectInspector);
+        delimiterArgument = argument(arguments, DELIMITER_IDX, PrimitiveObjectInspectorFactory.writableStringObjectInspector);
+        constantDelimiter = delimiterArgument.isConstant() ? String.valueOf(delimiterArgument.getConstantValue()) : null;
+        nullReplaceArgument = null;
+        constantNullText = "null";
         if (arguments.length == MAX_ARG_COUNT) {
-            nullReplaceOI = arguments[NULL_REPLACE_IDX];
-            nullReplaceConvert = ObjectInspectorConverters.getConverter(nullReplaceOI, PrimitiveObjectInspectorFactory.writableStringObjectInspector);
+            nullReplaceArgument = argument(arguments, NULL_REPLACE_IDX, PrimitiveObjectInspectorFactory.writableStringObjectInspector);
+            constantNullText = nullReplaceArgument.isConstant() ? String.valueOf(nullReplaceArgument.getConstantValue()) : null;
         }
 
+        builder = new StringBuilder();
         result = new Text();
 
         return PrimitiveObjectInspectorFactory.writableStringObjectInspector;
@@ -72,11 +75,6 @@ public class UDFArrayJoin extends GenericUDF {
         result.set("");
 
         Object array = arguments[ARRAY_IDX].get();
-        Object delimiter = arguments[DELIMITER_IDX].get();
-        Object nullReplace = null;
-        if (arguments.length == MAX_ARG_COUNT) {
-            nullReplace = arguments[NULL_REPLACE_IDX].get();
-        }
 
         int arrayLength = arrayOI.getListLength(array);
 
@@ -85,30 +83,24 @@ public class UDFArrayJoin extends GenericUDF {
             return result;
         }
 
-        StringBuffer stringBuffer = new StringBuffer();
+        // A null delimiter or null_replacement is written as "null"
+        String delimiter = constantDelimiter != null ? constantDelimiter : String.valueOf(delimiterArgument.get(arguments));
+        String nullText = constantNullText != null ? constantNullText : String.valueOf(nullReplaceArgument.get(arguments));
 
-        Object listElement = arrayOI.getListElement(array, 0);
-        appendElement(stringBuffer, listElement, nullReplace);
+        builder.setLength(0);
+        builder.append(element(array, 0, nullText));
         for (int i = 1; i < arrayLength; ++i) {
-            stringBuffer.append(delimiterConvert.convert(delimiter));
-            listElement = arrayOI.getListElement(array, i);
-            appendElement(stringBuffer, listElement, nullReplace);
+            builder.append(delimiter);
+            builder.append(element(array, i, nullText));
         }
-        result.set(stringBuffer.toString());
+        result.set(builder.toString());
 
         return result;
     }
 
-    private void appendElement(StringBuffer stringBuffer, Object listElement, Object nullReplace) {
-        if (listElement == null) {
-            if (nullReplace != null) {
-                stringBuffer.append(nullReplaceConvert.convert(nullReplace));
-            } else {
-                stringBuffer.append(listElement);
-            }
-        } else {
-            stringBuffer.append(listElement);
-        }
+    private Object element(Object array, int index, String nullText) {
+        Object listElement = arrayOI.getListElement(array, index);
+        return listElement == null ? nullText : listElement;
     }
 
     @Override
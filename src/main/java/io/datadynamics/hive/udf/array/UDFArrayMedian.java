@@ -0,0 +1,73 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayReducer;
+import io.datadynamics.hive.udf.utils.ArraySelector;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.io.DoubleWritable;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+
+@Description(name = "array_median"
+        , value = "_FUNC_(array) - returns the median of the non-null values of input array as double, or null if there is none. "
+        + "With an even number of values it is the average of the two middle ones."
+        , extended = "Example:\n > select _FUNC_(array) from src;")
+public class UDFArrayMedian extends GenericUDF {
+    private static final int ARG_COUNT = 1; // Number of arguments to this UDF
+    private transient ListObjectInspector arrayOI;
+    private transient ArraySelector selector;
+
+    private final DoubleWritable result = new DoubleWritable();
+
+    public UDFArrayMedian() {
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if one argument was passed
+        if (arguments.length != ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function array_median(array) takes exactly " + ARG_COUNT + " arguments.");
+        }
+
+        // Check if the argument is of category LIST
+        if (!arguments[0].getCategory().equals(ObjectInspector.Category.LIST)) {
+            throw new UDFArgumentTypeException(0,
+                    "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                            + "expected at function array_median, but "
+                            + "\"" + arguments[0].getTypeName() + "\" "
+                            + "is found");
+        }
+
+        arrayOI = (ListObjectInspector) arguments[0];
+        ArrayAccessor accessor = ArrayAccessor.create(arrayOI);
+        ArrayReducer.checkNumeric(accessor, "array_median");
+        selector = new ArraySelector(accessor);
+
+        return PrimitiveObjectInspectorFactory.writableDoubleObjectInspector;
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Object array = arguments[0].get();
+
+        if (array == null || selector.load(array) == 0) {
+            return null;
+        }
+
+        result.set(selector.percentile(0.5d));
+        return result;
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        assert (strings.length == ARG_COUNT);
+        return "array_median(" + strings[0] + ")";
+    }
+}
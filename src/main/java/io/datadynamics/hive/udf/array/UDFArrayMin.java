@@ -1,6 +1,7 @@
 package io.datadynamics.hive.udf.array;
 
-import io.datadynamics.hive.udf.fastuitl.ints.IntArrays;
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayReducer;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
@@ -11,17 +12,14 @@ import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
 
-import static io.datadynamics.hive.udf.utils.ArrayUtils.IntArrayCompare;
-
 @Description(name = "array_min"
-        , value = "_FUNC_(array) - returns the minimum value of input array."
+        , value = "_FUNC_(array) - returns the minimum non-null value of input array, or null if there is none."
         , extended = "Example:\n > select _FUNC_(array) from src;")
 public class UDFArrayMin extends GenericUDF {
-    private static final int INITIAL_SIZE = 128;
     private static final int ARG_COUNT = 1; // Number of arguments to this UDF
-    private int[] positions = new int[INITIAL_SIZE];
     private transient ListObjectInspector arrayOI;
     private transient ObjectInspector arrayElementOI;
+    private transient ArrayReducer reducer;
 
     public UDFArrayMin() {
     }
@@ -54,34 +52,21 @@ public class UDFArrayMin extends GenericUDF {
                     + " types");
         }
 
+        reducer = new ArrayReducer(ArrayAccessor.create(arrayOI));
+
         return arrayElementOI;
     }
 
     @Override
     public Object evaluate(DeferredObject[] arguments) throws HiveException {
         Object array = arguments[0].get();
-        int arrayLength = arrayOI.getListLength(array);
 
-        // Check if array is null or empty
-        if (array == null || arrayLength <= 0) {
+        // Single pass over the array, null elements are skipped
+        if (!reducer.minMax(array)) {
             return null;
         }
 
-        if (arrayLength == 1) {
-            return arrayOI.getListElement(array, positions[0]);
-        }
-
-        if (positions.length < arrayLength) {
-            positions = new int[arrayLength];
-        }
-
-        for (int i = 0; i < arrayLength; i++) {
-            positions[i] = i;
-        }
-
-        IntArrays.quickSort(positions, 0, arrayLength, IntArrayCompare(array, arrayOI));
-        Object minArrayElement = arrayOI.getListElement(array, positions[0]);
-        return minArrayElement;
+        return arrayOI.getListElement(array, reducer.getMinIndex());
     }
 
     @Override
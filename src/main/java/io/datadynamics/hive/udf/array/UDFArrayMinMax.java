@@ -0,0 +1,86 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayReducer;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+@Description(name = "array_min_max"
+        , value = "_FUNC_(array) - returns struct<min:E,max:E> with the minimum and maximum non-null values of input array, "
+        + "or null if there is none."
+        , extended = "Example:\n > select _FUNC_(array).min, _FUNC_(array).max from src;")
+public class UDFArrayMinMax extends GenericUDF {
+    private static final int ARG_COUNT = 1; // Number of arguments to this UDF
+    private transient ListObjectInspector arrayOI;
+    private transient ObjectInspector arrayElementOI;
+    private transient ArrayReducer reducer;
+
+    private final transient ArrayList<Object> result = new ArrayList<Object>(Arrays.asList(null, null));
+
+    public UDFArrayMinMax() {
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if one argument was passed
+        if (arguments.length != ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function array_min_max(array) takes exactly " + ARG_COUNT + " arguments.");
+        }
+
+        // Check if the argument is of category LIST
+        if (!arguments[0].getCategory().equals(ObjectInspector.Category.LIST)) {
+            throw new UDFArgumentTypeException(0,
+                    "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                            + "expected at function array_min_max, but "
+                            + "\"" + arguments[0].getTypeName() + "\" "
+                            + "is found");
+        }
+
+        arrayOI = (ListObjectInspector) arguments[0];
+        arrayElementOI = arrayOI.getListElementObjectInspector();
+
+        // Check if the comparison is supported for this type
+        if (!ObjectInspectorUtils.compareSupported(arrayElementOI)) {
+            throw new UDFArgumentException("The function array_min_max"
+                    + " does not support comparison for "
+                    + "\"" + arrayElementOI.getTypeName() + "\""
+                    + " types");
+        }
+
+        reducer = new ArrayReducer(ArrayAccessor.create(arrayOI));
+
+        return ObjectInspectorFactory.getStandardStructObjectInspector(
+                Arrays.asList("min", "max"), Arrays.asList(arrayElementOI, arrayElementOI));
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Object array = arguments[0].get();
+
+        if (!reducer.minMax(array)) {
+            return null;
+        }
+
+        result.set(0, arrayOI.getListElement(array, reducer.getMinIndex()));
+        result.set(1, arrayOI.getListElement(array, reducer.getMaxIndex()));
+        return result;
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        assert (strings.length == ARG_COUNT);
+        return "array_min_max(" + strings[0] + ")";
+    }
+}
@@ -0,0 +1,108 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArraySelector;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.IntObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+
+@Description(name = "array_nth"
+        , value = "_FUNC_(array<E>, n) - returns the element that would be at index n if the non-null elements of array were sorted, "
+        + "without sorting them. If n < 0, nth counts from the largest element: -1 is the largest."
+        , extended = "Example:\n > select _FUNC_(array, n) from src;")
+public class UDFArrayNth extends GenericUDF {
+
+    private static final int ARRAY_IDX = 0;
+    private static final int N_IDX = 1;
+    private static final int ARG_COUNT = 2; // Number of arguments to this UDF
+    private transient IntObjectInspector nOI;
+    private transient ListObjectInspector arrayOI;
+    private transient ObjectInspector arrayElementOI;
+    private transient ArrayAccessor accessor;
+    private transient ArraySelector selector;
+
+    public UDFArrayNth() {
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if two arguments were passed
+        if (arguments.length != ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function array_nth(array, n) takes exactly " + ARG_COUNT + " arguments.");
+        }
+
+        // Check if ARRAY_IDX argument is of category LIST
+        if (!arguments[ARRAY_IDX].getCategory().equals(ObjectInspector.Category.LIST)) {
+            throw new UDFArgumentTypeException(ARRAY_IDX,
+                    "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                            + "expected at function array_nth, but "
+                            + "\"" + arguments[ARRAY_IDX].getTypeName() + "\" "
+                            + "is found");
+        }
+
+        arrayOI = (ListObjectInspector) arguments[ARRAY_IDX];
+        arrayElementOI = arrayOI.getListElementObjectInspector();
+
+        ObjectInspector expectOI = PrimitiveObjectInspectorFactory.writableIntObjectInspector;
+
+        // Check if n is an int
+        if (!ObjectInspectorUtils.compareTypes(expectOI, arguments[N_IDX])) {
+            throw new UDFArgumentTypeException(N_IDX,
+                    "\"" + expectOI.getTypeName() + "\""
+                            + " expected at function array_nth, but "
+                            + "\"" + arguments[N_IDX].getTypeName() + "\""
+                            + " is found");
+        }
+        nOI = (IntObjectInspector) arguments[N_IDX];
+
+        // Check if the comparison is supported for this type
+        if (!ObjectInspectorUtils.compareSupported(arrayElementOI)) {
+            throw new UDFArgumentException("The function array_nth"
+                    + " does not support comparison for "
+                    + "\"" + arrayElementOI.getTypeName() + "\""
+                    + " types");
+        }
+
+        accessor = ArrayAccessor.create(arrayOI);
+        selector = new ArraySelector(accessor);
+
+        return arrayElementOI;
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Object array = arguments[ARRAY_IDX].get();
+        Object n = arguments[N_IDX].get();
+
+        // Check if array or n is null
+        if (array == null || n == null) {
+            return null;
+        }
+
+        int rank = nOI.get(n);
+        int count = selector.load(array);
+        if (rank < 0) {
+            rank += count;
+        }
+        if (rank < 0 || rank >= count) {
+            return null;
+        }
+        return accessor.get(array, selector.select(rank));
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        assert (strings.length == ARG_COUNT);
+        return "array_nth(" + strings[ARRAY_IDX] + ", "
+                + strings[N_IDX] + ")";
+    }
+}
@@ -0,0 +1,102 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayReducer;
+import io.datadynamics.hive.udf.utils.ArraySelector;
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.serde2.io.DoubleWritable;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorUtils;
+
+@Description(name = "array_percentile"
+        , value = "_FUNC_(array, p) - returns the exact p-th percentile (0 <= p <= 1) of the non-null values of input array as double, "
+        + "or null if there is none. Values between two ranks are interpolated linearly, like percentile()."
+        , extended = "Example:\n > select _FUNC_(array, 0.9) from src;")
+public class UDFArrayPercentile extends ConstantArgumentUDF {
+    private static final int ARRAY_IDX = 0;
+    private static final int P_IDX = 1;
+    private static final int ARG_COUNT = 2; // Number of arguments to this UDF
+    private transient ListObjectInspector arrayOI;
+    private transient ArraySelector selector;
+    private transient Argument pArgument;
+
+    private final DoubleWritable result = new DoubleWritable();
+
+    public UDFArrayPercentile() {
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if two arguments were passed
+        if (arguments.length != ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function array_percentile(array, p) takes exactly " + ARG_COUNT + " arguments.");
+        }
+
+        // Check if ARRAY_IDX argument is of category LIST
+        if (!arguments[ARRAY_IDX].getCategory().equals(ObjectInspector.Category.LIST)) {
+            throw new UDFArgumentTypeException(ARRAY_IDX,
+                    "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                            + "expected at function array_percentile, but "
+                            + "\"" + arguments[ARRAY_IDX].getTypeName() + "\" "
+                            + "is found");
+        }
+
+        // Check if p is numeric; an unsuffixed literal such as 0.9 is typed as a decimal
+        if (!isNumeric(arguments[P_IDX])) {
+            throw new UDFArgumentTypeException(P_IDX,
+                    "A numeric type expected at function array_percentile, but "
+                            + "\"" + arguments[P_IDX].getTypeName() + "\""
+                            + " is found");
+        }
+
+        arrayOI = (ListObjectInspector) arguments[ARRAY_IDX];
+        ArrayAccessor accessor = ArrayAccessor.create(arrayOI);
+        ArrayReducer.checkNumeric(accessor, "array_percentile");
+        selector = new ArraySelector(accessor);
+        pArgument = argument(arguments, P_IDX, PrimitiveObjectInspectorFactory.writableDoubleObjectInspector);
+
+        return PrimitiveObjectInspectorFactory.writableDoubleObjectInspector;
+    }
+
+    private static boolean isNumeric(ObjectInspector oi) {
+        return oi.getCategory() == ObjectInspector.Category.PRIMITIVE
+                && PrimitiveObjectInspectorUtils.getPrimitiveGrouping(((PrimitiveObjectInspector) oi).getPrimitiveCategory())
+                == PrimitiveObjectInspectorUtils.PrimitiveGrouping.NUMERIC_GROUP;
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Object array = arguments[ARRAY_IDX].get();
+        DoubleWritable p = (DoubleWritable) pArgument.get(arguments);
+
+        if (array == null || p == null) {
+            return null;
+        }
+        if (!(p.get() >= 0.0d && p.get() <= 1.0d)) {
+            throw new HiveException("The function array_percentile expects a percentile between 0 and 1, but "
+                    + p.get() + " is found");
+        }
+        if (selector.load(array) == 0) {
+            return null;
+        }
+
+        result.set(selector.percentile(p.get()));
+        return result;
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        assert (strings.length == ARG_COUNT);
+        return "array_percentile(" + strings[ARRAY_IDX] + ", "
+                + strings[P_IDX] + ")";
+    }
+}
@@ -1,11 +1,14 @@
 package io.datadynamics.hive.udf.array;
 
+import io.datadynamics.hive.udf.array.vector.*;
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedExpressions;
 import org.apache.hadoop.hive.ql.metadata.HiveException;
-import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
@@ -15,14 +18,17 @@ import org.apache.hadoop.io.LongWritable;
 @Description(name = "array_position"
         , value = "_FUNC_(array<E>, E) - returns the position of the first occurrence of the element in array (or 0 if not found)."
         , extended = "Example:\n > select _FUNC_(array, value) from src;")
-public class UDFArrayPosition extends GenericUDF {
+@VectorizedExpressions({ListPositionLongScalar.class, ListPositionDoubleScalar.class, ListPositionStringScalar.class})
+public class UDFArrayPosition extends ConstantArgumentUDF {
 
     private static final int ARRAY_IDX = 0;
     private static final int VALUE_IDX = 1;
     private static final int ARG_COUNT = 2; // Number of arguments to this UDF
     private transient ObjectInspector valueOI;
+    private transient Argument valueArgument;
     private transient ListObjectInspector arrayOI;
     private transient ObjectInspector arrayElementOI;
+    private transient ArrayAccessor accessor;
     private LongWritable result;
 
     public UDFArrayPosition() {
@@ -68,6 +74,8 @@ public class UDFArrayPosition extends GenericUDF {
                     + " types");
         }
 
+        accessor = ArrayAccessor.create(arrayOI);
+        valueArgument = argument(arguments, VALUE_IDX).bindTo(accessor);
         result = new LongWritable(0L);
 
         return PrimitiveObjectInspectorFactory.writableLongObjectInspector;
@@ -78,19 +86,16 @@ public class UDFArrayPosition extends GenericUDF {
         result.set(0L);
 
         Object array = arguments[ARRAY_IDX].get();
-        Object value = arguments[VALUE_IDX].get();
-
         int arrayLength = arrayOI.getListLength(array);
 
         // Check if array is null or empty or value is null
-        if (value == null || arrayLength <= 0) {
+        if (arrayLength <= 0 || !valueArgument.bindValue(arguments)) {
             return result;
         }
 
         // Compare the value to each element of array until a match is found
         for (int i = 0; i < arrayLength; ++i) {
-            Object listElement = arrayOI.getListElement(array, i);
-            if (ObjectInspectorUtils.compare(value, valueOI, listElement, arrayElementOI) == 0) {
+            if (accessor.matches(array, i)) {
                 result.set(i + 1);
                 break;
             }
@@ -0,0 +1,32 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.LongWritable;
+
+@Description(name = "array_position_sorted"
+        , value = "_FUNC_(array<E>, E) - array_position for an array sorted in ascending order, with its nulls first or last: "
+        + "returns the position of the first occurrence of the element in array (or 0 if not found). "
+        + "Uses binary search; the result is undefined if array is not sorted."
+        , extended = "Example:\n > select _FUNC_(array_sort(array), value) from src;")
+public class UDFArrayPositionSorted extends SortedArraySearchUDF {
+    private LongWritable result;
+
+    public UDFArrayPositionSorted() {
+        super("array_position_sorted", 2);
+    }
+
+    @Override
+    protected ObjectInspector initializeResult(ObjectInspector[] arguments) {
+        result = new LongWritable(0L);
+        return PrimitiveObjectInspectorFactory.writableLongObjectInspector;
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        result.set(search(arguments) ? position(lowerBound()) : 0L);
+        return result;
+    }
+}
@@ -0,0 +1,50 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.LongWritable;
+
+@Description(name = "array_rank"
+        , value = "_FUNC_(array<E>, E[, bound]) - for an array sorted in ascending order, with its nulls first or last, returns the number "
+        + "of non-null elements less than the value (bound 'lower', the default) or less than or equal to it (bound 'upper'). "
+        + "Uses binary search; the result is undefined if array is not sorted."
+        , extended = "Example:\n > select _FUNC_(array(0, 10, 100, 1000), value) from src;\n > select _FUNC_(array, value, 'upper') from src;")
+public class UDFArrayRank extends SortedArraySearchUDF {
+    private static final int BOUND_IDX = 2;
+    private static final int MAX_ARG_COUNT = 3;
+
+    private transient boolean upper;
+    private final LongWritable result = new LongWritable();
+
+    public UDFArrayRank() {
+        super("array_rank", MAX_ARG_COUNT);
+    }
+
+    @Override
+    protected ObjectInspector initializeResult(ObjectInspector[] arguments) throws UDFArgumentException {
+        upper = false;
+        if (arguments.length > BOUND_IDX) {
+            String bound = getConstantOption(arguments, BOUND_IDX, "array_rank");
+            if (bound.equals("upper")) {
+                upper = true;
+            } else if (!bound.equals("lower")) {
+                throw new UDFArgumentException("The function array_rank expects 'lower' or 'upper' as bound, but '" + bound + "' is found");
+            }
+        }
+        return PrimitiveObjectInspectorFactory.writableLongObjectInspector;
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        // Check if array or value is null
+        if (!search(arguments)) {
+            return null;
+        }
+
+        result.set(upper ? upperBound() : lowerBound());
+        return result;
+    }
+}
@@ -1,11 +1,12 @@
 package io.datadynamics.hive.udf.array;
 
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
 import org.apache.hadoop.hive.ql.metadata.HiveException;
-import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
@@ -16,14 +17,16 @@ import java.util.ArrayList;
 @Description(name = "array_remove"
         , value = "_FUNC_(array<E>, E) - remove all elements that equal element from array."
         , extended = "Example:\n > select _FUNC_(array, value) from src;")
-public class UDFArrayRemove extends GenericUDF {
+public class UDFArrayRemove extends ConstantArgumentUDF {
 
     private static final int ARRAY_IDX = 0;
     private static final int VALUE_IDX = 1;
     private static final int ARG_COUNT = 2; // Number of arguments to this UDF
     private transient ObjectInspector valueOI;
+    private transient Argument valueArgument;
     private transient ListObjectInspector arrayOI;
     private transient ObjectInspector arrayElementOI;
+    private transient ArrayAccessor accessor;
 
     private final transient ArrayList<Object> result = new ArrayList<Object>();
 
@@ -69,6 +72,9 @@ public class UDFArrayRemove extends GenericUDF {
                     + " types");
         }
 
+        accessor = ArrayAccessor.create(arrayOI);
+        valueArgument = argument(arguments, VALUE_IDX).bindTo(accessor);
+
         return ObjectInspectorFactory.getStandardListObjectInspector(arrayElementOI);
     }
 
@@ -77,22 +83,18 @@ public class UDFArrayRemove extends GenericUDF {
         result.clear();
 
         Object array = arguments[ARRAY_IDX].get();
-        Object value = arguments[VALUE_IDX].get();
-
         int arrayLength = arrayOI.getListLength(array);
 
         // Check if array is null or empty or value is null
-        if (value == null || arrayLength <= 0) {
+        if (arrayLength <= 0 || !valueArgument.bindValue(arguments)) {
             return null;
         }
 
-        // Compare the value to each element of array until a match is found
+        // Keep every non-null element that does not match the value
         for (int i = 0; i < arrayLength; ++i) {
             Object listElement = arrayOI.getListElement(array, i);
-            if (listElement != null) {
-                if (ObjectInspectorUtils.compare(value, valueOI, listElement, arrayElementOI) != 0) {
-                    result.add(listElement);
-                }
+            if (listElement != null && !accessor.matches(array, i)) {
+                result.add(listElement);
             }
         }
 
@@ -1,5 +1,7 @@
 package io.datadynamics.hive.udf.array;
 
+import io.datadynamics.hive.udf.utils.ListView;
+import io.datadynamics.hive.udf.utils.ListViewObjectInspector;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
@@ -8,8 +10,6 @@ import org.apache.hadoop.hive.ql.metadata.HiveException;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.serde2.objectinspector.*;
 
-import java.util.ArrayList;
-
 @Description(name = "array_reverse"
         , value = "_FUNC_(array) - reverse the array element."
         , extended = "Example:\n > select _FUNC_(array) from src;")
@@ -21,9 +21,7 @@ public class UDFArrayReverse extends GenericUDF {
 
     private transient ObjectInspector arrayElementOI;
 
-    private transient ObjectInspectorConverters.Converter converter;
-
-    private final transient ArrayList<Object> result = new ArrayList<Object>();
+    private final transient ListView result = new ListView();
 
     public UDFArrayReverse() {
     }
@@ -52,9 +50,7 @@ public class UDFArrayReverse extends GenericUDF {
                     + " types");
         }
 
-        converter = ObjectInspectorConverters.getConverter(arrayElementOI, arrayElementOI);
-
-        return ObjectInspectorFactory.getStandardListObjectInspector(arrayElementOI);
+        return ListViewObjectInspector.get(arrayElementOI);
     }
 
     @Override
@@ -67,16 +63,7 @@ public class UDFArrayReverse extends GenericUDF {
             return null;
         }
 
-        if (arrayLength == 1) {
-            return array;
-        }
-
-        result.clear();
-        for (int i = arrayLength - 1; i >= 0; i--) {
-            Object arrayElement = arrayOI.getListElement(array, i);
-            result.add(arrayElement);
-        }
-        return result;
+        return result.reverse(arrayOI, array, arrayLength);
     }
 
     @Override
@@ -0,0 +1,100 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.IntWritable;
+
+import java.util.ArrayList;
+
+@Description(name = "array_sample"
+        , value = "_FUNC_(array<E>, k[, seed]) - returns k elements of array drawn uniformly at random without replacement, "
+        + "in random order, or all of them shuffled if array has at most k elements. "
+        + "With a constant seed, reruns over the same input return the same samples."
+        , extended = "Example:\n > select _FUNC_(array, 10) from src;\n > select _FUNC_(array, 10, 42) from src;")
+public class UDFArraySample extends ArraySamplingUDF {
+    private static final int ARRAY_IDX = 0;
+    private static final int K_IDX = 1;
+    private static final int SEED_IDX = 2;
+    private static final int MIN_ARG_COUNT = 2; // Number of arguments to this UDF
+    private static final int MAX_ARG_COUNT = 3;
+    private transient ListObjectInspector arrayOI;
+    private transient ObjectInspector arrayElementOI;
+    private transient Argument kArgument;
+    private final transient ArrayList<Object> result = new ArrayList<Object>();
+
+    public UDFArraySample() {
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if two or three arguments were passed
+        if (arguments.length < MIN_ARG_COUNT || arguments.length > MAX_ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function array_sample(array, k[, seed]) takes " + MIN_ARG_COUNT + " or " + MAX_ARG_COUNT + " arguments.");
+        }
+
+        // Check if ARRAY_IDX argument is of category LIST
+        if (!arguments[ARRAY_IDX].getCategory().equals(ObjectInspector.Category.LIST)) {
+            throw new UDFArgumentTypeException(ARRAY_IDX,
+                    "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                            + "expected at function array_sample, but "
+                            + "\"" + arguments[ARRAY_IDX].getTypeName() + "\" "
+                            + "is found");
+        }
+
+        arrayOI = (ListObjectInspector) arguments[ARRAY_IDX];
+        arrayElementOI = arrayOI.getListElementObjectInspector();
+
+        ObjectInspector expectOI = PrimitiveObjectInspectorFactory.writableIntObjectInspector;
+
+        // Check if k is an int
+        if (!ObjectInspectorUtils.compareTypes(expectOI, arguments[K_IDX])) {
+            throw new UDFArgumentTypeException(K_IDX,
+                    "\"" + expectOI.getTypeName() + "\""
+                            + " expected at function array_sample, but "
+                            + "\"" + arguments[K_IDX].getTypeName() + "\""
+                            + " is found");
+        }
+
+        kArgument = argument(arguments, K_IDX, expectOI);
+        initializeRandom(arguments, SEED_IDX, "array_sample");
+
+        return ObjectInspectorFactory.getStandardListObjectInspector(arrayElementOI);
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Object array = arguments[ARRAY_IDX].get();
+        IntWritable k = (IntWritable) kArgument.get(arguments);
+
+        // Check if array or k is null, or k is negative
+        if (array == null || k == null || k.get() < 0) {
+            return null;
+        }
+
+        int arrayLength = arrayOI.getListLength(array);
+        int sampleSize = Math.min(k.get(), arrayLength);
+        result.clear();
+        result.ensureCapacity(sampleSize);
+
+        // partial Fisher-Yates: only sampleSize random numbers are drawn
+        shufflePositions(arrayLength, sampleSize);
+        for (int i = 0; i < sampleSize; i++) {
+            result.add(arrayOI.getListElement(array, positions[i]));
+        }
+        return result;
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        return getStandardDisplayString("array_sample", strings);
+    }
+}
@@ -5,46 +5,45 @@ import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
 import org.apache.hadoop.hive.ql.metadata.HiveException;
-import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.serde2.objectinspector.*;
 
 import java.util.ArrayList;
-import java.util.Random;
 
 
 @Description(name = "array_shuffle"
-        , value = "_FUNC_(array<E>) - Generates a random permutation of the given array."
-        , extended = "Example:\n > select _FUNC_(array) from src;")
-public class UDFArrayShuffle extends GenericUDF {
-    private static final int ARG_COUNT = 1; // Number of arguments to this UDF
-    private static final int INITIAL_LENGTH = 128;
+        , value = "_FUNC_(array<E>[, seed]) - Generates a random permutation of the given array. "
+        + "With a constant seed, reruns over the same input return the same permutations."
+        , extended = "Example:\n > select _FUNC_(array) from src;\n > select _FUNC_(array, 42) from src;")
+public class UDFArrayShuffle extends ArraySamplingUDF {
+    private static final int ARRAY_IDX = 0;
+    private static final int SEED_IDX = 1;
+    private static final int MIN_ARG_COUNT = 1; // Number of arguments to this UDF
+    private static final int MAX_ARG_COUNT = 2;
     private transient ListObjectInspector arrayOI;
     private transient ObjectInspector arrayElementOI;
-    private transient ObjectInspectorConverters.Converter converter;
     private final transient ArrayList<Object> result = new ArrayList<Object>();
-    private int[] positions = new int[INITIAL_LENGTH];
 
     public UDFArrayShuffle() {
     }
 
     @Override
     public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
-        // Check if two arguments were passed
-        if (arguments.length != ARG_COUNT) {
+        // Check if one or two arguments were passed
+        if (arguments.length < MIN_ARG_COUNT || arguments.length > MAX_ARG_COUNT) {
             throw new UDFArgumentLengthException(
-                    "The function array_shuffle(array) takes exactly " + ARG_COUNT + " arguments.");
+                    "The function array_shuffle(array[, seed]) takes " + MIN_ARG_COUNT + " or " + MAX_ARG_COUNT + " arguments.");
         }
 
-        // Check if two argument is of category LIST
-        if (!arguments[0].getCategory().equals(ObjectInspector.Category.LIST)) {
-            throw new UDFArgumentTypeException(0,
+        // Check if the array argument is of category LIST
+        if (!arguments[ARRAY_IDX].getCategory().equals(ObjectInspector.Category.LIST)) {
+            throw new UDFArgumentTypeException(ARRAY_IDX,
                     "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
                             + "expected at function array_shuffle, but "
-                            + "\"" + arguments[0].getTypeName() + "\" "
+                            + "\"" + arguments[ARRAY_IDX].getTypeName() + "\" "
                             + "is found");
         }
 
-        arrayOI = (ListObjectInspector) arguments[0];
+        arrayOI = (ListObjectInspector) arguments[ARRAY_IDX];
         arrayElementOI = arrayOI.getListElementObjectInspector();
 
         // Check if the comparison is supported for this type
@@ -55,44 +54,26 @@ public class UDFArrayShuffle extends GenericUDF {
                     + " types");
         }
 
-        converter = ObjectInspectorConverters.getConverter(arrayElementOI, arrayElementOI);
+        initializeRandom(arguments, SEED_IDX, "array_shuffle");
 
         return ObjectInspectorFactory.getStandardListObjectInspector(arrayElementOI);
     }
 
     @Override
     public Object evaluate(DeferredObject[] arguments) throws HiveException {
-        Object array = arguments[0].get();
-        int arrayLength = arrayOI.getListLength(array);
+        Object array = arguments[ARRAY_IDX].get();
 
-        // Check if array is null or empty
-        if (array == null || arrayLength <= 0) {
+        // Check if array is null
+        if (array == null) {
             return null;
         }
 
-        if (arrayLength == 1) {
-            return array;
-        }
-
+        // Copy even a single element, the result is read through a standard list inspector
+        int arrayLength = arrayOI.getListLength(array);
         result.clear();
+        result.ensureCapacity(arrayLength);
 
-        if (positions.length < arrayLength) {
-            positions = new int[arrayLength];
-        }
-        for (int i = 0; i < arrayLength; i++) {
-            positions[i] = i;
-        }
-
-        // Fisher-Yates shuffle
-        // Randomly swap a pair of positions
-        for (int i = arrayLength - 1; i > 0; i--) {
-            Random random = new Random();
-            int index = random.nextInt(i + 1);
-            int swap = positions[i];
-            positions[i] = positions[index];
-            positions[index] = swap;
-        }
-
+        shufflePositions(arrayLength, arrayLength);
         for (int i = 0; i < arrayLength; i++) {
             Object arrayElement = arrayOI.getListElement(array, positions[i]);
             result.add(arrayElement);
@@ -102,7 +83,6 @@ public class UDFArrayShuffle extends GenericUDF {
 
     @Override
     public String getDisplayString(String[] strings) {
-        assert (strings.length == ARG_COUNT);
-        return "array_shuffle(" + strings[0] + ")";
+        return getStandardDisplayString("array_shuffle", strings);
     }
-}
\ No newline at end of file
+}
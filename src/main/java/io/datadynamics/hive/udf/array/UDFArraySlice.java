@@ -1,5 +1,7 @@
 package io.datadynamics.hive.udf.array;
 
+import io.datadynamics.hive.udf.utils.ListView;
+import io.datadynamics.hive.udf.utils.ListViewObjectInspector;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
@@ -8,13 +10,10 @@ import org.apache.hadoop.hive.ql.metadata.HiveException;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
-import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
 import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
 import org.apache.hadoop.io.IntWritable;
 
-import java.util.ArrayList;
-
 @Description(name = "array_slice"
         , value = "_FUNC_(array<E>, start, length) - subsets array starting from index start (or starting from the end if start is negative) with a length of length."
         , extended = "Example:\n > select _FUNC_(array, start, length) from src;")
@@ -29,7 +28,7 @@ public class UDFArraySlice extends GenericUDF {
 
     private transient ObjectInspector arrayElementOI;
 
-    private final transient ArrayList<Object> result = new ArrayList<Object>();
+    private final transient ListView result = new ListView();
 
     public UDFArraySlice() {
     }
@@ -66,7 +65,7 @@ public class UDFArraySlice extends GenericUDF {
             }
         }
 
-        return ObjectInspectorFactory.getStandardListObjectInspector(arrayElementOI);
+        return ListViewObjectInspector.get(arrayElementOI);
     }
 
     @Override
@@ -75,32 +74,16 @@ public class UDFArraySlice extends GenericUDF {
         IntWritable start = (IntWritable) arguments[START_IDX].get();
         IntWritable length = (IntWritable) arguments[LENGTH_IDX].get();
 
-        int arrayLength = arrayOI.getListLength(array);
-
-        if (start == null || length == null || length.get() < 0) {
+        if (array == null || start == null || length == null || length.get() < 0) {
             return null;
         }
 
-        if (arrayLength <= 0) {
-            return array;
-        }
+        // start is zero based, a negative start counts from the end of the array
+        int arrayLength = arrayOI.getListLength(array);
+        int from = start.get() < 0 ? Math.max(arrayLength + start.get(), 0) : Math.min(start.get(), arrayLength);
+        int sliceLength = (int) Math.min((long) length.get(), arrayLength - from);
 
-        result.clear();
-        if (start.get() < 0) {
-            int idx = arrayLength + start.get();
-            if (idx < 0) {
-                idx = 0;
-            }
-            for (int i = idx, j = 1; j <= length.get() && i < arrayLength; i++, j++) {
-                result.add(arrayOI.getListElement(array, i));
-            }
-            return result;
-        } else {
-            for (int i = start.get(); i <= length.get() && i < arrayLength; i++) {
-                result.add(arrayOI.getListElement(array, i));
-            }
-            return result;
-        }
+        return result.slice(arrayOI, array, from, sliceLength);
     }
 
     @Override
@@ -1,51 +1,51 @@
 package io.datadynamics.hive.udf.array;
 
-import io.datadynamics.hive.udf.fastuitl.ints.IntArrays;
-import io.datadynamics.hive.udf.utils.ArrayUtils;
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArraySorter;
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
 import org.apache.hadoop.hive.ql.metadata.HiveException;
-import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.serde2.objectinspector.*;
 
-import java.util.ArrayList;
-
 @Description(name = "array_sort"
-        , value = "_FUNC_(array) - sorts and returns the array. The elements of array must be orderable."
-        , extended = "Example:\n > select _FUNC_(array) from src;")
-public class UDFArraySort extends GenericUDF {
-    private static final int INITIAL_SIZE = 128;
-    private static final int ARG_COUNT = 1; // Number of arguments to this UDF
-    private int[] positions = new int[INITIAL_SIZE];
+        , value = "_FUNC_(array[, order[, nulls]]) - sorts and returns the array. The elements of array must be orderable. "
+        + "order is 'asc' (default) or 'desc'; nulls is 'nulls_first' (default for asc) or 'nulls_last' (default for desc)."
+        , extended = "Example:\n > select _FUNC_(array) from src;\n > select _FUNC_(array, 'desc', 'nulls_first') from src;")
+public class UDFArraySort extends ConstantArgumentUDF {
+    private static final int ARRAY_IDX = 0;
+    private static final int ORDER_IDX = 1;
+    private static final int NULLS_IDX = 2;
+    private static final int MIN_ARG_COUNT = 1; // min Number of arguments to this UDF
+    private static final int MAX_ARG_COUNT = 3; // max Number of arguments to this UDF
     private transient ListObjectInspector arrayOI;
     private transient ObjectInspector arrayElementOI;
-
-    private transient ObjectInspectorConverters.Converter converter;
-    private final transient ArrayList<Object> result = new ArrayList<Object>();
+    private transient ArraySorter sorter;
 
     public UDFArraySort() {
     }
 
     @Override
     public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
-        // Check if two arguments were passed
-        if (arguments.length != ARG_COUNT) {
+        // Check if one to three arguments were passed
+        if (arguments.length < MIN_ARG_COUNT || arguments.length > MAX_ARG_COUNT) {
             throw new UDFArgumentLengthException(
-                    "The function array_sort(array) takes exactly " + ARG_COUNT + " arguments.");
+                    "The function array_sort(array[, order[, nulls]]) takes "
+                            + MIN_ARG_COUNT + " to " + MAX_ARG_COUNT + " arguments.");
         }
 
-        // Check if two argument is of category LIST
-        if (!arguments[0].getCategory().equals(ObjectInspector.Category.LIST)) {
-            throw new UDFArgumentTypeException(0,
+        // Check if the first argument is of category LIST
+        if (!arguments[ARRAY_IDX].getCategory().equals(ObjectInspector.Category.LIST)) {
+            throw new UDFArgumentTypeException(ARRAY_IDX,
                     "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
                             + "expected at function array_sort, but "
-                            + "\"" + arguments[0].getTypeName() + "\" "
+                            + "\"" + arguments[ARRAY_IDX].getTypeName() + "\" "
                             + "is found");
         }
 
-        arrayOI = (ListObjectInspector) arguments[0];
+        arrayOI = (ListObjectInspector) arguments[ARRAY_IDX];
         arrayElementOI = arrayOI.getListElementObjectInspector();
 
         // Check if the comparison is supported for this type
@@ -56,46 +56,48 @@ public class UDFArraySort extends GenericUDF {
                     + " types");
         }
 
-        converter = ObjectInspectorConverters.getConverter(arrayElementOI, arrayElementOI);
+        boolean descending = false;
+        if (arguments.length > ORDER_IDX) {
+            String order = getConstantOption(arguments, ORDER_IDX, "array_sort").replace(' ', '_');
+            if (order.equals("desc")) {
+                descending = true;
+            } else if (!order.equals("asc")) {
+                throw new UDFArgumentException("The function array_sort expects 'asc' or 'desc' as order, but '" + order + "' is found");
+            }
+        }
 
-        return ObjectInspectorFactory.getStandardListObjectInspector(arrayElementOI);
+        boolean nullsFirst = !descending;
+        if (arguments.length > NULLS_IDX) {
+            String nulls = getConstantOption(arguments, NULLS_IDX, "array_sort").replace(' ', '_');
+            if (nulls.equals("nulls_first")) {
+                nullsFirst = true;
+            } else if (nulls.equals("nulls_last")) {
+                nullsFirst = false;
+            } else {
+                throw new UDFArgumentException("The function array_sort expects 'nulls_first' or 'nulls_last', but '" + nulls + "' is found");
+            }
+        }
+
+        sorter = new ArraySorter(ArrayAccessor.create(arrayOI), descending, nullsFirst);
+
+        return ObjectInspectorFactory.getStandardListObjectInspector(sorter.getOutputElementOI());
     }
 
     @Override
     public Object evaluate(DeferredObject[] arguments) throws HiveException {
-        Object array = arguments[0].get();
-        int arrayLength = arrayOI.getListLength(array);
+        Object array = arguments[ARRAY_IDX].get();
 
-        // Check if array is null or empty
-        if (array == null || arrayLength <= 0) {
+        // Check if array is null
+        if (array == null) {
             return null;
         }
 
-        if (arrayLength == 1) {
-            return array;
-        }
-
-        if (positions.length < arrayLength) {
-            positions = new int[arrayLength];
-        }
-
-        for (int i = 0; i < arrayLength; i++) {
-            positions[i] = i;
-        }
-
-        IntArrays.quickSort(positions, 0, arrayLength, ArrayUtils.IntArrayCompare(array, arrayOI));
-
-        result.clear();
-        for (int i = 0; i < arrayLength; i++) {
-            Object arrayElement = arrayOI.getListElement(array, positions[i]);
-            result.add(arrayElement);
-        }
-        return result;
+        return sorter.sort(array);
     }
 
     @Override
     public String getDisplayString(String[] strings) {
-        assert (strings.length == ARG_COUNT);
-        return "array_sort(" + strings[0] + ")";
+        assert (strings.length >= MIN_ARG_COUNT && strings.length <= MAX_ARG_COUNT);
+        return "array_sort(" + String.join(", ", strings) + ")";
     }
-}
\ No newline at end of file
+}
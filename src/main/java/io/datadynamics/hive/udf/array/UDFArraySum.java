@@ -0,0 +1,101 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayReducer;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.io.DoubleWritable;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.DecimalTypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.LongWritable;
+
+@Description(name = "array_sum"
+        , value = "_FUNC_(array) - returns the sum of the non-null values of input array, or null if there is none. "
+        + "Integral arrays are summed as bigint, float and double arrays as double, "
+        + "decimal(p,s) arrays as decimal(min(38,p+10),s) like sum()."
+        , extended = "Example:\n > select _FUNC_(array) from src;")
+public class UDFArraySum extends GenericUDF {
+    private static final int ARG_COUNT = 1; // Number of arguments to this UDF
+    private transient ListObjectInspector arrayOI;
+    private transient ArrayReducer reducer;
+    private transient DecimalTypeInfo decimalTypeInfo;
+
+    private final LongWritable longResult = new LongWritable();
+    private final DoubleWritable doubleResult = new DoubleWritable();
+    private final HiveDecimalWritable decimalResult = new HiveDecimalWritable();
+
+    public UDFArraySum() {
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if one argument was passed
+        if (arguments.length != ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function array_sum(array) takes exactly " + ARG_COUNT + " arguments.");
+        }
+
+        // Check if the argument is of category LIST
+        if (!arguments[0].getCategory().equals(ObjectInspector.Category.LIST)) {
+            throw new UDFArgumentTypeException(0,
+                    "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                            + "expected at function array_sum, but "
+                            + "\"" + arguments[0].getTypeName() + "\" "
+                            + "is found");
+        }
+
+        arrayOI = (ListObjectInspector) arguments[0];
+        ArrayAccessor accessor = ArrayAccessor.create(arrayOI);
+        ArrayReducer.checkSummable(accessor, "array_sum");
+        reducer = new ArrayReducer(accessor);
+
+        if (reducer.isIntegral()) {
+            return PrimitiveObjectInspectorFactory.writableLongObjectInspector;
+        }
+        if (reducer.isDecimal()) {
+            // Same result type as sum(): ten more integer digits, the same scale
+            DecimalTypeInfo elementTypeInfo = (DecimalTypeInfo) ((PrimitiveObjectInspector) accessor.getElementOI()).getTypeInfo();
+            decimalTypeInfo = TypeInfoFactory.getDecimalTypeInfo(
+                    Math.min(HiveDecimal.MAX_PRECISION, elementTypeInfo.getPrecision() + 10), elementTypeInfo.getScale());
+            return PrimitiveObjectInspectorFactory.getPrimitiveWritableObjectInspector(decimalTypeInfo);
+        }
+        return PrimitiveObjectInspectorFactory.writableDoubleObjectInspector;
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Object array = arguments[0].get();
+
+        if (!reducer.sum(array)) {
+            return null;
+        }
+
+        if (reducer.isIntegral()) {
+            longResult.set(reducer.getLongSum());
+            return longResult;
+        }
+        if (reducer.isDecimal()) {
+            // Null on overflow, like sum()
+            decimalResult.set(reducer.getDecimalSum(), decimalTypeInfo.getPrecision(), decimalTypeInfo.getScale());
+            return decimalResult.isSet() ? decimalResult : null;
+        }
+        doubleResult.set(reducer.getDoubleSum());
+        return doubleResult;
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        assert (strings.length == ARG_COUNT);
+        return "array_sum(" + strings[0] + ")";
+    }
+}
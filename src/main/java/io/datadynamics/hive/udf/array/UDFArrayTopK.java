@@ -0,0 +1,13 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.exec.Description;
+
+@Description(name = "array_top_k"
+        , value = "_FUNC_(array<E>, k) - returns the k largest non-null elements of array, in descending order."
+        , extended = "Example:\n > select _FUNC_(array, k) from src;")
+public class UDFArrayTopK extends ArrayTopKUDF {
+
+    public UDFArrayTopK() {
+        super("array_top_k", true);
+    }
+}
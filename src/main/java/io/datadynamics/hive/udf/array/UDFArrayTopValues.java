@@ -0,0 +1,137 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.fastuitl.ints.AbstractIntComparator;
+import io.datadynamics.hive.udf.fastuitl.ints.IntArrays;
+import io.datadynamics.hive.udf.fastuitl.ints.IntComparator;
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayValueCounter;
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.IntWritable;
+
+import java.util.ArrayList;
+
+@Description(name = "array_top_values"
+        , value = "_FUNC_(array<E>, k) - returns the k most frequent non-null elements of array, by descending number of occurrences. "
+        + "Elements that occur equally often are returned in the order of first occurrence."
+        , extended = "Example:\n > select _FUNC_(array, k) from src;")
+public class UDFArrayTopValues extends ConstantArgumentUDF {
+    private static final int INITIAL_SIZE = 128;
+    private static final int ARRAY_IDX = 0;
+    private static final int K_IDX = 1;
+    private static final int ARG_COUNT = 2; // Number of arguments to this UDF
+    private int[] ordinals = new int[INITIAL_SIZE];
+    private transient ListObjectInspector arrayOI;
+    private transient ObjectInspector arrayElementOI;
+    private transient ArrayAccessor accessor;
+    private transient ArrayValueCounter counter;
+    private transient Argument kArgument;
+
+    // more occurrences first, then earlier first occurrence first
+    private final transient IntComparator byFrequency = new AbstractIntComparator() {
+        @Override
+        public int compare(int left, int right) {
+            int compareValue = Long.compare(counter.getCount(right), counter.getCount(left));
+            return compareValue != 0 ? compareValue : Integer.compare(left, right);
+        }
+    };
+
+    private final transient ArrayList<Object> result = new ArrayList<Object>();
+
+    public UDFArrayTopValues() {
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if two arguments were passed
+        if (arguments.length != ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function array_top_values(array, k) takes exactly " + ARG_COUNT + " arguments.");
+        }
+
+        // Check if ARRAY_IDX argument is of category LIST
+        if (!arguments[ARRAY_IDX].getCategory().equals(ObjectInspector.Category.LIST)) {
+            throw new UDFArgumentTypeException(ARRAY_IDX,
+                    "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                            + "expected at function array_top_values, but "
+                            + "\"" + arguments[ARRAY_IDX].getTypeName() + "\" "
+                            + "is found");
+        }
+
+        arrayOI = (ListObjectInspector) arguments[ARRAY_IDX];
+        arrayElementOI = arrayOI.getListElementObjectInspector();
+
+        ObjectInspector expectOI = PrimitiveObjectInspectorFactory.writableIntObjectInspector;
+
+        // Check if k is an int
+        if (!ObjectInspectorUtils.compareTypes(expectOI, arguments[K_IDX])) {
+            throw new UDFArgumentTypeException(K_IDX,
+                    "\"" + expectOI.getTypeName() + "\""
+                            + " expected at function array_top_values, but "
+                            + "\"" + arguments[K_IDX].getTypeName() + "\""
+                            + " is found");
+        }
+
+        // Check if the comparison is supported for this type
+        if (!ObjectInspectorUtils.compareSupported(arrayElementOI)) {
+            throw new UDFArgumentException("The function array_top_values"
+                    + " does not support comparison for "
+                    + "\"" + arrayElementOI.getTypeName() + "\""
+                    + " types");
+        }
+
+        accessor = ArrayAccessor.create(arrayOI);
+        counter = new ArrayValueCounter(accessor);
+        kArgument = argument(arguments, K_IDX, expectOI);
+
+        return ObjectInspectorFactory.getStandardListObjectInspector(arrayElementOI);
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Object array = arguments[ARRAY_IDX].get();
+        IntWritable k = (IntWritable) kArgument.get(arguments);
+
+        // Check if array or k is null, or k is negative
+        if (array == null || k == null || k.get() < 0) {
+            return null;
+        }
+
+        result.clear();
+        int distinctCount = counter.count(array);
+        int topCount = Math.min(k.get(), distinctCount);
+        if (topCount == 0) {
+            return result;
+        }
+
+        if (ordinals.length < distinctCount) {
+            ordinals = new int[distinctCount];
+        }
+        for (int i = 0; i < distinctCount; i++) {
+            ordinals[i] = i;
+        }
+        IntArrays.quickSort(ordinals, 0, distinctCount, byFrequency);
+
+        result.ensureCapacity(topCount);
+        for (int i = 0; i < topCount; i++) {
+            result.add(accessor.get(array, counter.getPosition(ordinals[i])));
+        }
+        return result;
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        assert (strings.length == ARG_COUNT);
+        return "array_top_values(" + strings[ARRAY_IDX] + ", "
+                + strings[K_IDX] + ")";
+    }
+}
@@ -0,0 +1,196 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayElementSet;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.objectinspector.*;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils.ObjectInspectorCopyOption;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+@Description(name = "array_union"
+        , value = "_FUNC_(array, array) - returns the two array's union, without duplicates, in the order of first occurrence in the first then the second array."
+        , extended = "Example:\n > select _FUNC_(array, array) from src;")
+public class UDFArrayUnion extends GenericUDF {
+    private static final int INITIAL_SIZE = 128;
+    private static final int ARG_COUNT = 2; // Number of arguments to this UDF
+    private int[] leftPositions = new int[INITIAL_SIZE];
+    private int[] rightPositions = new int[INITIAL_SIZE];
+    private int[] rightOnlyPositions = new int[INITIAL_SIZE];
+    private transient ListObjectInspector leftArrayOI;
+    private transient ListObjectInspector rightArrayOI;
+    private transient ObjectInspector leftArrayElementOI;
+    private transient ObjectInspector rightArrayElementOI;
+    private transient ArrayAccessor leftAccessor;
+    private transient ArrayAccessor rightAccessor;
+    private transient ArrayElementSet set;
+
+    // Elements of both arrays are returned as is when they share an inspector, otherwise both
+    // sides are copied to the standard writable inspector
+    private transient boolean copyElements;
+
+    private final transient ArrayList<Object> result = new ArrayList<Object>();
+
+    public UDFArrayUnion() {
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if two arguments were passed
+        if (arguments.length != ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function array_union(array, array) takes exactly " + ARG_COUNT + " arguments.");
+        }
+
+        // Check if two argument is of category LIST
+        for (int i = 0; i < 2; i++) {
+            if (!arguments[i].getCategory().equals(ObjectInspector.Category.LIST)) {
+                throw new UDFArgumentTypeException(i,
+                        "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                                + "expected at function array_union, but "
+                                + "\"" + arguments[i].getTypeName() + "\" "
+                                + "is found");
+            }
+        }
+
+        leftArrayOI = (ListObjectInspector) arguments[0];
+        rightArrayOI = (ListObjectInspector) arguments[1];
+
+        leftArrayElementOI = leftArrayOI.getListElementObjectInspector();
+        rightArrayElementOI = rightArrayOI.getListElementObjectInspector();
+
+        // Check if two array are of same type
+        if (!ObjectInspectorUtils.compareTypes(leftArrayElementOI, rightArrayElementOI)) {
+            throw new UDFArgumentTypeException(1,
+                    "\"" + leftArrayElementOI.getTypeName() + "\""
+                            + " expected at function array_union, but "
+                            + "\"" + rightArrayElementOI.getTypeName() + "\""
+                            + " is found");
+        }
+
+        // Check if the comparison is supported for this type
+        if (!ObjectInspectorUtils.compareSupported(leftArrayElementOI)) {
+            throw new UDFArgumentException("The function array_union"
+                    + " does not support comparison for "
+                    + "\"" + leftArrayElementOI.getTypeName() + "\""
+                    + " types");
+        }
+
+        leftAccessor = ArrayAccessor.create(leftArrayOI);
+        rightAccessor = ArrayAccessor.create(rightArrayOI);
+        if (ArrayElementSet.isSupported(leftAccessor)) {
+            set = new ArrayElementSet(leftAccessor);
+        }
+
+        copyElements = leftArrayElementOI != rightArrayElementOI;
+        if (copyElements) {
+            return ObjectInspectorFactory.getStandardListObjectInspector(
+                    ObjectInspectorUtils.getStandardObjectInspector(leftArrayElementOI, ObjectInspectorCopyOption.WRITABLE));
+        }
+        return ObjectInspectorFactory.getStandardListObjectInspector(leftArrayElementOI);
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Object leftArray = arguments[0].get();
+        Object rightArray = arguments[1].get();
+
+        // Check if array is null
+        if (leftArray == null || rightArray == null) {
+            return null;
+        }
+
+        int leftArrayLength = leftAccessor.length(leftArray);
+        int rightArrayLength = rightAccessor.length(rightArray);
+
+        result.clear();
+        if (set != null) {
+            set.clear();
+            boolean seenNull = hashUnion(leftAccessor, leftArray, leftArrayLength, false);
+            hashUnion(rightAccessor, rightArray, rightArrayLength, seenNull);
+        } else {
+            sortMergeUnion(leftArray, leftArrayLength, rightArray, rightArrayLength);
+        }
+
+        return result;
+    }
+
+    private void add(ArrayAccessor accessor, Object element) {
+        result.add(copyElements
+                ? ObjectInspectorUtils.copyToStandardObject(element, accessor.getElementOI(), ObjectInspectorCopyOption.WRITABLE)
+                : element);
+    }
+
+    /**
+     * Appends the elements of the array that are not in the set yet, adding them to the set.
+     *
+     * @return whether a null has been emitted
+     */
+    private boolean hashUnion(ArrayAccessor accessor, Object array, int arrayLength, boolean seenNull) {
+        for (int i = 0; i < arrayLength; i++) {
+            Object element = accessor.get(array, i);
+            if (element == null) {
+                if (!seenNull) {
+                    seenNull = true;
+                    result.add(null);
+                }
+            } else if (set.add(accessor, element) >= 0) {
+                add(accessor, element);
+            }
+        }
+        return seenNull;
+    }
+
+    /**
+     * Fallback for element types that cannot be hashed: deduplicate both arrays by sorting, merge
+     * them to find the right values missing from the left array, then emit the left values and
+     * those right values, each in array order.
+     */
+    private void sortMergeUnion(Object leftArray, int leftArrayLength, Object rightArray, int rightArrayLength) {
+        if (leftPositions.length < leftArrayLength) {
+            leftPositions = new int[leftArrayLength];
+        }
+        if (rightPositions.length < rightArrayLength) {
+            rightPositions = new int[rightArrayLength];
+            rightOnlyPositions = new int[rightArrayLength];
+        }
+        int leftCount = leftAccessor.distinctPositions(leftArray, leftPositions, leftArrayLength);
+        int rightCount = rightAccessor.distinctPositions(rightArray, rightPositions, rightArrayLength);
+
+        int rightOnlyCount = 0;
+        int leftCurrentPosition = 0;
+        for (int i = 0; i < rightCount; i++) {
+            int compareValue = -1;
+            while (leftCurrentPosition < leftCount
+                    && (compareValue = leftAccessor.compare(leftArray, leftPositions[leftCurrentPosition],
+                    rightAccessor, rightArray, rightPositions[i])) < 0) {
+                leftCurrentPosition++;
+            }
+            if (leftCurrentPosition == leftCount || compareValue != 0) {
+                rightOnlyPositions[rightOnlyCount++] = rightPositions[i];
+            }
+        }
+
+        Arrays.sort(leftPositions, 0, leftCount);
+        for (int i = 0; i < leftCount; i++) {
+            add(leftAccessor, leftAccessor.get(leftArray, leftPositions[i]));
+        }
+        Arrays.sort(rightOnlyPositions, 0, rightOnlyCount);
+        for (int i = 0; i < rightOnlyCount; i++) {
+            add(rightAccessor, rightAccessor.get(rightArray, rightOnlyPositions[i]));
+        }
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        assert (strings.length == ARG_COUNT);
+        return "array_union(" + strings[0] + ", "
+                + strings[1] + ")";
+    }
+}
@@ -1,11 +1,12 @@
 package io.datadynamics.hive.udf.array;
 
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
 import org.apache.hadoop.hive.ql.metadata.HiveException;
-import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
@@ -15,14 +16,16 @@ import org.apache.hadoop.io.LongWritable;
 @Description(name = "array_value_count"
         , value = "_FUNC_(array<E>, E) - count array's element number that element value equals given value."
         , extended = "Example:\n > select _FUNC_(array, value) from src;")
-public class UDFArrayValueCount extends GenericUDF {
+public class UDFArrayValueCount extends ConstantArgumentUDF {
 
     private static final int ARRAY_IDX = 0;
     private static final int VALUE_IDX = 1;
     private static final int ARG_COUNT = 2; // Number of arguments to this UDF
     private transient ObjectInspector valueOI;
+    private transient Argument valueArgument;
     private transient ListObjectInspector arrayOI;
     private transient ObjectInspector arrayElementOI;
+    private transient ArrayAccessor accessor;
     private LongWritable result;
 
     public UDFArrayValueCount() {
@@ -68,6 +71,8 @@ public class UDFArrayValueCount extends GenericUDF {
                     + " types");
         }
 
+        accessor = ArrayAccessor.create(arrayOI);
+        valueArgument = argument(arguments, VALUE_IDX).bindTo(accessor);
         result = new LongWritable(0L);
 
         return PrimitiveObjectInspectorFactory.writableLongObjectInspector;
@@ -78,8 +83,6 @@ public class UDFArrayValueCount extends GenericUDF {
         result.set(0L);
 
         Object array = arguments[ARRAY_IDX].get();
-        Object value = arguments[VALUE_IDX].get();
-
         int arrayLength = arrayOI.getListLength(array);
 
         // Check if array is null or empty or value is null
@@ -88,10 +91,18 @@ public class UDFArrayValueCount extends GenericUDF {
         }
 
         long count = 0L;
-        for (int i = 0; i < arrayLength; ++i) {
-            Object listElement = arrayOI.getListElement(array, i);
-            if (ObjectInspectorUtils.compare(value, valueOI, listElement, arrayElementOI) == 0) {
-                count++;
+        if (valueArgument.bindValue(arguments)) {
+            for (int i = 0; i < arrayLength; ++i) {
+                if (accessor.matches(array, i)) {
+                    count++;
+                }
+            }
+        } else {
+            // A null value counts the null elements
+            for (int i = 0; i < arrayLength; ++i) {
+                if (accessor.isNull(array, i)) {
+                    count++;
+                }
             }
         }
         result.set(count);
@@ -0,0 +1,153 @@
+package io.datadynamics.hive.udf.array;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import io.datadynamics.hive.udf.utils.ArrayReducer;
+import io.datadynamics.hive.udf.utils.KeyHeap;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorUtils;
+import org.apache.hadoop.io.IntWritable;
+
+import java.util.ArrayList;
+
+@Description(name = "array_weighted_sample"
+        , value = "_FUNC_(array<E>, weights, k[, seed]) - returns k elements of array drawn at random without replacement, "
+        + "each with a probability proportional to the weight at the same index of weights. Elements with a null or non-positive "
+        + "weight are never drawn. With a constant seed, reruns over the same input return the same samples."
+        , extended = "Example:\n > select _FUNC_(items, scores, 10) from src;\n > select _FUNC_(items, scores, 10, 42) from src;")
+public class UDFArrayWeightedSample extends ArraySamplingUDF {
+    private static final int INITIAL_LENGTH = 128;
+    private static final int ARRAY_IDX = 0;
+    private static final int WEIGHTS_IDX = 1;
+    private static final int K_IDX = 2;
+    private static final int SEED_IDX = 3;
+    private static final int MIN_ARG_COUNT = 3; // Number of arguments to this UDF
+    private static final int MAX_ARG_COUNT = 4;
+    private transient ListObjectInspector arrayOI;
+    private transient ObjectInspector arrayElementOI;
+    private transient ArrayAccessor weightsAccessor;
+    private transient PrimitiveObjectInspector weightOI;
+    private transient Argument kArgument;
+    private long[] keys = new long[INITIAL_LENGTH];
+    private final transient ArrayList<Object> result = new ArrayList<Object>();
+
+    public UDFArrayWeightedSample() {
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if three or four arguments were passed
+        if (arguments.length < MIN_ARG_COUNT || arguments.length > MAX_ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function array_weighted_sample(array, weights, k[, seed]) takes " + MIN_ARG_COUNT + " or " + MAX_ARG_COUNT + " arguments.");
+        }
+
+        // Check if the array and weights arguments are of category LIST
+        for (int i = ARRAY_IDX; i <= WEIGHTS_IDX; i++) {
+            if (!arguments[i].getCategory().equals(ObjectInspector.Category.LIST)) {
+                throw new UDFArgumentTypeException(i,
+                        "\"" + org.apache.hadoop.hive.serde.serdeConstants.LIST_TYPE_NAME + "\" "
+                                + "expected at function array_weighted_sample, but "
+                                + "\"" + arguments[i].getTypeName() + "\" "
+                                + "is found");
+            }
+        }
+
+        arrayOI = (ListObjectInspector) arguments[ARRAY_IDX];
+        arrayElementOI = arrayOI.getListElementObjectInspector();
+        weightsAccessor = ArrayAccessor.create((ListObjectInspector) arguments[WEIGHTS_IDX]);
+        ArrayReducer.checkNumeric(weightsAccessor, "array_weighted_sample");
+        weightOI = (PrimitiveObjectInspector) weightsAccessor.getElementOI();
+
+        ObjectInspector expectOI = PrimitiveObjectInspectorFactory.writableIntObjectInspector;
+
+        // Check if k is an int
+        if (!ObjectInspectorUtils.compareTypes(expectOI, arguments[K_IDX])) {
+            throw new UDFArgumentTypeException(K_IDX,
+                    "\"" + expectOI.getTypeName() + "\""
+                            + " expected at function array_weighted_sample, but "
+                            + "\"" + arguments[K_IDX].getTypeName() + "\""
+                            + " is found");
+        }
+
+        kArgument = argument(arguments, K_IDX, expectOI);
+        initializeRandom(arguments, SEED_IDX, "array_weighted_sample");
+
+        return ObjectInspectorFactory.getStandardListObjectInspector(arrayElementOI);
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Object array = arguments[ARRAY_IDX].get();
+        Object weights = arguments[WEIGHTS_IDX].get();
+        IntWritable k = (IntWritable) kArgument.get(arguments);
+
+        // Check if an argument is null, or k is negative
+        if (array == null || weights == null || k == null || k.get() < 0) {
+            return null;
+        }
+
+        int arrayLength = arrayOI.getListLength(array);
+        if (weightsAccessor.length(weights) != arrayLength) {
+            throw new HiveException("The function array_weighted_sample expects as many weights as elements, but "
+                    + weightsAccessor.length(weights) + " weights and " + arrayLength + " elements are found");
+        }
+
+        result.clear();
+        int sampleSize = sample(weights, arrayLength, Math.min(k.get(), arrayLength));
+        result.ensureCapacity(sampleSize);
+        for (int i = 0; i < sampleSize; i++) {
+            result.add(arrayOI.getListElement(array, positions[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Efraimidis-Spirakis sampling: every element with a positive weight w gets the key
+     * {@code log(u) / w} for a uniform u in (0, 1], and the capacity largest keys are kept in a
+     * {@link KeyHeap}. One random number is drawn per weighted element.
+     *
+     * @return sample size; {@code positions[0, size)} holds the sample, largest key first
+     */
+    private int sample(Object weights, int length, int capacity) {
+        if (positions.length < capacity) {
+            positions = new int[capacity];
+            keys = new long[capacity];
+        }
+        if (capacity == 0) {
+            return 0;
+        }
+
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            Object weight = weightsAccessor.get(weights, i);
+            if (weight == null) {
+                continue;
+            }
+            double w = PrimitiveObjectInspectorUtils.getDouble(weight, weightOI);
+            if (!(w > 0.0d)) {
+                continue;
+            }
+            double key = Math.log(1.0d - random.nextDouble()) / w;
+            size = KeyHeap.offer(keys, positions, size, capacity, KeyHeap.doubleKey(key), i);
+        }
+
+        // largest key first
+        KeyHeap.sortDescending(keys, positions, size);
+        return size;
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        return getStandardDisplayString("array_weighted_sample", strings);
+    }
+}
@@ -0,0 +1,48 @@
+package io.datadynamics.hive.udf.array.vector;
+
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+
+/**
+ * Vectorized array_contains as a filter, for arrays of double and float.
+ */
+public class FilterListContainsDoubleScalar extends FilterListScalar {
+    private static final long serialVersionUID = 1L;
+
+    private final double value;
+
+    public FilterListContainsDoubleScalar(int listColumnNum, double value) {
+        super(listColumnNum);
+        this.value = value;
+    }
+
+    public FilterListContainsDoubleScalar() {
+        super();
+        // dummy final assignments
+        this.value = 0.0d;
+    }
+
+    @Override
+    protected int indexOf(ColumnVector child, int offset, int length) {
+        return indexOfDouble((DoubleColumnVector) child, offset, length, value);
+    }
+
+    @Override
+    protected String scalarParamString() {
+        return String.valueOf(value);
+    }
+
+    @Override
+    public VectorExpressionDescriptor.Descriptor getDescriptor() {
+        return new VectorExpressionDescriptor.Builder()
+                .setMode(VectorExpressionDescriptor.Mode.FILTER)
+                .setNumArguments(2)
+                .setArgumentTypes(
+                        VectorExpressionDescriptor.ArgumentType.LIST,
+                        VectorExpressionDescriptor.ArgumentType.FLOAT_FAMILY)
+                .setInputExpressionTypes(
+                        VectorExpressionDescriptor.InputExpressionType.COLUMN,
+                        VectorExpressionDescriptor.InputExpressionType.SCALAR).build();
+    }
+}
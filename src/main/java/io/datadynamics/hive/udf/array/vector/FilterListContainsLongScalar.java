@@ -0,0 +1,48 @@
+package io.datadynamics.hive.udf.array.vector;
+
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+
+/**
+ * Vectorized array_contains as a filter, for arrays of int, bigint, smallint, tinyint and boolean.
+ */
+public class FilterListContainsLongScalar extends FilterListScalar {
+    private static final long serialVersionUID = 1L;
+
+    private final long value;
+
+    public FilterListContainsLongScalar(int listColumnNum, long value) {
+        super(listColumnNum);
+        this.value = value;
+    }
+
+    public FilterListContainsLongScalar() {
+        super();
+        // dummy final assignments
+        this.value = 0;
+    }
+
+    @Override
+    protected int indexOf(ColumnVector child, int offset, int length) {
+        return indexOfLong((LongColumnVector) child, offset, length, value);
+    }
+
+    @Override
+    protected String scalarParamString() {
+        return String.valueOf(value);
+    }
+
+    @Override
+    public VectorExpressionDescriptor.Descriptor getDescriptor() {
+        return new VectorExpressionDescriptor.Builder()
+                .setMode(VectorExpressionDescriptor.Mode.FILTER)
+                .setNumArguments(2)
+                .setArgumentTypes(
+                        VectorExpressionDescriptor.ArgumentType.LIST,
+                        VectorExpressionDescriptor.ArgumentType.INT_FAMILY)
+                .setInputExpressionTypes(
+                        VectorExpressionDescriptor.InputExpressionType.COLUMN,
+                        VectorExpressionDescriptor.InputExpressionType.SCALAR).build();
+    }
+}
@@ -0,0 +1,48 @@
+package io.datadynamics.hive.udf.array.vector;
+
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+
+/**
+ * Vectorized array_contains as a filter, for arrays of string.
+ */
+public class FilterListContainsStringScalar extends FilterListScalar {
+    private static final long serialVersionUID = 1L;
+
+    private final byte[] value;
+
+    public FilterListContainsStringScalar(int listColumnNum, byte[] value) {
+        super(listColumnNum);
+        this.value = value;
+    }
+
+    public FilterListContainsStringScalar() {
+        super();
+        // dummy final assignments
+        this.value = null;
+    }
+
+    @Override
+    protected int indexOf(ColumnVector child, int offset, int length) {
+        return indexOfBytes((BytesColumnVector) child, offset, length, value);
+    }
+
+    @Override
+    protected String scalarParamString() {
+        return displayUtf8Bytes(value);
+    }
+
+    @Override
+    public VectorExpressionDescriptor.Descriptor getDescriptor() {
+        return new VectorExpressionDescriptor.Builder()
+                .setMode(VectorExpressionDescriptor.Mode.FILTER)
+                .setNumArguments(2)
+                .setArgumentTypes(
+                        VectorExpressionDescriptor.ArgumentType.LIST,
+                        VectorExpressionDescriptor.ArgumentType.STRING)
+                .setInputExpressionTypes(
+                        VectorExpressionDescriptor.InputExpressionType.COLUMN,
+                        VectorExpressionDescriptor.InputExpressionType.SCALAR).build();
+    }
+}
@@ -0,0 +1,63 @@
+package io.datadynamics.hive.udf.array.vector;
+
+import org.apache.hadoop.hive.ql.exec.vector.ListColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+
+/**
+ * Keeps the rows whose list contains the scalar.
+ */
+public abstract class FilterListScalar extends ListScalarSearch {
+    private static final long serialVersionUID = 1L;
+
+    protected FilterListScalar(int listColumnNum) {
+        super(listColumnNum, -1);
+    }
+
+    protected FilterListScalar() {
+        super();
+    }
+
+    @Override
+    public void evaluate(VectorizedRowBatch batch) throws HiveException {
+        if (childExpressions != null) {
+            evaluateChildren(batch);
+        }
+
+        int n = batch.size;
+        if (n == 0) {
+            return;
+        }
+
+        ListColumnVector listV = (ListColumnVector) batch.cols[listColumnNum];
+
+        if (listV.isRepeating) {
+            if (indexOf(listV, 0) < 0) {
+                batch.size = 0;
+            }
+            return;
+        }
+
+        int[] sel = batch.selected;
+        int newSize = 0;
+        if (batch.selectedInUse) {
+            for (int j = 0; j < n; j++) {
+                int i = sel[j];
+                if (indexOf(listV, i) >= 0) {
+                    sel[newSize++] = i;
+                }
+            }
+            batch.size = newSize;
+        } else {
+            for (int i = 0; i < n; i++) {
+                if (indexOf(listV, i) >= 0) {
+                    sel[newSize++] = i;
+                }
+            }
+            if (newSize < n) {
+                batch.size = newSize;
+                batch.selectedInUse = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.datadynamics.hive.udf.array.vector;
+
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+
+/**
+ * Vectorized array_contains: 1 if the list contains the scalar, else 0, for arrays of double and float.
+ */
+public class ListContainsDoubleScalar extends ListScalarProjection {
+    private static final long serialVersionUID = 1L;
+
+    private final double value;
+
+    public ListContainsDoubleScalar(int listColumnNum, double value, int outputColumnNum) {
+        super(listColumnNum, outputColumnNum);
+        this.value = value;
+    }
+
+    public ListContainsDoubleScalar() {
+        super();
+        // dummy final assignments
+        this.value = 0.0d;
+    }
+
+    @Override
+    protected int indexOf(ColumnVector child, int offset, int length) {
+        return indexOfDouble((DoubleColumnVector) child, offset, length, value);
+    }
+
+    @Override
+    protected long result(int index) {
+        return index >= 0 ? 1L : 0L;
+    }
+
+    @Override
+    protected String scalarParamString() {
+        return String.valueOf(value);
+    }
+
+    @Override
+    public VectorExpressionDescriptor.Descriptor getDescriptor() {
+        return new VectorExpressionDescriptor.Builder()
+                .setMode(VectorExpressionDescriptor.Mode.PROJECTION)
+                .setNumArguments(2)
+                .setArgumentTypes(
+                        VectorExpressionDescriptor.ArgumentType.LIST,
+                        VectorExpressionDescriptor.ArgumentType.FLOAT_FAMILY)
+                .setInputExpressionTypes(
+                        VectorExpressionDescriptor.InputExpressionType.COLUMN,
+                        VectorExpressionDescriptor.InputExpressionType.SCALAR).build();
+    }
+}
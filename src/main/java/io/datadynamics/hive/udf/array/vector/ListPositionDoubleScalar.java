@@ -0,0 +1,53 @@
+package io.datadynamics.hive.udf.array.vector;
+
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+
+/**
+ * Vectorized array_position: 1-based position of the first occurrence of the scalar, else 0, for arrays of double and float.
+ */
+public class ListPositionDoubleScalar extends ListScalarProjection {
+    private static final long serialVersionUID = 1L;
+
+    private final double value;
+
+    public ListPositionDoubleScalar(int listColumnNum, double value, int outputColumnNum) {
+        super(listColumnNum, outputColumnNum);
+        this.value = value;
+    }
+
+    public ListPositionDoubleScalar() {
+        super();
+        // dummy final assignments
+        this.value = 0.0d;
+    }
+
+    @Override
+    protected int indexOf(ColumnVector child, int offset, int length) {
+        return indexOfDouble((DoubleColumnVector) child, offset, length, value);
+    }
+
+    @Override
+    protected long result(int index) {
+        return index + 1L;
+    }
+
+    @Override
+    protected String scalarParamString() {
+        return String.valueOf(value);
+    }
+
+    @Override
+    public VectorExpressionDescriptor.Descriptor getDescriptor() {
+        return new VectorExpressionDescriptor.Builder()
+                .setMode(VectorExpressionDescriptor.Mode.PROJECTION)
+                .setNumArguments(2)
+                .setArgumentTypes(
+                        VectorExpressionDescriptor.ArgumentType.LIST,
+                        VectorExpressionDescriptor.ArgumentType.FLOAT_FAMILY)
+                .setInputExpressionTypes(
+                        VectorExpressionDescriptor.InputExpressionType.COLUMN,
+                        VectorExpressionDescriptor.InputExpressionType.SCALAR).build();
+    }
+}
@@ -0,0 +1,53 @@
+package io.datadynamics.hive.udf.array.vector;
+
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+
+/**
+ * Vectorized array_position: 1-based position of the first occurrence of the scalar, else 0, for arrays of int, bigint, smallint, tinyint and boolean.
+ */
+public class ListPositionLongScalar extends ListScalarProjection {
+    private static final long serialVersionUID = 1L;
+
+    private final long value;
+
+    public ListPositionLongScalar(int listColumnNum, long value, int outputColumnNum) {
+        super(listColumnNum, outputColumnNum);
+        this.value = value;
+    }
+
+    public ListPositionLongScalar() {
+        super();
+        // dummy final assignments
+        this.value = 0;
+    }
+
+    @Override
+    protected int indexOf(ColumnVector child, int offset, int length) {
+        return indexOfLong((LongColumnVector) child, offset, length, value);
+    }
+
+    @Override
+    protected long result(int index) {
+        return index + 1L;
+    }
+
+    @Override
+    protected String scalarParamString() {
+        return String.valueOf(value);
+    }
+
+    @Override
+    public VectorExpressionDescriptor.Descriptor getDescriptor() {
+        return new VectorExpressionDescriptor.Builder()
+                .setMode(VectorExpressionDescriptor.Mode.PROJECTION)
+                .setNumArguments(2)
+                .setArgumentTypes(
+                        VectorExpressionDescriptor.ArgumentType.LIST,
+                        VectorExpressionDescriptor.ArgumentType.INT_FAMILY)
+                .setInputExpressionTypes(
+                        VectorExpressionDescriptor.InputExpressionType.COLUMN,
+                        VectorExpressionDescriptor.InputExpressionType.SCALAR).build();
+    }
+}
@@ -0,0 +1,53 @@
+package io.datadynamics.hive.udf.array.vector;
+
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+
+/**
+ * Vectorized array_position: 1-based position of the first occurrence of the scalar, else 0, for arrays of string.
+ */
+public class ListPositionStringScalar extends ListScalarProjection {
+    private static final long serialVersionUID = 1L;
+
+    private final byte[] value;
+
+    public ListPositionStringScalar(int listColumnNum, byte[] value, int outputColumnNum) {
+        super(listColumnNum, outputColumnNum);
+        this.value = value;
+    }
+
+    public ListPositionStringScalar() {
+        super();
+        // dummy final assignments
+        this.value = null;
+    }
+
+    @Override
+    protected int indexOf(ColumnVector child, int offset, int length) {
+        return indexOfBytes((BytesColumnVector) child, offset, length, value);
+    }
+
+    @Override
+    protected long result(int index) {
+        return index + 1L;
+    }
+
+    @Override
+    protected String scalarParamString() {
+        return displayUtf8Bytes(value);
+    }
+
+    @Override
+    public VectorExpressionDescriptor.Descriptor getDescriptor() {
+        return new VectorExpressionDescriptor.Builder()
+                .setMode(VectorExpressionDescriptor.Mode.PROJECTION)
+                .setNumArguments(2)
+                .setArgumentTypes(
+                        VectorExpressionDescriptor.ArgumentType.LIST,
+                        VectorExpressionDescriptor.ArgumentType.STRING)
+                .setInputExpressionTypes(
+                        VectorExpressionDescriptor.InputExpressionType.COLUMN,
+                        VectorExpressionDescriptor.InputExpressionType.SCALAR).build();
+    }
+}
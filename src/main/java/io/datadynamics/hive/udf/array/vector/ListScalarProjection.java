@@ -0,0 +1,66 @@
+package io.datadynamics.hive.udf.array.vector;
+
+import org.apache.hadoop.hive.ql.exec.vector.ListColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+
+/**
+ * Writes a long per row from the index of the scalar in the list. The output is never null: a null
+ * list is treated as one that does not contain the scalar, as the row-mode functions do.
+ */
+public abstract class ListScalarProjection extends ListScalarSearch {
+    private static final long serialVersionUID = 1L;
+
+    protected ListScalarProjection(int listColumnNum, int outputColumnNum) {
+        super(listColumnNum, outputColumnNum);
+    }
+
+    protected ListScalarProjection() {
+        super();
+    }
+
+    /**
+     * @param index index of the scalar in the list, or -1
+     */
+    protected abstract long result(int index);
+
+    @Override
+    public void evaluate(VectorizedRowBatch batch) throws HiveException {
+        if (childExpressions != null) {
+            evaluateChildren(batch);
+        }
+
+        int n = batch.size;
+        if (n == 0) {
+            return;
+        }
+
+        ListColumnVector listV = (ListColumnVector) batch.cols[listColumnNum];
+        LongColumnVector outV = (LongColumnVector) batch.cols[outputColumnNum];
+        long[] outputVector = outV.vector;
+        boolean[] outputIsNull = outV.isNull;
+
+        if (listV.isRepeating) {
+            outputVector[0] = result(indexOf(listV, 0));
+            outputIsNull[0] = false;
+            outV.isRepeating = true;
+            return;
+        }
+
+        outV.isRepeating = false;
+        if (batch.selectedInUse) {
+            int[] sel = batch.selected;
+            for (int j = 0; j < n; j++) {
+                int i = sel[j];
+                outputVector[i] = result(indexOf(listV, i));
+                outputIsNull[i] = false;
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                outputVector[i] = result(indexOf(listV, i));
+                outputIsNull[i] = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.datadynamics.hive.udf.array.vector;
+
+import io.datadynamics.hive.udf.utils.ArrayAccessor;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ListColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.expressions.StringExpr;
+import org.apache.hadoop.hive.ql.exec.vector.expressions.VectorExpression;
+
+/**
+ * Base of the vectorized array_contains / array_position expressions: finds a scalar in every list
+ * of a {@link ListColumnVector}. Subclasses bind the scalar to the child column vector type.
+ */
+public abstract class ListScalarSearch extends VectorExpression {
+    private static final long serialVersionUID = 1L;
+
+    protected final int listColumnNum;
+
+    protected ListScalarSearch(int listColumnNum, int outputColumnNum) {
+        super(outputColumnNum);
+        this.listColumnNum = listColumnNum;
+    }
+
+    protected ListScalarSearch() {
+        super();
+        // dummy final assignments
+        this.listColumnNum = -1;
+    }
+
+    /**
+     * @return index of the first child element in [offset, offset + length) equal to the scalar, or -1
+     */
+    protected abstract int indexOf(ColumnVector child, int offset, int length);
+
+    /**
+     * @return index of the scalar in the list of the given row, or -1 if the list is null or does not contain it
+     */
+    protected final int indexOf(ListColumnVector list, int row) {
+        if (!list.noNulls && list.isNull[row]) {
+            return -1;
+        }
+        return indexOf(list.child, (int) list.offsets[row], (int) list.lengths[row]);
+    }
+
+    protected static boolean isNull(ColumnVector child, int index) {
+        return !child.noNulls && child.isNull[child.isRepeating ? 0 : index];
+    }
+
+    protected static int indexOfLong(LongColumnVector child, int offset, int length, long value) {
+        long[] vector = child.vector;
+        boolean repeating = child.isRepeating;
+        for (int i = 0; i < length; i++) {
+            int index = repeating ? 0 : offset + i;
+            if (vector[index] == value && !isNull(child, index)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    protected static int indexOfDouble(DoubleColumnVector child, int offset, int length, double value) {
+        double[] vector = child.vector;
+        boolean repeating = child.isRepeating;
+        for (int i = 0; i < length; i++) {
+            int index = repeating ? 0 : offset + i;
+            if (ArrayAccessor.DoubleAccessor.compareDoubles(vector[index], value) == 0 && !isNull(child, index)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    protected static int indexOfBytes(BytesColumnVector child, int offset, int length, byte[] value) {
+        byte[][] vector = child.vector;
+        int[] start = child.start;
+        int[] lengths = child.length;
+        boolean repeating = child.isRepeating;
+        for (int i = 0; i < length; i++) {
+            int index = repeating ? 0 : offset + i;
+            if (lengths[index] == value.length && !isNull(child, index)
+                    && StringExpr.equal(vector[index], start[index], lengths[index], value, 0, value.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String vectorExpressionParameters() {
+        return getColumnParamString(0, listColumnNum) + ", val " + scalarParamString();
+    }
+
+    protected abstract String scalarParamString();
+}
@@ -1,11 +1,11 @@
 package io.datadynamics.hive.udf.custom;
 
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
 import org.apache.hadoop.hive.ql.exec.Description;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
 import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
 import org.apache.hadoop.hive.ql.metadata.HiveException;
-import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.serde2.objectinspector.MapObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorConverters;
@@ -31,11 +31,9 @@ import org.apache.hadoop.hive.serde2.typeinfo.PrimitiveTypeInfo;
                 + "  > SELECT map_get_or_default(map(), 'UNITNM', 'None');              -- 'None'\n"
                 + "  > SELECT map_get_or_default(NULL, 'UNITNM', 'None');               -- 'None'\n"
 )
-public class GenericUDFMapGetOrDefault extends GenericUDF {
+public class GenericUDFMapGetOrDefault extends ConstantArgumentUDF {
 
     private transient MapObjectInspector mapOI;
-    private transient ObjectInspector keyArgOI;
-    private transient ObjectInspector defaultArgOI;
 
     private transient PrimitiveObjectInspector mapKeyPIO;
     private transient PrimitiveObjectInspector mapValPIO;
@@ -43,9 +41,9 @@ public class GenericUDFMapGetOrDefault extends GenericUDF {
     private transient ObjectInspector keyTargetJavaOI;   // map key의 Java OI
     private transient ObjectInspector returnJavaOI;      // map value의 Java OI (반환 타입)
 
-    private transient ObjectInspectorConverters.Converter keyConverter;      // key -> map key 타입
+    private transient Argument keyArgument;        // key -> map key 타입 (상수이면 initialize()에서 한 번만 변환)
+    private transient Argument defaultArgument;    // default arg -> return 타입(Java) (상수이면 한 번만 변환)
     private transient ObjectInspectorConverters.Converter valueConverter;    // map value -> return 타입(Java)
-    private transient ObjectInspectorConverters.Converter defaultConverter;  // default arg -> return 타입(Java)
 
     @Override
     public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
@@ -69,12 +67,6 @@ public class GenericUDFMapGetOrDefault extends GenericUDF {
         mapKeyPIO = (PrimitiveObjectInspector) mapOI.getMapKeyObjectInspector();
         mapValPIO = (PrimitiveObjectInspector) mapOI.getMapValueObjectInspector();
 
-        // arg1: key (임의 타입이지만 map key 타입으로 변환 가능해야 함)
-        keyArgOI = arguments[1];
-
-        // arg2: default (임의 타입이지만 map value 타입으로 변환 가능해야 함)
-        defaultArgOI = arguments[2];
-
         // 반환 OI: map value의 Java OI
         PrimitiveTypeInfo valTypeInfo = (PrimitiveTypeInfo) mapValPIO.getTypeInfo();
         returnJavaOI = PrimitiveObjectInspectorFactory.getPrimitiveJavaObjectInspector(valTypeInfo);
@@ -84,9 +76,11 @@ public class GenericUDFMapGetOrDefault extends GenericUDF {
         keyTargetJavaOI = PrimitiveObjectInspectorFactory.getPrimitiveJavaObjectInspector(keyTypeInfo);
 
         // 컨버터 준비
-        keyConverter = ObjectInspectorConverters.getConverter(keyArgOI, keyTargetJavaOI);
+        // arg1: key (임의 타입이지만 map key 타입으로 변환 가능해야 함)
+        keyArgument = argument(arguments, 1, keyTargetJavaOI);
+        // arg2: default (임의 타입이지만 map value 타입으로 변환 가능해야 함)
+        defaultArgument = argument(arguments, 2, returnJavaOI);
         valueConverter = ObjectInspectorConverters.getConverter(mapValPIO, returnJavaOI);
-        defaultConverter = ObjectInspectorConverters.getConverter(defaultArgOI, returnJavaOI);
 
         return (ObjectInspector) returnJavaOI;
     }
@@ -94,13 +88,11 @@ public class GenericUDFMapGetOrDefault extends GenericUDF {
     @Override
     public Object evaluate(DeferredObject[] arguments) throws HiveException {
         Object mapObj = arguments[0].get();
-        Object keyObj = arguments[1].get();
-        Object defObj = arguments[2].get();
 
         // 기본값을 미리 변환
         Object defVal;
         try {
-            defVal = defaultConverter.convert(defObj);
+            defVal = defaultArgument.get(arguments);
         } catch (Exception e) {
             // default 변환 자체가 실패하면 NULL 반환(Presto TRY 유사)
             defVal = null;
@@ -112,7 +104,7 @@ public class GenericUDFMapGetOrDefault extends GenericUDF {
 
         Object convKey;
         try {
-            convKey = keyConverter.convert(keyObj);
+            convKey = keyArgument.get(arguments);
         } catch (Exception e) {
             // key 변환 실패 -> default
             return defVal;
@@ -0,0 +1,133 @@
+package io.datadynamics.hive.udf.fastuitl.bytes;
+
+import org.apache.hadoop.io.WritableComparator;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing (linear probing) set of byte sequences, such as the UTF-8 bytes of a Text.
+ * <p>
+ * Added keys are copied into one shared byte arena, and are numbered by insertion order like
+ * {@link io.datadynamics.hive.udf.fastuitl.longs.LongOpenHashSet}.
+ */
+public class BytesOpenHashSet {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private byte[] arena = new byte[256];
+    private int arenaLength;
+    private int[] offsets = new int[DEFAULT_CAPACITY];
+    private int[] lengths = new int[DEFAULT_CAPACITY];
+    private int[] hashes = new int[DEFAULT_CAPACITY];
+    private int[] slots = new int[DEFAULT_CAPACITY];
+    private int[] table = new int[DEFAULT_CAPACITY * 2];
+    private int mask = table.length - 1;
+    private int size;
+
+    public static int hash(byte[] bytes, int offset, int length) {
+        int h = WritableComparator.hashBytes(bytes, offset, length);
+        return h ^ (h >>> 16);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] arena() {
+        return arena;
+    }
+
+    public int offset(int ordinal) {
+        return offsets[ordinal];
+    }
+
+    public int length(int ordinal) {
+        return lengths[ordinal];
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            table[slots[i]] = 0;
+        }
+        size = 0;
+        arenaLength = 0;
+    }
+
+    private boolean equalsAt(int ordinal, byte[] bytes, int offset, int length) {
+        return lengths[ordinal] == length
+                && WritableComparator.compareBytes(arena, offsets[ordinal], length, bytes, offset, length) == 0;
+    }
+
+    /**
+     * @return ordinal of the key, or -1 if absent
+     */
+    public int find(byte[] bytes, int offset, int length) {
+        int h = hash(bytes, offset, length);
+        int pos = h & mask;
+        int entry;
+        while ((entry = table[pos]) != 0) {
+            int ordinal = entry - 1;
+            if (hashes[ordinal] == h && equalsAt(ordinal, bytes, offset, length)) {
+                return ordinal;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    public boolean contains(byte[] bytes, int offset, int length) {
+        return find(bytes, offset, length) >= 0;
+    }
+
+    /**
+     * @return ordinal of the key if it was added, or {@code -(ordinal + 1)} if it was already present
+     */
+    public int add(byte[] bytes, int offset, int length) {
+        int h = hash(bytes, offset, length);
+        int pos = h & mask;
+        int entry;
+        while ((entry = table[pos]) != 0) {
+            int ordinal = entry - 1;
+            if (hashes[ordinal] == h && equalsAt(ordinal, bytes, offset, length)) {
+                return -entry;
+            }
+            pos = (pos + 1) & mask;
+        }
+
+        int ordinal = size++;
+        if (ordinal == offsets.length) {
+            int capacity = ordinal * 2;
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            slots = Arrays.copyOf(slots, capacity);
+        }
+        if (arenaLength + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaLength + length));
+        }
+        System.arraycopy(bytes, offset, arena, arenaLength, length);
+        offsets[ordinal] = arenaLength;
+        lengths[ordinal] = length;
+        hashes[ordinal] = h;
+        slots[ordinal] = pos;
+        arenaLength += length;
+        table[pos] = ordinal + 1;
+
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return ordinal;
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        mask = capacity - 1;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            int pos = hashes[ordinal] & mask;
+            while (table[pos] != 0) {
+                pos = (pos + 1) & mask;
+            }
+            table[pos] = ordinal + 1;
+            slots[ordinal] = pos;
+        }
+    }
+}
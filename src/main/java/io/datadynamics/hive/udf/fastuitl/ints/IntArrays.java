@@ -1,22 +1,34 @@
 package io.datadynamics.hive.udf.fastuitl.ints;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 public class IntArrays {
-    private static void selectionSort(int[] a, int from, int to, IntComparator comp) {
-        for (int i = from; i < to - 1; ++i) {
-            int m = i;
-
-            int u;
-            for (u = i + 1; u < to; ++u) {
-                if (comp.compare(a[u], a[m]) < 0) {
-                    m = u;
-                }
-            }
+    private static final int DIGIT_BITS = 8;
+    private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+    private static final int DIGITS_PER_ELEMENT = Integer.SIZE / DIGIT_BITS;
+    private static final int RADIXSORT_NO_REC = 256;
+    /** Size of the digit count buffer taken by {@link #radixSort(int[], int, int, int[], int[])}. */
+    public static final int RADIX_COUNT_SIZE = 1 << DIGIT_BITS;
+    private static final int QUICKSORT_NO_REC = 16;
+    private static final int MEDIAN_OF_9 = 128;
+
+    private static volatile int parallelSortThreshold =
+            Integer.getInteger("io.datadynamics.hive.udf.parallelSortThreshold", 8192);
 
-            if (m != i) {
-                u = a[i];
-                a[i] = a[m];
-                a[m] = u;
+    private static void insertionSort(int[] a, int from, int to, IntComparator comp) {
+        for (int i = from + 1; i < to; ++i) {
+            int t = a[i];
+            int j = i;
+            for (int u = a[j - 1]; comp.compare(t, u) < 0; u = a[--j - 1]) {
+                a[j] = u;
+                if (from == j - 1) {
+                    --j;
+                    break;
+                }
             }
+            a[j] = t;
         }
     }
 
@@ -27,10 +39,8 @@ public class IntArrays {
     }
 
     private static void vecSwap(int[] x, int a, int b, int n) {
-        for (int i = 0; i < n; ++b) {
+        for (int i = 0; i < n; ++i, ++a, ++b) {
             swap(x, a, b);
-            ++i;
-            ++a;
         }
     }
 
@@ -41,68 +51,214 @@ public class IntArrays {
         return ab < 0 ? (bc < 0 ? b : (ac < 0 ? c : a)) : (bc > 0 ? b : (ac > 0 ? c : a));
     }
 
-    public static void quickSort(int[] x, int from, int to, IntComparator comp) {
+    /**
+     * Three-way partitions the range around a pseudo-median. Elements equal to the pivot end up in
+     * the middle; the returned value packs the length of the smaller-than part in the high 32 bits
+     * and the length of the greater-than part in the low 32 bits. The former starts at
+     * {@code from}, the latter ends at {@code to}.
+     */
+    private static long partition(int[] x, int from, int to, IntComparator comp) {
         int len = to - from;
-        if (len < 7) {
-            selectionSort(x, from, to, comp);
-        } else {
-            int m = from + len / 2;
-            int v;
-            int a;
-            int b;
-            if (len > 7) {
-                v = from;
-                a = to - 1;
-                if (len > 50) {
-                    b = len / 8;
-                    v = med3(x, from, from + b, from + 2 * b, comp);
-                    m = med3(x, m - b, m, m + b, comp);
-                    a = med3(x, a - 2 * b, a - b, a, comp);
+        int m = from + len / 2;
+        int l = from;
+        int n = to - 1;
+        if (len > MEDIAN_OF_9) {
+            int s = len / 8;
+            l = med3(x, l, l + s, l + 2 * s, comp);
+            m = med3(x, m - s, m, m + s, comp);
+            n = med3(x, n - 2 * s, n - s, n, comp);
+        }
+        m = med3(x, l, m, n, comp);
+
+        int v = x[m];
+        int a = from;
+        int b = a;
+        int c = to - 1;
+        int d = c;
+        while (true) {
+            int comparison;
+            while (b <= c && (comparison = comp.compare(x[b], v)) <= 0) {
+                if (comparison == 0) {
+                    swap(x, a++, b);
+                }
+                b++;
+            }
+            while (c >= b && (comparison = comp.compare(x[c], v)) >= 0) {
+                if (comparison == 0) {
+                    swap(x, c, d--);
                 }
+                c--;
+            }
+            if (b > c) {
+                break;
+            }
+            swap(x, b++, c--);
+        }
+
+        int s = Math.min(a - from, b - a);
+        vecSwap(x, from, b - s, s);
+        s = Math.min(d - c, to - d - 1);
+        vecSwap(x, b, to - s, s);
+        return ((long) (b - a) << 32) | (d - c);
+    }
+
+    public static void quickSort(int[] x, int from, int to, IntComparator comp) {
+        int len = to - from;
+        if (len < QUICKSORT_NO_REC) {
+            insertionSort(x, from, to, comp);
+            return;
+        }
+
+        long lengths = partition(x, from, to, comp);
+        int s = (int) (lengths >>> 32);
+        if (s > 1) {
+            quickSort(x, from, from + s, comp);
+        }
+        s = (int) lengths;
+        if (s > 1) {
+            quickSort(x, to - s, to, comp);
+        }
+    }
+
+    /**
+     * @return minimum range length for which {@link #parallelQuickSort} forks
+     */
+    public static int getParallelSortThreshold() {
+        return parallelSortThreshold;
+    }
+
+    /**
+     * Sets the minimum range length for which {@link #parallelQuickSort} forks; smaller ranges,
+     * and every range when the common pool has a single worker, are sorted sequentially.
+     */
+    public static void setParallelSortThreshold(int threshold) {
+        if (threshold < QUICKSORT_NO_REC) {
+            throw new IllegalArgumentException("Parallel sort threshold must be at least " + QUICKSORT_NO_REC + ": " + threshold);
+        }
+        parallelSortThreshold = threshold;
+    }
 
-                m = med3(x, v, m, a, comp);
+    /**
+     * Sorts the range like {@link #quickSort}, forking partitions on the common fork/join pool
+     * while they are at least {@link #getParallelSortThreshold()} long. The comparator is called
+     * concurrently and must not keep mutable state.
+     */
+    public static void parallelQuickSort(int[] x, int from, int to, IntComparator comp) {
+        int threshold = parallelSortThreshold;
+        if (to - from < threshold || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            quickSort(x, from, to, comp);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new ForkJoinQuickSort(x, from, to, comp, threshold));
+    }
+
+    private static final class ForkJoinQuickSort extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] x;
+        private final int from;
+        private final int to;
+        private final IntComparator comp;
+        private final int threshold;
+
+        ForkJoinQuickSort(int[] x, int from, int to, IntComparator comp, int threshold) {
+            this.x = x;
+            this.from = from;
+            this.to = to;
+            this.comp = comp;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from < threshold) {
+                quickSort(x, from, to, comp);
+                return;
             }
 
-            v = x[m];
-            a = from;
-            b = from;
-            int c = to - 1;
-            int d = c;
-
-            while (true) {
-                int s;
-                while (b > c || (s = comp.compare(x[b], v)) > 0) {
-                    for (; c >= b && (s = comp.compare(x[c], v)) >= 0; --c) {
-                        if (s == 0) {
-                            swap(x, c, d--);
-                        }
-                    }
-
-                    if (b > c) {
-                        s = Math.min(a - from, b - a);
-                        vecSwap(x, from, b - s, s);
-                        s = Math.min(d - c, to - d - 1);
-                        vecSwap(x, b, to - s, s);
-                        if ((s = b - a) > 1) {
-                            quickSort(x, from, from + s, comp);
-                        }
-
-                        if ((s = d - c) > 1) {
-                            quickSort(x, to - s, to, comp);
-                        }
-
-                        return;
-                    }
-
-                    swap(x, b++, c--);
-                }
+            long lengths = partition(x, from, to, comp);
+            int left = (int) (lengths >>> 32);
+            int right = (int) lengths;
+            if (left > 1 && right > 1) {
+                invokeAll(new ForkJoinQuickSort(x, from, from + left, comp, threshold),
+                        new ForkJoinQuickSort(x, to - right, to, comp, threshold));
+            } else if (left > 1) {
+                new ForkJoinQuickSort(x, from, from + left, comp, threshold).compute();
+            } else if (right > 1) {
+                new ForkJoinQuickSort(x, to - right, to, comp, threshold).compute();
+            }
+        }
+    }
 
-                if (s == 0) {
-                    swap(x, a++, b);
-                }
+    /**
+     * Sorts the range ascending with an LSD radix sort on 8-bit digits, skipping digits that are
+     * equal for the whole range. Small ranges are handed to {@link Arrays#sort(int[], int, int)}.
+     *
+     * @param scratch buffer of at least {@code to - from} elements
+     */
+    public static void radixSort(int[] a, int from, int to, int[] scratch) {
+        radixSort(a, from, to, scratch, new int[RADIX_COUNT_SIZE]);
+    }
 
-                ++b;
+    /**
+     * Same as {@link #radixSort(int[], int, int, int[])} with a caller-owned digit count buffer, so
+     * callers that sort once per row do not allocate it on every call.
+     *
+     * @param count buffer of at least {@link #RADIX_COUNT_SIZE} elements
+     */
+    public static void radixSort(int[] a, int from, int to, int[] scratch, int[] count) {
+        int len = to - from;
+        if (len < RADIXSORT_NO_REC) {
+            Arrays.sort(a, from, to);
+            return;
+        }
+
+        int[] src = a;
+        int srcFrom = from;
+        int[] dst = scratch;
+        int dstFrom = 0;
+        for (int digit = 0; digit < DIGITS_PER_ELEMENT; digit++) {
+            int shift = digit * DIGIT_BITS;
+            // flip the sign bit on the most significant digit so negatives sort first
+            int flip = digit == DIGITS_PER_ELEMENT - 1 ? Integer.MIN_VALUE : 0;
+
+            Arrays.fill(count, 0, RADIX_COUNT_SIZE, 0);
+            for (int i = srcFrom; i < srcFrom + len; i++) {
+                count[((src[i] ^ flip) >>> shift) & DIGIT_MASK]++;
+            }
+            if (count[((src[srcFrom] ^ flip) >>> shift) & DIGIT_MASK] == len) {
+                continue;
+            }
+
+            int position = dstFrom;
+            for (int i = 0; i < RADIX_COUNT_SIZE; i++) {
+                int c = count[i];
+                count[i] = position;
+                position += c;
             }
+            for (int i = srcFrom; i < srcFrom + len; i++) {
+                int value = src[i];
+                dst[count[((value ^ flip) >>> shift) & DIGIT_MASK]++] = value;
+            }
+
+            int[] swapArray = src;
+            src = dst;
+            dst = swapArray;
+            int swapFrom = srcFrom;
+            srcFrom = dstFrom;
+            dstFrom = swapFrom;
+        }
+
+        if (src != a) {
+            System.arraycopy(src, srcFrom, a, from, len);
+        }
+    }
+
+    public static void reverse(int[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
         }
     }
 }
@@ -0,0 +1,88 @@
+package io.datadynamics.hive.udf.fastuitl.longs;
+
+import java.util.Arrays;
+
+public class LongArrays {
+    private static final int DIGIT_BITS = 8;
+    private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+    private static final int DIGITS_PER_ELEMENT = Long.SIZE / DIGIT_BITS;
+    private static final int RADIXSORT_NO_REC = 256;
+    /** Size of the digit count buffer taken by {@link #radixSort(long[], int, int, long[], int[])}. */
+    public static final int RADIX_COUNT_SIZE = 1 << DIGIT_BITS;
+
+    private LongArrays() {
+    }
+
+    /**
+     * Sorts the range ascending with an LSD radix sort on 8-bit digits. Passes over digits that
+     * are equal for the whole range are skipped, so narrow values (ids, epoch millis) take only a
+     * few passes. Small ranges are handed to {@link Arrays#sort(long[], int, int)}.
+     *
+     * @param scratch buffer of at least {@code to - from} elements
+     */
+    public static void radixSort(long[] a, int from, int to, long[] scratch) {
+        radixSort(a, from, to, scratch, new int[RADIX_COUNT_SIZE]);
+    }
+
+    /**
+     * Same as {@link #radixSort(long[], int, int, long[])} with a caller-owned digit count buffer, so
+     * callers that sort once per row do not allocate it on every call.
+     *
+     * @param count buffer of at least {@link #RADIX_COUNT_SIZE} elements
+     */
+    public static void radixSort(long[] a, int from, int to, long[] scratch, int[] count) {
+        int len = to - from;
+        if (len < RADIXSORT_NO_REC) {
+            Arrays.sort(a, from, to);
+            return;
+        }
+
+        long[] src = a;
+        int srcFrom = from;
+        long[] dst = scratch;
+        int dstFrom = 0;
+        for (int digit = 0; digit < DIGITS_PER_ELEMENT; digit++) {
+            int shift = digit * DIGIT_BITS;
+            // flip the sign bit on the most significant digit so negatives sort first
+            long flip = digit == DIGITS_PER_ELEMENT - 1 ? Long.MIN_VALUE : 0L;
+
+            Arrays.fill(count, 0, RADIX_COUNT_SIZE, 0);
+            for (int i = srcFrom; i < srcFrom + len; i++) {
+                count[(int) (((src[i] ^ flip) >>> shift) & DIGIT_MASK)]++;
+            }
+            if (count[(int) (((src[srcFrom] ^ flip) >>> shift) & DIGIT_MASK)] == len) {
+                continue;
+            }
+
+            int position = dstFrom;
+            for (int i = 0; i < RADIX_COUNT_SIZE; i++) {
+                int c = count[i];
+                count[i] = position;
+                position += c;
+            }
+            for (int i = srcFrom; i < srcFrom + len; i++) {
+                long value = src[i];
+                dst[count[(int) (((value ^ flip) >>> shift) & DIGIT_MASK)]++] = value;
+            }
+
+            long[] swapArray = src;
+            src = dst;
+            dst = swapArray;
+            int swapFrom = srcFrom;
+            srcFrom = dstFrom;
+            dstFrom = swapFrom;
+        }
+
+        if (src != a) {
+            System.arraycopy(src, srcFrom, a, from, len);
+        }
+    }
+
+    public static void reverse(long[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            long t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+}
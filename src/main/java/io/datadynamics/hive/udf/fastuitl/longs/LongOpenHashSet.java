@@ -0,0 +1,119 @@
+package io.datadynamics.hive.udf.fastuitl.longs;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing (linear probing) set of primitive longs.
+ * <p>
+ * Keys are numbered by insertion order ("ordinals"), so callers can keep per-key state in plain
+ * arrays. {@link #clear()} only touches the slots in use, so a set that once grew for a large
+ * array stays cheap to reuse for small ones.
+ */
+public class LongOpenHashSet {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] slots;
+    private int[] table;
+    private int mask;
+    private int size;
+
+    public LongOpenHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongOpenHashSet(int expected) {
+        int capacity = tableSize(expected);
+        table = new int[capacity];
+        mask = capacity - 1;
+        keys = new long[Math.max(expected, DEFAULT_CAPACITY)];
+        slots = new int[keys.length];
+    }
+
+    private static int tableSize(int expected) {
+        // load factor 0.5
+        int capacity = Integer.highestOneBit(Math.max(expected, DEFAULT_CAPACITY / 2) * 2 - 1) << 1;
+        return Math.max(capacity, DEFAULT_CAPACITY);
+    }
+
+    public static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long key(int ordinal) {
+        return keys[ordinal];
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            table[slots[i]] = 0;
+        }
+        size = 0;
+    }
+
+    /**
+     * @return ordinal of the key, or -1 if absent
+     */
+    public int find(long key) {
+        int pos = mix(key) & mask;
+        int entry;
+        while ((entry = table[pos]) != 0) {
+            if (keys[entry - 1] == key) {
+                return entry - 1;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    public boolean contains(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * @return ordinal of the key if it was added, or {@code -(ordinal + 1)} if it was already present
+     */
+    public int add(long key) {
+        int pos = mix(key) & mask;
+        int entry;
+        while ((entry = table[pos]) != 0) {
+            if (keys[entry - 1] == key) {
+                return -entry;
+            }
+            pos = (pos + 1) & mask;
+        }
+
+        int ordinal = size++;
+        if (ordinal == keys.length) {
+            keys = Arrays.copyOf(keys, ordinal * 2);
+            slots = Arrays.copyOf(slots, ordinal * 2);
+        }
+        keys[ordinal] = key;
+        slots[ordinal] = pos;
+        table[pos] = ordinal + 1;
+
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return ordinal;
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        mask = capacity - 1;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            int pos = mix(keys[ordinal]) & mask;
+            while (table[pos] != 0) {
+                pos = (pos + 1) & mask;
+            }
+            table[pos] = ordinal + 1;
+            slots[ordinal] = pos;
+        }
+    }
+}
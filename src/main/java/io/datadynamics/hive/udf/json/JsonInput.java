@@ -0,0 +1,37 @@
+package io.datadynamics.hive.udf.json;
+
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorConverters;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.StringObjectInspector;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Reads a string, varchar or char argument as UTF-8 bytes in a {@link Text}. A string is read as
+ * its writable, which for writable and lazy inputs is the row's own Text: the converter to a
+ * writable string would copy it into another Text first.
+ */
+final class JsonInput {
+    private final StringObjectInspector stringOI;
+    private final ObjectInspectorConverters.Converter converter;
+
+    JsonInput(ObjectInspector inputOI) {
+        if (inputOI instanceof StringObjectInspector) {
+            stringOI = (StringObjectInspector) inputOI;
+            converter = null;
+        } else {
+            stringOI = null;
+            converter = ObjectInspectorConverters.getConverter(inputOI, PrimitiveObjectInspectorFactory.writableStringObjectInspector);
+        }
+    }
+
+    /**
+     * @return the text, which must not be modified, or null
+     */
+    Text get(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return stringOI != null ? stringOI.getPrimitiveWritableObject(value) : (Text) converter.convert(value);
+    }
+}
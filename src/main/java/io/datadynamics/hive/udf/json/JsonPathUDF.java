@@ -0,0 +1,155 @@
+package io.datadynamics.hive.udf.json;
+
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
+import io.datadynamics.hive.udf.utils.json.JsonExtract;
+import io.datadynamics.hive.udf.utils.json.JsonPath;
+import io.datadynamics.hive.udf.utils.json.JsonPathCache;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorUtils;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Base class of the UDFs that apply a {@link JsonExtract.JsonExtractor} selected by a JSON path to
+ * a JSON string, {@code function(json, path)}.
+ * <p>
+ * A literal path is compiled once in {@code initialize()}. Any other path is looked up in a
+ * bounded {@link JsonPathCache}, so rows that repeat a path do not tokenize it again. The JSON is
+ * parsed from the UTF-8 bytes of its {@link Text}, without decoding it to a String.
+ */
+abstract class JsonPathUDF<T> extends ConstantArgumentUDF {
+    private static final int JSON_IDX = 0;
+    private static final int PATH_IDX = 1;
+    private static final int MIN_ARG_COUNT = 2; // min Number of arguments to this UDF
+
+    private final String name;
+    private final int maxArgCount;
+    private transient JsonInput jsonInput;
+    private transient Argument pathArgument;
+    private transient JsonExtract.JsonExtractor<T> constantExtractor;
+    private transient JsonPathCache pathCache;
+
+    JsonPathUDF(String name) {
+        this(name, MIN_ARG_COUNT);
+    }
+
+    /**
+     * @param maxArgCount number of arguments including the options after the path
+     */
+    JsonPathUDF(String name, int maxArgCount) {
+        this.name = name;
+        this.maxArgCount = maxArgCount;
+    }
+
+    /**
+     * @return the extractor of the given path that computes this function
+     */
+    protected abstract JsonExtract.JsonExtractor<T> extractor(JsonPath path);
+
+    /**
+     * @return inspector of the values returned by {@link #toResult}
+     */
+    protected abstract ObjectInspector initializeResult();
+
+    /**
+     * @param value extracted value, not null
+     * @param json  the JSON it was extracted from
+     */
+    protected abstract Object toResult(T value, Text json);
+
+    /**
+     * Reads the arguments after the path, if the function takes any. Called before
+     * {@link #extractor}.
+     */
+    protected void initializeOptions(ObjectInspector[] arguments) throws UDFArgumentException {
+    }
+
+    static void checkString(ObjectInspector[] arguments, int i, String name) throws UDFArgumentTypeException {
+        if (arguments[i].getCategory() != ObjectInspector.Category.PRIMITIVE
+                || PrimitiveObjectInspectorUtils.getPrimitiveGrouping(((PrimitiveObjectInspector) arguments[i]).getPrimitiveCategory())
+                != PrimitiveObjectInspectorUtils.PrimitiveGrouping.STRING_GROUP) {
+            throw new UDFArgumentTypeException(i,
+                    "\"" + org.apache.hadoop.hive.serde.serdeConstants.STRING_TYPE_NAME + "\" "
+                            + "expected at function " + name + ", but "
+                            + "\"" + arguments[i].getTypeName() + "\" "
+                            + "is found");
+        }
+    }
+
+    /**
+     * @throws UDFArgumentException if the pattern is not a valid JSON path
+     */
+    static JsonPath compile(String pattern, String name) throws UDFArgumentException {
+        try {
+            return new JsonPath(pattern);
+        } catch (RuntimeException e) {
+            throw new UDFArgumentException("The function " + name + " expects a valid JSON path, but '" + pattern + "' is found");
+        }
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if two arguments, or two and the options, were passed
+        if (arguments.length < MIN_ARG_COUNT || arguments.length > maxArgCount) {
+            throw new UDFArgumentLengthException(maxArgCount == MIN_ARG_COUNT
+                    ? "The function " + name + "(json, path) takes exactly " + MIN_ARG_COUNT + " arguments."
+                    : "The function " + name + "(json, path, ...) takes " + MIN_ARG_COUNT + " to " + maxArgCount + " arguments.");
+        }
+
+        checkString(arguments, JSON_IDX, name);
+        checkString(arguments, PATH_IDX, name);
+
+        jsonInput = new JsonInput(arguments[JSON_IDX]);
+        initializeOptions(arguments);
+        pathArgument = argument(arguments, PATH_IDX, PrimitiveObjectInspectorFactory.writableStringObjectInspector);
+        constantExtractor = null;
+        pathCache = null;
+        if (pathArgument.isConstant()) {
+            // a null literal path leaves the extractor null, and every row returns null
+            Object pattern = pathArgument.getConstantValue();
+            if (pattern != null) {
+                constantExtractor = extractor(compile(pattern.toString(), name));
+            }
+        } else {
+            pathCache = new JsonPathCache();
+        }
+
+        return initializeResult();
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Text json = jsonInput.get(arguments[JSON_IDX].get());
+        if (json == null) {
+            return null;
+        }
+
+        JsonExtract.JsonExtractor<T> extractor = constantExtractor;
+        if (pathCache != null) {
+            Text pattern = (Text) pathArgument.get(arguments);
+            if (pattern == null) {
+                return null;
+            }
+            try {
+                extractor = extractor(pathCache.get(pattern.toString()));
+            } catch (RuntimeException e) {
+                throw new HiveException("The function " + name + " expects a valid JSON path, but '" + pattern + "' is found");
+            }
+        } else if (extractor == null) {
+            return null;
+        }
+
+        T value = JsonExtract.extract(json.getBytes(), 0, json.getLength(), extractor);
+        return value == null ? null : toResult(value, json);
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        return getStandardDisplayString(name, strings);
+    }
+}
@@ -0,0 +1,79 @@
+package io.datadynamics.hive.udf.json;
+
+import io.datadynamics.hive.udf.utils.ConstantArgumentUDF;
+import io.datadynamics.hive.udf.utils.TypeUtils;
+import io.datadynamics.hive.udf.utils.json.JsonArrayElementReader;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+
+@Description(name = "json_array_get"
+        , value = "_FUNC_(json_array, index) - returns the element at index of the JSON array. "
+        + "index is 0-based, and a negative index counts from the end, -1 being the last element. "
+        + "An object, array, number or literal is returned as written and a string as its value; "
+        + "returns null for JSON null, if json_array is not an array or if index is out of bounds."
+        , extended = "Example:\n > select _FUNC_('[1, {\"a\": 2}, \"x\"]', 1) from src;\n {\"a\": 2}"
+        + "\n > select _FUNC_('[1, {\"a\": 2}, \"x\"]', -1) from src;\n x")
+public class UDFJsonArrayGet extends ConstantArgumentUDF {
+    private static final int JSON_IDX = 0;
+    private static final int INDEX_IDX = 1;
+    private static final int ARG_COUNT = 2; // Number of arguments to this UDF
+    private transient JsonInput jsonInput;
+    private transient Argument indexArgument;
+    private transient JsonArrayElementReader reader;
+
+    public UDFJsonArrayGet() {
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if two arguments were passed
+        if (arguments.length != ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function json_array_get(json_array, index) takes exactly " + ARG_COUNT + " arguments.");
+        }
+
+        JsonPathUDF.checkString(arguments, JSON_IDX, "json_array_get");
+
+        // Check if index is an integer
+        if (!TypeUtils.isIntegral(arguments[INDEX_IDX])) {
+            throw new UDFArgumentTypeException(INDEX_IDX,
+                    "\"" + org.apache.hadoop.hive.serde.serdeConstants.BIGINT_TYPE_NAME + "\""
+                            + " expected at function json_array_get, but "
+                            + "\"" + arguments[INDEX_IDX].getTypeName() + "\""
+                            + " is found");
+        }
+
+        jsonInput = new JsonInput(arguments[JSON_IDX]);
+        indexArgument = argument(arguments, INDEX_IDX, PrimitiveObjectInspectorFactory.writableLongObjectInspector);
+        reader = new JsonArrayElementReader();
+
+        return PrimitiveObjectInspectorFactory.writableStringObjectInspector;
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Text json = jsonInput.get(arguments[JSON_IDX].get());
+        LongWritable index = (LongWritable) indexArgument.get(arguments);
+
+        // Check if json or index is null
+        if (json == null || index == null) {
+            return null;
+        }
+
+        return reader.get(json.getBytes(), 0, json.getLength(), index.get());
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        assert (strings.length == ARG_COUNT);
+        return "json_array_get(" + strings[JSON_IDX] + ", "
+                + strings[INDEX_IDX] + ")";
+    }
+}
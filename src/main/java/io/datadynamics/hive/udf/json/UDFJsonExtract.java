@@ -0,0 +1,67 @@
+package io.datadynamics.hive.udf.json;
+
+import io.datadynamics.hive.udf.utils.json.JsonExtract;
+import io.datadynamics.hive.udf.utils.json.JsonPath;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.Text;
+
+@Description(name = "json_extract"
+        , value = "_FUNC_(json, path[, mode]) - returns the JSON value at path in json, as a JSON string. "
+        + "Returns null if json is not valid JSON or path does not match a value. "
+        + "mode is 'raw' (default) to return the value as written in json, "
+        + "or 'normalize' to re-serialize it without whitespace and with its escapes decoded."
+        , extended = "Example:\n > select _FUNC_('{\"a\": {\"b\": [1, 2]}}', '$.a.b') from src;\n [1, 2]"
+        + "\n > select _FUNC_('{\"a\": {\"b\": [1, 2]}}', '$.a.b', 'normalize') from src;\n [1,2]")
+public class UDFJsonExtract extends JsonPathUDF<JsonExtract.ValueRange> {
+    private static final int MODE_IDX = 2;
+    private static final int MAX_ARG_COUNT = 3; // max Number of arguments to this UDF
+    private final transient JsonExtract.JsonValueJsonExtractor normalizer = new JsonExtract.JsonValueJsonExtractor();
+    private transient boolean normalize;
+    private transient Text result;
+
+    public UDFJsonExtract() {
+        super("json_extract", MAX_ARG_COUNT);
+    }
+
+    @Override
+    protected void initializeOptions(ObjectInspector[] arguments) throws UDFArgumentException {
+        normalize = false;
+        if (arguments.length > MODE_IDX) {
+            String mode = getConstantOption(arguments, MODE_IDX, "json_extract");
+            if (mode.equals("normalize")) {
+                normalize = true;
+            } else if (!mode.equals("raw")) {
+                throw new UDFArgumentException("The function json_extract expects 'raw' or 'normalize' as mode, but '" + mode + "' is found");
+            }
+        }
+    }
+
+    @Override
+    protected JsonExtract.JsonExtractor<JsonExtract.ValueRange> extractor(JsonPath path) {
+        return path.getValueRangeExtractor();
+    }
+
+    @Override
+    protected ObjectInspector initializeResult() {
+        result = new Text();
+        return PrimitiveObjectInspectorFactory.writableStringObjectInspector;
+    }
+
+    @Override
+    protected Object toResult(JsonExtract.ValueRange value, Text json) {
+        if (normalize) {
+            // parse the value again, only to re-serialize it
+            String normalized = JsonExtract.extract(json.getBytes(), value.getStart(), value.getLength(), normalizer);
+            if (normalized == null) {
+                return null;
+            }
+            result.set(normalized);
+        } else {
+            result.set(json.getBytes(), value.getStart(), value.getLength());
+        }
+        return result;
+    }
+}
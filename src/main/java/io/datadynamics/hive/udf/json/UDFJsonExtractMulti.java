@@ -0,0 +1,95 @@
+package io.datadynamics.hive.udf.json;
+
+import io.datadynamics.hive.udf.utils.json.JsonPath;
+import io.datadynamics.hive.udf.utils.json.JsonPathTrie;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentLengthException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.objectinspector.ConstantObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.Text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Description(name = "json_extract_multi"
+        , value = "_FUNC_(json, path1, path2, ...) - returns a struct<c0, c1, ...> of the values at the given paths in json, "
+        + "reading json once. A scalar is returned as its text and an object or array as written in json; "
+        + "JSON null and paths that do not match a value give null. The paths must be constant."
+        , extended = "Example:\n > select _FUNC_('{\"a\": 1, \"b\": {\"c\": [2, 3]}}', '$.a', '$.b.c') from src;\n {\"c0\":\"1\",\"c1\":\"[2, 3]\"}")
+public class UDFJsonExtractMulti extends GenericUDF {
+    private static final int JSON_IDX = 0;
+    private static final int MIN_ARG_COUNT = 2; // min Number of arguments to this UDF
+    private transient JsonInput jsonInput;
+    private transient JsonPathTrie trie;
+    private transient Object[] result;
+
+    public UDFJsonExtractMulti() {
+    }
+
+    private static String getConstantPath(ObjectInspector[] arguments, int i) throws UDFArgumentException {
+        if (!ObjectInspectorUtils.isConstantObjectInspector(arguments[i])) {
+            throw new UDFArgumentTypeException(i, "A constant string is expected at function json_extract_multi, but "
+                    + "\"" + arguments[i].getTypeName() + "\" is found");
+        }
+        Object value = ((ConstantObjectInspector) arguments[i]).getWritableConstantValue();
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public ObjectInspector initialize(ObjectInspector[] arguments) throws UDFArgumentException {
+        // Check if at least two arguments were passed
+        if (arguments.length < MIN_ARG_COUNT) {
+            throw new UDFArgumentLengthException(
+                    "The function json_extract_multi(json, path1, path2, ...) takes at least " + MIN_ARG_COUNT + " arguments.");
+        }
+
+        JsonPathUDF.checkString(arguments, JSON_IDX, "json_extract_multi");
+        jsonInput = new JsonInput(arguments[JSON_IDX]);
+
+        int pathCount = arguments.length - 1;
+        List<JsonPath> paths = new ArrayList<JsonPath>(pathCount);
+        List<String> fieldNames = new ArrayList<String>(pathCount);
+        List<ObjectInspector> fieldOIs = new ArrayList<ObjectInspector>(pathCount);
+        for (int i = 0; i < pathCount; i++) {
+            JsonPathUDF.checkString(arguments, i + 1, "json_extract_multi");
+            // a null literal path gives a field that is always null
+            String pattern = getConstantPath(arguments, i + 1);
+            paths.add(pattern == null ? null : JsonPathUDF.compile(pattern, "json_extract_multi"));
+            fieldNames.add("c" + i);
+            fieldOIs.add(PrimitiveObjectInspectorFactory.writableStringObjectInspector);
+        }
+
+        trie = new JsonPathTrie(paths);
+        result = new Object[pathCount];
+
+        return ObjectInspectorFactory.getStandardStructObjectInspector(fieldNames, fieldOIs);
+    }
+
+    @Override
+    public Object evaluate(DeferredObject[] arguments) throws HiveException {
+        Text json = jsonInput.get(arguments[JSON_IDX].get());
+
+        // Check if json is null
+        if (json == null) {
+            return null;
+        }
+
+        trie.extract(json.getBytes(), 0, json.getLength());
+        for (int i = 0; i < result.length; i++) {
+            result[i] = trie.getValue(i);
+        }
+        return result;
+    }
+
+    @Override
+    public String getDisplayString(String[] strings) {
+        return getStandardDisplayString("json_extract_multi", strings);
+    }
+}
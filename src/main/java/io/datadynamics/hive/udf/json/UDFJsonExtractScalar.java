@@ -0,0 +1,33 @@
+package io.datadynamics.hive.udf.json;
+
+import io.datadynamics.hive.udf.utils.json.JsonExtract;
+import io.datadynamics.hive.udf.utils.json.JsonPath;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.Text;
+
+@Description(name = "json_extract_scalar"
+        , value = "_FUNC_(json, path) - returns the scalar value at path in json as a string. "
+        + "Returns null if json is not valid JSON, or path does not match a scalar value."
+        , extended = "Example:\n > select _FUNC_('{\"a\": {\"b\": [1, 2]}}', '$.a.b[1]') from src;\n 2")
+public class UDFJsonExtractScalar extends JsonPathUDF<Text> {
+    public UDFJsonExtractScalar() {
+        super("json_extract_scalar");
+    }
+
+    @Override
+    protected JsonExtract.JsonExtractor<Text> extractor(JsonPath path) {
+        return path.getScalarTextExtractor();
+    }
+
+    @Override
+    protected ObjectInspector initializeResult() {
+        return PrimitiveObjectInspectorFactory.writableStringObjectInspector;
+    }
+
+    @Override
+    protected Object toResult(Text value, Text json) {
+        return value;
+    }
+}
@@ -0,0 +1,38 @@
+package io.datadynamics.hive.udf.json;
+
+import io.datadynamics.hive.udf.utils.json.JsonExtract;
+import io.datadynamics.hive.udf.utils.json.JsonPath;
+import org.apache.hadoop.hive.ql.exec.Description;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+
+@Description(name = "json_size"
+        , value = "_FUNC_(json, path) - returns the number of elements of the array, or of fields of the object, at path in json. "
+        + "Returns 0 for a scalar value, and null if json is not valid JSON or path does not match a value."
+        , extended = "Example:\n > select _FUNC_('{\"a\": {\"b\": [1, 2]}}', '$.a.b') from src;\n 2")
+public class UDFJsonSize extends JsonPathUDF<Long> {
+    private transient LongWritable result;
+
+    public UDFJsonSize() {
+        super("json_size");
+    }
+
+    @Override
+    protected JsonExtract.JsonExtractor<Long> extractor(JsonPath path) {
+        return path.getSizeExtractor();
+    }
+
+    @Override
+    protected ObjectInspector initializeResult() {
+        result = new LongWritable();
+        return PrimitiveObjectInspectorFactory.writableLongObjectInspector;
+    }
+
+    @Override
+    protected Object toResult(Long value, Text json) {
+        result.set(value);
+        return result;
+    }
+}
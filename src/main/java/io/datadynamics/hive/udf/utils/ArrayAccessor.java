@@ -0,0 +1,552 @@
+package io.datadynamics.hive.udf.utils;
+
+import io.datadynamics.hive.udf.fastuitl.ints.AbstractIntComparator;
+import io.datadynamics.hive.udf.fastuitl.ints.IntArrays;
+import io.datadynamics.hive.udf.fastuitl.ints.IntComparator;
+import org.apache.hadoop.hive.serde2.objectinspector.*;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.DoubleObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.IntObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.LongObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.StringObjectInspector;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Element access for array UDFs, specialized once per element type in {@code initialize()}.
+ * <p>
+ * int, bigint, double and string elements are read through their typed inspector and compared
+ * without going through {@link ObjectInspectorUtils#compare}; every other type falls back to it.
+ * Comparisons order nulls first, like {@link ArrayUtils#IntArrayCompare}.
+ */
+public abstract class ArrayAccessor {
+
+    public enum Kind {
+        INT, LONG, DOUBLE, STRING, GENERIC
+    }
+
+    protected final ListObjectInspector arrayOI;
+    protected final ObjectInspector elementOI;
+    private final boolean concurrentReadSafe;
+
+    protected ArrayAccessor(ListObjectInspector arrayOI) {
+        this.arrayOI = arrayOI;
+        this.elementOI = arrayOI.getListElementObjectInspector();
+        this.concurrentReadSafe = isConcurrentReadSafe(elementOI);
+    }
+
+    public static ArrayAccessor create(ListObjectInspector arrayOI) {
+        ObjectInspector elementOI = arrayOI.getListElementObjectInspector();
+        if (elementOI.getCategory() == ObjectInspector.Category.PRIMITIVE) {
+            switch (((PrimitiveObjectInspector) elementOI).getPrimitiveCategory()) {
+                case INT:
+                    return new IntAccessor(arrayOI);
+                case LONG:
+                    return new LongAccessor(arrayOI);
+                case DOUBLE:
+                    return new DoubleAccessor(arrayOI);
+                case STRING:
+                    return new StringAccessor(arrayOI);
+                default:
+                    break;
+            }
+        }
+        return new GenericAccessor(arrayOI);
+    }
+
+    public abstract Kind getKind();
+
+    public ListObjectInspector getArrayOI() {
+        return arrayOI;
+    }
+
+    public ObjectInspector getElementOI() {
+        return elementOI;
+    }
+
+    public int length(Object array) {
+        return arrayOI.getListLength(array);
+    }
+
+    public Object get(Object array, int index) {
+        return arrayOI.getListElement(array, index);
+    }
+
+    public boolean isNull(Object array, int index) {
+        return arrayOI.getListElement(array, index) == null;
+    }
+
+    /**
+     * Binds the value that {@link #matches(Object, int)} compares against.
+     *
+     * @param value   value to look for
+     * @param valueOI inspector of the value, of the same type as the array elements
+     * @return false if the value is null, in which case nothing matches
+     */
+    public abstract boolean bind(Object value, ObjectInspector valueOI);
+
+    /**
+     * @return true if the element at index is not null and equals the bound value
+     */
+    public abstract boolean matches(Object array, int index);
+
+    /**
+     * @param element non-null element of this array
+     * @return negative, zero or positive as the element is less than, equal to or greater than the
+     * bound value
+     */
+    public abstract int compareToBound(Object element);
+
+    /**
+     * Binary search for the bound value among the non-null elements {@code [from, to)} of an array
+     * sorted in ascending order.
+     *
+     * @return index of the first element in the range that is not less than the bound value, or
+     * {@code to} if there is none
+     */
+    public int lowerBound(Object array, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (compareToBound(arrayOI.getListElement(array, mid)) < 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * @return index of the first element in the range that is greater than the bound value, or
+     * {@code to} if there is none
+     * @see #lowerBound(Object, int, int)
+     */
+    public int upperBound(Object array, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (compareToBound(arrayOI.getListElement(array, mid)) <= 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    public int compare(Object array, int left, int right) {
+        return compare(array, left, this, array, right);
+    }
+
+    /**
+     * Compares an element of this array with an element of another array of the same element type.
+     */
+    public abstract int compare(Object array, int index, ArrayAccessor other, Object otherArray, int otherIndex);
+
+    /**
+     * @return comparator over element positions of the given array, for use with IntArrays sorts
+     */
+    public IntComparator comparator(final Object array) {
+        return new AbstractIntComparator() {
+            @Override
+            public int compare(int left, int right) {
+                return ArrayAccessor.this.compare(array, left, right);
+            }
+        };
+    }
+
+    /**
+     * Sorts element positions of the given array by element value. Ranges of at least
+     * {@link IntArrays#getParallelSortThreshold()} positions are sorted on the fork/join pool when
+     * the elements can be read from several threads.
+     */
+    public void sortPositions(Object array, int[] positions, int from, int to) {
+        if (concurrentReadSafe && to - from >= IntArrays.getParallelSortThreshold()) {
+            // lazy arrays parse and initialize their elements on first access, do it on this thread
+            for (int i = from; i < to; i++) {
+                arrayOI.getListElement(array, positions[i]);
+            }
+            IntArrays.parallelQuickSort(positions, from, to, comparator(array));
+        } else {
+            IntArrays.quickSort(positions, from, to, comparator(array));
+        }
+    }
+
+    /**
+     * Sort-based deduplication for element types that cannot be hashed. Nulls count as one value.
+     *
+     * @param positions buffer of at least {@code length} entries
+     * @return number of distinct values; {@code positions[0, count)} holds the first position of
+     * every distinct value, in value order
+     */
+    public int distinctPositions(Object array, int[] positions, int length) {
+        if (length <= 0) {
+            return 0;
+        }
+        for (int i = 0; i < length; i++) {
+            positions[i] = i;
+        }
+        sortPositions(array, positions, 0, length);
+
+        int count = 0;
+        int basePosition = positions[0];
+        int firstPosition = basePosition;
+        for (int i = 1; i < length; i++) {
+            int currentPosition = positions[i];
+            if (compare(array, basePosition, currentPosition) == 0) {
+                firstPosition = Math.min(firstPosition, currentPosition);
+            } else {
+                positions[count++] = firstPosition;
+                basePosition = currentPosition;
+                firstPosition = currentPosition;
+            }
+        }
+        positions[count++] = firstPosition;
+        return count;
+    }
+
+    /**
+     * Primitive elements are immutable once the array has initialized them. Nested elements are
+     * only safe when every level is a standard inspector, lazy structs and maps parse on access.
+     */
+    private static boolean isConcurrentReadSafe(ObjectInspector oi) {
+        switch (oi.getCategory()) {
+            case PRIMITIVE:
+                return true;
+            case LIST:
+                return oi.getClass() == StandardListObjectInspector.class
+                        && isConcurrentReadSafe(((ListObjectInspector) oi).getListElementObjectInspector());
+            case MAP:
+                return oi.getClass() == StandardMapObjectInspector.class
+                        && isConcurrentReadSafe(((MapObjectInspector) oi).getMapKeyObjectInspector())
+                        && isConcurrentReadSafe(((MapObjectInspector) oi).getMapValueObjectInspector());
+            case STRUCT:
+                if (oi.getClass() != StandardStructObjectInspector.class) {
+                    return false;
+                }
+                for (StructField field : ((StructObjectInspector) oi).getAllStructFieldRefs()) {
+                    if (!isConcurrentReadSafe(field.getFieldObjectInspector())) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    protected static int compareNulls(Object left, Object right) {
+        if (left == null) {
+            return right == null ? 0 : -1;
+        }
+        return 1;
+    }
+
+    public static final class IntAccessor extends ArrayAccessor {
+        private final IntObjectInspector intOI;
+        private int probe;
+
+        IntAccessor(ListObjectInspector arrayOI) {
+            super(arrayOI);
+            this.intOI = (IntObjectInspector) elementOI;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.INT;
+        }
+
+        public int getInt(Object array, int index) {
+            return intOI.get(arrayOI.getListElement(array, index));
+        }
+
+        public int intValue(Object element) {
+            return intOI.get(element);
+        }
+
+        @Override
+        public boolean bind(Object value, ObjectInspector valueOI) {
+            if (value == null) {
+                return false;
+            }
+            probe = ((IntObjectInspector) valueOI).get(value);
+            return true;
+        }
+
+        @Override
+        public boolean matches(Object array, int index) {
+            Object element = arrayOI.getListElement(array, index);
+            return element != null && intOI.get(element) == probe;
+        }
+
+        @Override
+        public int compareToBound(Object element) {
+            return Integer.compare(intOI.get(element), probe);
+        }
+
+        @Override
+        public int compare(Object array, int index, ArrayAccessor other, Object otherArray, int otherIndex) {
+            Object left = arrayOI.getListElement(array, index);
+            Object right = other.arrayOI.getListElement(otherArray, otherIndex);
+            if (left == null || right == null) {
+                return compareNulls(left, right);
+            }
+            return Integer.compare(intOI.get(left), ((IntAccessor) other).intOI.get(right));
+        }
+    }
+
+    public static final class LongAccessor extends ArrayAccessor {
+        private final LongObjectInspector longOI;
+        private long probe;
+
+        LongAccessor(ListObjectInspector arrayOI) {
+            super(arrayOI);
+            this.longOI = (LongObjectInspector) elementOI;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.LONG;
+        }
+
+        public long getLong(Object array, int index) {
+            return longOI.get(arrayOI.getListElement(array, index));
+        }
+
+        public long longValue(Object element) {
+            return longOI.get(element);
+        }
+
+        @Override
+        public boolean bind(Object value, ObjectInspector valueOI) {
+            if (value == null) {
+                return false;
+            }
+            probe = ((LongObjectInspector) valueOI).get(value);
+            return true;
+        }
+
+        @Override
+        public boolean matches(Object array, int index) {
+            Object element = arrayOI.getListElement(array, index);
+            return element != null && longOI.get(element) == probe;
+        }
+
+        @Override
+        public int compareToBound(Object element) {
+            return Long.compare(longOI.get(element), probe);
+        }
+
+        @Override
+        public int compare(Object array, int index, ArrayAccessor other, Object otherArray, int otherIndex) {
+            Object left = arrayOI.getListElement(array, index);
+            Object right = other.arrayOI.getListElement(otherArray, otherIndex);
+            if (left == null || right == null) {
+                return compareNulls(left, right);
+            }
+            return Long.compare(longOI.get(left), ((LongAccessor) other).longOI.get(right));
+        }
+    }
+
+    public static final class DoubleAccessor extends ArrayAccessor {
+        private final DoubleObjectInspector doubleOI;
+        private double probe;
+
+        DoubleAccessor(ListObjectInspector arrayOI) {
+            super(arrayOI);
+            this.doubleOI = (DoubleObjectInspector) elementOI;
+        }
+
+        /**
+         * Same ordering as ObjectInspectorUtils.compare: 0.0 and -0.0 are equal, otherwise Double.compare.
+         */
+        public static int compareDoubles(double left, double right) {
+            if (left == 0.0d && right == 0.0d) {
+                return 0;
+            }
+            return Double.compare(left, right);
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.DOUBLE;
+        }
+
+        public double getDouble(Object array, int index) {
+            return doubleOI.get(arrayOI.getListElement(array, index));
+        }
+
+        public double doubleValue(Object element) {
+            return doubleOI.get(element);
+        }
+
+        @Override
+        public boolean bind(Object value, ObjectInspector valueOI) {
+            if (value == null) {
+                return false;
+            }
+            probe = ((DoubleObjectInspector) valueOI).get(value);
+            return true;
+        }
+
+        @Override
+        public boolean matches(Object array, int index) {
+            Object element = arrayOI.getListElement(array, index);
+            return element != null && compareDoubles(doubleOI.get(element), probe) == 0;
+        }
+
+        @Override
+        public int compareToBound(Object element) {
+            return compareDoubles(doubleOI.get(element), probe);
+        }
+
+        @Override
+        public int compare(Object array, int index, ArrayAccessor other, Object otherArray, int otherIndex) {
+            Object left = arrayOI.getListElement(array, index);
+            Object right = other.arrayOI.getListElement(otherArray, otherIndex);
+            if (left == null || right == null) {
+                return compareNulls(left, right);
+            }
+            return compareDoubles(doubleOI.get(left), ((DoubleAccessor) other).doubleOI.get(right));
+        }
+    }
+
+    /**
+     * Writable-backed inspectors (Text, LazyString) are compared on their UTF-8 bytes, Java-backed
+     * inspectors on their Strings, matching the branches of ObjectInspectorUtils.compare.
+     */
+    public static final class StringAccessor extends ArrayAccessor {
+        private final StringObjectInspector stringOI;
+        private final boolean writable;
+        private final Text probeText = new Text();
+        private final Text scratch = new Text();
+        private String probeString;
+
+        StringAccessor(ListObjectInspector arrayOI) {
+            super(arrayOI);
+            this.stringOI = (StringObjectInspector) elementOI;
+            this.writable = stringOI.preferWritable();
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.STRING;
+        }
+
+        public boolean isWritable() {
+            return writable;
+        }
+
+        public Text getText(Object array, int index) {
+            return stringOI.getPrimitiveWritableObject(arrayOI.getListElement(array, index));
+        }
+
+        public String getString(Object array, int index) {
+            return stringOI.getPrimitiveJavaObject(arrayOI.getListElement(array, index));
+        }
+
+        /**
+         * @return UTF-8 bytes of a non-null element; for Java strings this is a reused buffer
+         */
+        public Text textValue(Object element) {
+            if (writable) {
+                return stringOI.getPrimitiveWritableObject(element);
+            }
+            scratch.set(stringOI.getPrimitiveJavaObject(element));
+            return scratch;
+        }
+
+        @Override
+        public boolean bind(Object value, ObjectInspector valueOI) {
+            if (value == null) {
+                return false;
+            }
+            StringObjectInspector valueStringOI = (StringObjectInspector) valueOI;
+            if (writable) {
+                if (valueStringOI.preferWritable()) {
+                    probeText.set(valueStringOI.getPrimitiveWritableObject(value));
+                } else {
+                    probeText.set(valueStringOI.getPrimitiveJavaObject(value));
+                }
+            } else {
+                probeString = valueStringOI.getPrimitiveJavaObject(value);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean matches(Object array, int index) {
+            Object element = arrayOI.getListElement(array, index);
+            if (element == null) {
+                return false;
+            }
+            if (writable) {
+                return stringOI.getPrimitiveWritableObject(element).equals(probeText);
+            }
+            return stringOI.getPrimitiveJavaObject(element).equals(probeString);
+        }
+
+        @Override
+        public int compareToBound(Object element) {
+            if (writable) {
+                return stringOI.getPrimitiveWritableObject(element).compareTo(probeText);
+            }
+            return stringOI.getPrimitiveJavaObject(element).compareTo(probeString);
+        }
+
+        @Override
+        public int compare(Object array, int index, ArrayAccessor other, Object otherArray, int otherIndex) {
+            Object left = arrayOI.getListElement(array, index);
+            Object right = other.arrayOI.getListElement(otherArray, otherIndex);
+            if (left == null || right == null) {
+                return compareNulls(left, right);
+            }
+            StringAccessor otherString = (StringAccessor) other;
+            if (writable && otherString.writable) {
+                return stringOI.getPrimitiveWritableObject(left)
+                        .compareTo(otherString.stringOI.getPrimitiveWritableObject(right));
+            }
+            return stringOI.getPrimitiveJavaObject(left)
+                    .compareTo(otherString.stringOI.getPrimitiveJavaObject(right));
+        }
+    }
+
+    public static final class GenericAccessor extends ArrayAccessor {
+        private Object probe;
+        private ObjectInspector probeOI;
+
+        GenericAccessor(ListObjectInspector arrayOI) {
+            super(arrayOI);
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.GENERIC;
+        }
+
+        @Override
+        public boolean bind(Object value, ObjectInspector valueOI) {
+            probe = value;
+            probeOI = valueOI;
+            return value != null;
+        }
+
+        @Override
+        public boolean matches(Object array, int index) {
+            Object element = arrayOI.getListElement(array, index);
+            return element != null && ObjectInspectorUtils.compare(probe, probeOI, element, elementOI) == 0;
+        }
+
+        @Override
+        public int compareToBound(Object element) {
+            return ObjectInspectorUtils.compare(element, elementOI, probe, probeOI);
+        }
+
+        @Override
+        public int compare(Object array, int index, ArrayAccessor other, Object otherArray, int otherIndex) {
+            Object left = arrayOI.getListElement(array, index);
+            Object right = other.arrayOI.getListElement(otherArray, otherIndex);
+            if (left == null || right == null) {
+                return compareNulls(left, right);
+            }
+            return ObjectInspectorUtils.compare(left, elementOI, right, other.elementOI);
+        }
+    }
+}
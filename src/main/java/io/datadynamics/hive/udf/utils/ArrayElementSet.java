@@ -0,0 +1,92 @@
+package io.datadynamics.hive.udf.utils;
+
+import io.datadynamics.hive.udf.fastuitl.bytes.BytesOpenHashSet;
+import io.datadynamics.hive.udf.fastuitl.longs.LongOpenHashSet;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Hash set of array elements backed by a primitive open-addressing set: int and bigint elements
+ * are stored as longs, doubles by their bit pattern, strings by their UTF-8 bytes.
+ * <p>
+ * Only non-null elements are stored; callers handle nulls. Elements are numbered by insertion
+ * order, see {@link LongOpenHashSet}. The set is meant to be kept in a UDF and cleared per row.
+ */
+public final class ArrayElementSet {
+
+    private final ArrayAccessor.Kind kind;
+    private final LongOpenHashSet longSet;
+    private final BytesOpenHashSet bytesSet;
+
+    public ArrayElementSet(ArrayAccessor accessor) {
+        if (!isSupported(accessor)) {
+            throw new IllegalArgumentException("Hashing is not supported for " + accessor.getElementOI().getTypeName());
+        }
+        this.kind = accessor.getKind();
+        if (kind == ArrayAccessor.Kind.STRING) {
+            longSet = null;
+            bytesSet = new BytesOpenHashSet();
+        } else {
+            longSet = new LongOpenHashSet();
+            bytesSet = null;
+        }
+    }
+
+    public static boolean isSupported(ArrayAccessor accessor) {
+        return accessor.getKind() != ArrayAccessor.Kind.GENERIC;
+    }
+
+    private static long longKey(ArrayAccessor accessor, Object element) {
+        switch (accessor.getKind()) {
+            case INT:
+                return ((ArrayAccessor.IntAccessor) accessor).intValue(element);
+            case LONG:
+                return ((ArrayAccessor.LongAccessor) accessor).longValue(element);
+            case DOUBLE:
+                double value = ((ArrayAccessor.DoubleAccessor) accessor).doubleValue(element);
+                // 0.0 and -0.0 compare equal
+                return Double.doubleToLongBits(value == 0.0d ? 0.0d : value);
+            default:
+                throw new IllegalStateException("Unexpected element kind " + accessor.getKind());
+        }
+    }
+
+    public int size() {
+        return kind == ArrayAccessor.Kind.STRING ? bytesSet.size() : longSet.size();
+    }
+
+    public void clear() {
+        if (kind == ArrayAccessor.Kind.STRING) {
+            bytesSet.clear();
+        } else {
+            longSet.clear();
+        }
+    }
+
+    /**
+     * @param accessor accessor of the array the element comes from, of the same kind as this set
+     * @param element  non-null element
+     * @return ordinal of the element if it was added, or {@code -(ordinal + 1)} if it was already present
+     */
+    public int add(ArrayAccessor accessor, Object element) {
+        if (kind == ArrayAccessor.Kind.STRING) {
+            Text text = ((ArrayAccessor.StringAccessor) accessor).textValue(element);
+            return bytesSet.add(text.getBytes(), 0, text.getLength());
+        }
+        return longSet.add(longKey(accessor, element));
+    }
+
+    /**
+     * @return ordinal of the non-null element, or -1 if absent
+     */
+    public int find(ArrayAccessor accessor, Object element) {
+        if (kind == ArrayAccessor.Kind.STRING) {
+            Text text = ((ArrayAccessor.StringAccessor) accessor).textValue(element);
+            return bytesSet.find(text.getBytes(), 0, text.getLength());
+        }
+        return longSet.find(longKey(accessor, element));
+    }
+
+    public boolean contains(ArrayAccessor accessor, Object element) {
+        return find(accessor, element) >= 0;
+    }
+}
@@ -0,0 +1,322 @@
+package io.datadynamics.hive.udf.utils;
+
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.HiveDecimalObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorUtils;
+
+/**
+ * Single-pass reductions over an array (min, max, sum, avg), typed per element kind.
+ * <p>
+ * Null elements are skipped and counted separately; a reduction over an array without any
+ * non-null element has no result ({@link #getCount()} is 0).
+ */
+public final class ArrayReducer {
+
+    private final ArrayAccessor accessor;
+    private final PrimitiveObjectInspector numericOI;
+    private final boolean integral;
+    private final boolean decimal;
+
+    private int count;
+    private int nullCount;
+    private int minIndex;
+    private int maxIndex;
+    private long longSum;
+    private double doubleSum;
+    private final HiveDecimalWritable decimalSum = new HiveDecimalWritable();
+
+    public ArrayReducer(ArrayAccessor accessor) {
+        this.accessor = accessor;
+        ObjectInspector elementOI = accessor.getElementOI();
+        if (elementOI.getCategory() == ObjectInspector.Category.PRIMITIVE) {
+            numericOI = (PrimitiveObjectInspector) elementOI;
+            integral = TypeUtils.isIntegral(numericOI.getPrimitiveCategory());
+            decimal = numericOI.getPrimitiveCategory() == PrimitiveObjectInspector.PrimitiveCategory.DECIMAL;
+        } else {
+            numericOI = null;
+            integral = false;
+            decimal = false;
+        }
+    }
+
+    /**
+     * Checks that sum/avg can be computed for the element type of the given accessor.
+     */
+    public static void checkNumeric(ArrayAccessor accessor, String functionName) throws UDFArgumentException {
+        ObjectInspector elementOI = accessor.getElementOI();
+        if (elementOI.getCategory() == ObjectInspector.Category.PRIMITIVE) {
+            switch (((PrimitiveObjectInspector) elementOI).getPrimitiveCategory()) {
+                case BYTE:
+                case SHORT:
+                case INT:
+                case LONG:
+                case FLOAT:
+                case DOUBLE:
+                    return;
+                default:
+                    break;
+            }
+        }
+        throw new UDFArgumentException("The function " + functionName
+                + " does not support "
+                + "\"" + elementOI.getTypeName() + "\""
+                + " types");
+    }
+
+    /**
+     * Checks that sum/avg can be computed for the element type of the given accessor, decimal
+     * included.
+     */
+    public static void checkSummable(ArrayAccessor accessor, String functionName) throws UDFArgumentException {
+        ObjectInspector elementOI = accessor.getElementOI();
+        if (elementOI.getCategory() == ObjectInspector.Category.PRIMITIVE
+                && ((PrimitiveObjectInspector) elementOI).getPrimitiveCategory() == PrimitiveObjectInspector.PrimitiveCategory.DECIMAL) {
+            return;
+        }
+        checkNumeric(accessor, functionName);
+    }
+
+    /**
+     * @return true if sums are accumulated as bigint, false if as double or decimal
+     */
+    public boolean isIntegral() {
+        return integral;
+    }
+
+    /**
+     * @return true if sums are accumulated as decimal
+     */
+    public boolean isDecimal() {
+        return decimal;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getNullCount() {
+        return nullCount;
+    }
+
+    public int getMinIndex() {
+        return minIndex;
+    }
+
+    public int getMaxIndex() {
+        return maxIndex;
+    }
+
+    public long getLongSum() {
+        return longSum;
+    }
+
+    public double getDoubleSum() {
+        return doubleSum;
+    }
+
+    /**
+     * @return the decimal sum, not set if it overflowed the maximum decimal precision
+     */
+    public HiveDecimalWritable getDecimalSum() {
+        return decimalSum;
+    }
+
+    public double getAverage() {
+        return integral ? (double) longSum / count : doubleSum / count;
+    }
+
+    private void reset() {
+        count = 0;
+        nullCount = 0;
+        minIndex = -1;
+        maxIndex = -1;
+        longSum = 0L;
+        doubleSum = 0.0d;
+        decimalSum.setFromLong(0L);
+    }
+
+    /**
+     * Finds the positions of the minimum and maximum non-null elements in one pass. Ties keep the
+     * first occurrence.
+     *
+     * @return false if the array is null or has no non-null element
+     */
+    public boolean minMax(Object array) {
+        reset();
+        int length = accessor.length(array);
+        if (array == null || length <= 0) {
+            return false;
+        }
+
+        switch (accessor.getKind()) {
+            case INT: {
+                ArrayAccessor.IntAccessor intAccessor = (ArrayAccessor.IntAccessor) accessor;
+                int min = 0;
+                int max = 0;
+                for (int i = 0; i < length; i++) {
+                    Object element = accessor.get(array, i);
+                    if (element == null) {
+                        nullCount++;
+                        continue;
+                    }
+                    int value = intAccessor.intValue(element);
+                    if (count++ == 0) {
+                        min = max = value;
+                        minIndex = maxIndex = i;
+                    } else if (value < min) {
+                        min = value;
+                        minIndex = i;
+                    } else if (value > max) {
+                        max = value;
+                        maxIndex = i;
+                    }
+                }
+                break;
+            }
+            case LONG: {
+                ArrayAccessor.LongAccessor longAccessor = (ArrayAccessor.LongAccessor) accessor;
+                long min = 0L;
+                long max = 0L;
+                for (int i = 0; i < length; i++) {
+                    Object element = accessor.get(array, i);
+                    if (element == null) {
+                        nullCount++;
+                        continue;
+                    }
+                    long value = longAccessor.longValue(element);
+                    if (count++ == 0) {
+                        min = max = value;
+                        minIndex = maxIndex = i;
+                    } else if (value < min) {
+                        min = value;
+                        minIndex = i;
+                    } else if (value > max) {
+                        max = value;
+                        maxIndex = i;
+                    }
+                }
+                break;
+            }
+            case DOUBLE: {
+                ArrayAccessor.DoubleAccessor doubleAccessor = (ArrayAccessor.DoubleAccessor) accessor;
+                double min = 0.0d;
+                double max = 0.0d;
+                for (int i = 0; i < length; i++) {
+                    Object element = accessor.get(array, i);
+                    if (element == null) {
+                        nullCount++;
+                        continue;
+                    }
+                    double value = doubleAccessor.doubleValue(element);
+                    if (count++ == 0) {
+                        min = max = value;
+                        minIndex = maxIndex = i;
+                    } else if (ArrayAccessor.DoubleAccessor.compareDoubles(value, min) < 0) {
+                        min = value;
+                        minIndex = i;
+                    } else if (ArrayAccessor.DoubleAccessor.compareDoubles(value, max) > 0) {
+                        max = value;
+                        maxIndex = i;
+                    }
+                }
+                break;
+            }
+            default: {
+                for (int i = 0; i < length; i++) {
+                    if (accessor.isNull(array, i)) {
+                        nullCount++;
+                        continue;
+                    }
+                    if (count++ == 0) {
+                        minIndex = maxIndex = i;
+                    } else if (accessor.compare(array, i, minIndex) < 0) {
+                        minIndex = i;
+                    } else if (accessor.compare(array, i, maxIndex) > 0) {
+                        maxIndex = i;
+                    }
+                }
+                break;
+            }
+        }
+        return count > 0;
+    }
+
+    /**
+     * Sums the non-null elements; the accumulator is bigint for integral types, decimal for decimal
+     * and double otherwise.
+     *
+     * @return false if the array is null or has no non-null element
+     */
+    public boolean sum(Object array) {
+        reset();
+        int length = accessor.length(array);
+        if (array == null || length <= 0) {
+            return false;
+        }
+
+        switch (accessor.getKind()) {
+            case INT: {
+                ArrayAccessor.IntAccessor intAccessor = (ArrayAccessor.IntAccessor) accessor;
+                for (int i = 0; i < length; i++) {
+                    Object element = accessor.get(array, i);
+                    if (element == null) {
+                        nullCount++;
+                    } else {
+                        longSum += intAccessor.intValue(element);
+                        count++;
+                    }
+                }
+                break;
+            }
+            case LONG: {
+                ArrayAccessor.LongAccessor longAccessor = (ArrayAccessor.LongAccessor) accessor;
+                for (int i = 0; i < length; i++) {
+                    Object element = accessor.get(array, i);
+                    if (element == null) {
+                        nullCount++;
+                    } else {
+                        longSum += longAccessor.longValue(element);
+                        count++;
+                    }
+                }
+                break;
+            }
+            case DOUBLE: {
+                ArrayAccessor.DoubleAccessor doubleAccessor = (ArrayAccessor.DoubleAccessor) accessor;
+                for (int i = 0; i < length; i++) {
+                    Object element = accessor.get(array, i);
+                    if (element == null) {
+                        nullCount++;
+                    } else {
+                        doubleSum += doubleAccessor.doubleValue(element);
+                        count++;
+                    }
+                }
+                break;
+            }
+            default: {
+                // tinyint, smallint, float and decimal go through the primitive inspector
+                for (int i = 0; i < length; i++) {
+                    Object element = accessor.get(array, i);
+                    if (element == null) {
+                        nullCount++;
+                    } else if (decimal) {
+                        decimalSum.mutateAdd(((HiveDecimalObjectInspector) numericOI).getPrimitiveWritableObject(element));
+                        count++;
+                    } else if (integral) {
+                        longSum += PrimitiveObjectInspectorUtils.getLong(element, numericOI);
+                        count++;
+                    } else {
+                        doubleSum += PrimitiveObjectInspectorUtils.getDouble(element, numericOI);
+                        count++;
+                    }
+                }
+                break;
+            }
+        }
+        return count > 0;
+    }
+}
@@ -0,0 +1,276 @@
+package io.datadynamics.hive.udf.utils;
+
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorUtils;
+
+/**
+ * Order statistics over the non-null elements of an array, without sorting it.
+ * <p>
+ * {@link #top} keeps the k largest or smallest elements in a bounded binary heap, O(n log k).
+ * {@link #load} followed by {@link #select} partitions around the requested rank with quickselect,
+ * O(n) on average. int, bigint and double elements are compared as primitive long keys that
+ * follow the order of {@link ArrayAccessor#compare}, other element types compare positions through
+ * the accessor. Results are positions in the array; the buffers are reused by the next call.
+ */
+public final class ArraySelector {
+    private static final int INITIAL_SIZE = 128;
+
+    private final ArrayAccessor accessor;
+    private final boolean keyed;
+    private long[] keys = new long[INITIAL_SIZE];
+    private int[] positions = new int[INITIAL_SIZE];
+    private Object array;
+    private int count;
+
+    public ArraySelector(ArrayAccessor accessor) {
+        this.accessor = accessor;
+        switch (accessor.getKind()) {
+            case INT:
+            case LONG:
+            case DOUBLE:
+                keyed = true;
+                break;
+            default:
+                keyed = false;
+                break;
+        }
+    }
+
+    /**
+     * Long key with the same order as the element: doubles are mapped with {@link KeyHeap#doubleKey},
+     * so that signed comparison of the keys follows {@link ArrayAccessor.DoubleAccessor#compareDoubles}.
+     */
+    private long key(Object element) {
+        switch (accessor.getKind()) {
+            case INT:
+                return ((ArrayAccessor.IntAccessor) accessor).intValue(element);
+            case LONG:
+                return ((ArrayAccessor.LongAccessor) accessor).longValue(element);
+            default:
+                return KeyHeap.doubleKey(((ArrayAccessor.DoubleAccessor) accessor).doubleValue(element));
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (positions.length < size) {
+            positions = new int[size];
+            if (keyed) {
+                keys = new long[size];
+            }
+        }
+    }
+
+    private void swap(int left, int right) {
+        int position = positions[left];
+        positions[left] = positions[right];
+        positions[right] = position;
+        if (keyed) {
+            long key = keys[left];
+            keys[left] = keys[right];
+            keys[right] = key;
+        }
+    }
+
+    public int getPosition(int index) {
+        return positions[index];
+    }
+
+    /**
+     * @param array non-null array
+     * @param k     maximum number of elements, not negative
+     * @return number of selected elements; {@code getPosition(0 .. count - 1)} are the positions of
+     * the k largest (or smallest) non-null elements, largest (or smallest) first
+     */
+    public int top(Object array, int k, boolean largest) {
+        int length = accessor.length(array);
+        int capacity = Math.min(k, length);
+        ensureCapacity(capacity);
+        if (capacity <= 0) {
+            return 0;
+        }
+        return keyed ? topKeys(array, length, capacity, largest) : topPositions(array, length, capacity, largest);
+    }
+
+    /**
+     * {@link KeyHeap} of the best keys seen so far, smallest of them at the root. For the smallest
+     * elements the keys are complemented, which reverses their order.
+     */
+    private int topKeys(Object array, int length, int capacity, boolean largest) {
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            Object element = accessor.get(array, i);
+            if (element != null) {
+                size = KeyHeap.offer(keys, positions, size, capacity, largest ? key(element) : ~key(element), i);
+            }
+        }
+
+        // best key first
+        KeyHeap.sortDescending(keys, positions, size);
+        return size;
+    }
+
+    private int topPositions(Object array, int length, int capacity, boolean largest) {
+        int sign = largest ? 1 : -1;
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            if (accessor.isNull(array, i)) {
+                continue;
+            }
+            if (size < capacity) {
+                positions[size] = i;
+                siftUpPosition(array, size++, sign);
+            } else if (sign * accessor.compare(array, i, positions[0]) > 0) {
+                positions[0] = i;
+                siftDownPosition(array, 0, size, sign);
+            }
+        }
+
+        for (int heapSize = size - 1; heapSize > 0; heapSize--) {
+            swap(0, heapSize);
+            siftDownPosition(array, 0, heapSize, sign);
+        }
+        return size;
+    }
+
+    private void siftUpPosition(Object array, int index, int sign) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (sign * accessor.compare(array, positions[parent], positions[index]) <= 0) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDownPosition(Object array, int index, int size, int sign) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && sign * accessor.compare(array, positions[child + 1], positions[child]) < 0) {
+                child++;
+            }
+            if (sign * accessor.compare(array, positions[index], positions[child]) <= 0) {
+                return;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    /**
+     * Collects the non-null elements of the array for {@link #select}.
+     *
+     * @param array non-null array
+     * @return number of non-null elements
+     */
+    public int load(Object array) {
+        this.array = array;
+        int length = accessor.length(array);
+        ensureCapacity(length);
+        count = 0;
+        for (int i = 0; i < length; i++) {
+            Object element = accessor.get(array, i);
+            if (element != null) {
+                if (keyed) {
+                    keys[count] = key(element);
+                }
+                positions[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Quickselect: partitions the loaded elements so that the one of the given rank is in place,
+     * with no greater element before it and no smaller element after it.
+     *
+     * @param rank 0 for the smallest loaded element, up to {@code count - 1}
+     * @return position of the element of that rank in the array
+     */
+    public int select(int rank) {
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int pivot = (low + high) >>> 1;
+            int i = low;
+            int j = high;
+            if (keyed) {
+                long pivotKey = keys[pivot];
+                while (i <= j) {
+                    while (keys[i] < pivotKey) {
+                        i++;
+                    }
+                    while (keys[j] > pivotKey) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        swap(i++, j--);
+                    }
+                }
+            } else {
+                int pivotPosition = positions[pivot];
+                while (i <= j) {
+                    while (accessor.compare(array, positions[i], pivotPosition) < 0) {
+                        i++;
+                    }
+                    while (accessor.compare(array, positions[j], pivotPosition) > 0) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        swap(i++, j--);
+                    }
+                }
+            }
+
+            // [low, j] <= pivot <= [i, high], and everything in between equals the pivot
+            if (rank <= j) {
+                high = j;
+            } else if (rank >= i) {
+                low = i;
+            } else {
+                break;
+            }
+        }
+        return positions[rank];
+    }
+
+    /**
+     * @param rank rank passed to the last {@link #select} call, less than {@code count - 1}
+     * @return position of the element of the next rank, the smallest element after it
+     */
+    public int selectNext(int rank) {
+        int next = rank + 1;
+        for (int i = rank + 2; i < count; i++) {
+            if (keyed ? keys[i] < keys[next] : accessor.compare(array, positions[i], positions[next]) < 0) {
+                next = i;
+            }
+        }
+        return positions[next];
+    }
+
+    /**
+     * Percentile of the loaded numeric elements, interpolated linearly between the two closest
+     * ranks like Hive's percentile aggregate.
+     *
+     * @param percentage between 0 and 1
+     */
+    public double percentile(double percentage) {
+        double rank = percentage * (count - 1);
+        int lowerRank = (int) Math.floor(rank);
+        double lower = doubleValue(select(lowerRank));
+        double fraction = rank - lowerRank;
+        if (fraction == 0.0d || lowerRank + 1 >= count) {
+            return lower;
+        }
+        double upper = doubleValue(selectNext(lowerRank));
+        return lower + fraction * (upper - lower);
+    }
+
+    private double doubleValue(int position) {
+        return PrimitiveObjectInspectorUtils.getDouble(accessor.get(array, position),
+                (PrimitiveObjectInspector) accessor.getElementOI());
+    }
+}
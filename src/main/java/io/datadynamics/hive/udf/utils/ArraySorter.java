@@ -0,0 +1,312 @@
+package io.datadynamics.hive.udf.utils;
+
+import io.datadynamics.hive.udf.fastuitl.ints.AbstractIntComparator;
+import io.datadynamics.hive.udf.fastuitl.ints.IntArrays;
+import io.datadynamics.hive.udf.fastuitl.longs.LongArrays;
+import org.apache.hadoop.hive.serde2.io.DoubleWritable;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.WritableComparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorts arrays with a kernel chosen per element kind.
+ * <p>
+ * int and bigint values are copied into a primitive buffer and radix sorted, doubles are sorted
+ * with the JDK dual-pivot quicksort, and strings are copied into a byte arena and sorted byte-wise.
+ * Large comparison sorts run on the fork/join pool, see {@link IntArrays#parallelQuickSort}.
+ * Those kinds are returned as reused writables ({@link #getOutputElementOI()}). Other element
+ * types sort a position index through the accessor comparator and return the original elements.
+ */
+public final class ArraySorter {
+    private static final int INITIAL_SIZE = 128;
+
+    private final ArrayAccessor accessor;
+    private final boolean descending;
+    private final boolean nullsFirst;
+    private final ArrayList<Object> result = new ArrayList<Object>();
+
+    private int[] ints;
+    private int[] intScratch;
+    private long[] longs;
+    private long[] longScratch;
+    private final int[] radixCount = new int[IntArrays.RADIX_COUNT_SIZE];
+    private double[] doubles;
+    private int[] positions = new int[INITIAL_SIZE];
+    private byte[] arena;
+    private int[] offsets;
+    private int[] lengths;
+    private Object[] pool = new Object[0];
+
+    public ArraySorter(ArrayAccessor accessor, boolean descending, boolean nullsFirst) {
+        this.accessor = accessor;
+        this.descending = descending;
+        this.nullsFirst = nullsFirst;
+    }
+
+    public ObjectInspector getOutputElementOI() {
+        switch (accessor.getKind()) {
+            case INT:
+                return PrimitiveObjectInspectorFactory.writableIntObjectInspector;
+            case LONG:
+                return PrimitiveObjectInspectorFactory.writableLongObjectInspector;
+            case DOUBLE:
+                return PrimitiveObjectInspectorFactory.writableDoubleObjectInspector;
+            case STRING:
+                return PrimitiveObjectInspectorFactory.writableStringObjectInspector;
+            default:
+                return accessor.getElementOI();
+        }
+    }
+
+    /**
+     * @param array non-null array
+     * @return sorted elements; the list and its writables are reused by the next call
+     */
+    public List<Object> sort(Object array) {
+        result.clear();
+        int length = accessor.length(array);
+        if (length <= 0) {
+            return result;
+        }
+
+        switch (accessor.getKind()) {
+            case INT:
+                sortInts(array, length);
+                break;
+            case LONG:
+                sortLongs(array, length);
+                break;
+            case DOUBLE:
+                sortDoubles(array, length);
+                break;
+            case STRING:
+                sortStrings(array, length);
+                break;
+            default:
+                sortPositions(array, length);
+                break;
+        }
+        return result;
+    }
+
+    private void addNulls(int nullCount) {
+        for (int i = 0; i < nullCount; i++) {
+            result.add(null);
+        }
+    }
+
+    /**
+     * Returns the reused writable at {@code index}, creating it on first use only.
+     */
+    private Object pooled(int index) {
+        if (index >= pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(index + 1, pool.length * 2));
+        }
+        Object writable = pool[index];
+        if (writable == null) {
+            writable = newWritable();
+            pool[index] = writable;
+        }
+        return writable;
+    }
+
+    private Object newWritable() {
+        switch (accessor.getKind()) {
+            case INT:
+                return new IntWritable();
+            case LONG:
+                return new LongWritable();
+            case DOUBLE:
+                return new DoubleWritable();
+            case STRING:
+                return new Text();
+            default:
+                throw new IllegalStateException("No reused writable for " + accessor.getKind());
+        }
+    }
+
+    private void sortInts(Object array, int length) {
+        if (ints == null || ints.length < length) {
+            ints = new int[Math.max(length, INITIAL_SIZE)];
+            intScratch = new int[ints.length];
+        }
+        ArrayAccessor.IntAccessor intAccessor = (ArrayAccessor.IntAccessor) accessor;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            Object element = accessor.get(array, i);
+            if (element != null) {
+                ints[count++] = intAccessor.intValue(element);
+            }
+        }
+        IntArrays.radixSort(ints, 0, count, intScratch, radixCount);
+        if (descending) {
+            IntArrays.reverse(ints, 0, count);
+        }
+
+        if (nullsFirst) {
+            addNulls(length - count);
+        }
+        for (int i = 0; i < count; i++) {
+            IntWritable writable = (IntWritable) pooled(i);
+            writable.set(ints[i]);
+            result.add(writable);
+        }
+        if (!nullsFirst) {
+            addNulls(length - count);
+        }
+    }
+
+    private void sortLongs(Object array, int length) {
+        if (longs == null || longs.length < length) {
+            longs = new long[Math.max(length, INITIAL_SIZE)];
+            longScratch = new long[longs.length];
+        }
+        ArrayAccessor.LongAccessor longAccessor = (ArrayAccessor.LongAccessor) accessor;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            Object element = accessor.get(array, i);
+            if (element != null) {
+                longs[count++] = longAccessor.longValue(element);
+            }
+        }
+        LongArrays.radixSort(longs, 0, count, longScratch, radixCount);
+        if (descending) {
+            LongArrays.reverse(longs, 0, count);
+        }
+
+        if (nullsFirst) {
+            addNulls(length - count);
+        }
+        for (int i = 0; i < count; i++) {
+            LongWritable writable = (LongWritable) pooled(i);
+            writable.set(longs[i]);
+            result.add(writable);
+        }
+        if (!nullsFirst) {
+            addNulls(length - count);
+        }
+    }
+
+    private void sortDoubles(Object array, int length) {
+        if (doubles == null || doubles.length < length) {
+            doubles = new double[Math.max(length, INITIAL_SIZE)];
+        }
+        ArrayAccessor.DoubleAccessor doubleAccessor = (ArrayAccessor.DoubleAccessor) accessor;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            Object element = accessor.get(array, i);
+            if (element != null) {
+                doubles[count++] = doubleAccessor.doubleValue(element);
+            }
+        }
+        // dual-pivot quicksort, split across the fork/join pool for large arrays
+        if (count >= IntArrays.getParallelSortThreshold()) {
+            Arrays.parallelSort(doubles, 0, count);
+        } else {
+            Arrays.sort(doubles, 0, count);
+        }
+
+        if (nullsFirst) {
+            addNulls(length - count);
+        }
+        for (int i = 0; i < count; i++) {
+            DoubleWritable writable = (DoubleWritable) pooled(i);
+            writable.set(doubles[descending ? count - 1 - i : i]);
+            result.add(writable);
+        }
+        if (!nullsFirst) {
+            addNulls(length - count);
+        }
+    }
+
+    private void sortStrings(Object array, int length) {
+        if (offsets == null || offsets.length < length) {
+            offsets = new int[Math.max(length, INITIAL_SIZE)];
+            lengths = new int[offsets.length];
+        }
+        if (positions.length < length) {
+            positions = new int[length];
+        }
+        if (arena == null) {
+            arena = new byte[INITIAL_SIZE * 16];
+        }
+
+        ArrayAccessor.StringAccessor stringAccessor = (ArrayAccessor.StringAccessor) accessor;
+        int count = 0;
+        int arenaLength = 0;
+        for (int i = 0; i < length; i++) {
+            Object element = accessor.get(array, i);
+            if (element == null) {
+                continue;
+            }
+            Text text = stringAccessor.textValue(element);
+            int textLength = text.getLength();
+            if (arenaLength + textLength > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaLength + textLength));
+            }
+            System.arraycopy(text.getBytes(), 0, arena, arenaLength, textLength);
+            offsets[count] = arenaLength;
+            lengths[count] = textLength;
+            positions[count] = count;
+            arenaLength += textLength;
+            count++;
+        }
+
+        final byte[] bytes = arena;
+        IntArrays.parallelQuickSort(positions, 0, count, new AbstractIntComparator() {
+            @Override
+            public int compare(int left, int right) {
+                int compareValue = WritableComparator.compareBytes(bytes, offsets[left], lengths[left],
+                        bytes, offsets[right], lengths[right]);
+                return descending ? -compareValue : compareValue;
+            }
+        });
+
+        if (nullsFirst) {
+            addNulls(length - count);
+        }
+        for (int i = 0; i < count; i++) {
+            Text text = (Text) pooled(i);
+            int position = positions[i];
+            text.set(arena, offsets[position], lengths[position]);
+            result.add(text);
+        }
+        if (!nullsFirst) {
+            addNulls(length - count);
+        }
+    }
+
+    private void sortPositions(Object array, int length) {
+        if (positions.length < length) {
+            positions = new int[length];
+        }
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (!accessor.isNull(array, i)) {
+                positions[count++] = i;
+            }
+        }
+
+        accessor.sortPositions(array, positions, 0, count);
+        if (descending) {
+            IntArrays.reverse(positions, 0, count);
+        }
+
+        if (nullsFirst) {
+            addNulls(length - count);
+        }
+        for (int i = 0; i < count; i++) {
+            result.add(accessor.get(array, positions[i]));
+        }
+        if (!nullsFirst) {
+            addNulls(length - count);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.datadynamics.hive.udf.utils;
+
+import java.util.Arrays;
+
+/**
+ * Counts the distinct non-null values of an array in one pass.
+ * <p>
+ * Hashable elements are counted against an {@link ArrayElementSet}, whose insertion ordinals index
+ * plain count and position arrays. Other element types sort a position index and count the runs.
+ * Either way the values are numbered in order of first occurrence. The counter is meant to be
+ * kept in a UDF and reused for every row.
+ */
+public final class ArrayValueCounter {
+    private static final int INITIAL_SIZE = 128;
+
+    private final ArrayAccessor accessor;
+    private final ArrayElementSet set;
+    private long[] counts = new long[INITIAL_SIZE];
+    private int[] positions = new int[INITIAL_SIZE];
+    private int size;
+
+    public ArrayValueCounter(ArrayAccessor accessor) {
+        this.accessor = accessor;
+        this.set = ArrayElementSet.isSupported(accessor) ? new ArrayElementSet(accessor) : null;
+    }
+
+    /**
+     * @param array non-null array
+     * @return number of distinct non-null values
+     */
+    public int count(Object array) {
+        int length = accessor.length(array);
+        if (counts.length < length) {
+            counts = new long[length];
+            positions = new int[length];
+        }
+        size = set != null ? hashCount(array, length) : sortCount(array, length);
+        return size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param ordinal 0 for the first value to occur in the array, 1 for the second, ...
+     */
+    public long getCount(int ordinal) {
+        return counts[ordinal];
+    }
+
+    /**
+     * @return position of the first occurrence of the value in the array
+     */
+    public int getPosition(int ordinal) {
+        return positions[ordinal];
+    }
+
+    private int hashCount(Object array, int length) {
+        set.clear();
+        for (int i = 0; i < length; i++) {
+            Object element = accessor.get(array, i);
+            if (element == null) {
+                continue;
+            }
+            int ordinal = set.add(accessor, element);
+            if (ordinal >= 0) {
+                positions[ordinal] = i;
+                counts[ordinal] = 1;
+            } else {
+                counts[-ordinal - 1]++;
+            }
+        }
+        return set.size();
+    }
+
+    private int sortCount(Object array, int length) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (!accessor.isNull(array, i)) {
+                positions[count++] = i;
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        accessor.sortPositions(array, positions, 0, count);
+
+        // one (first position, count) pair per run, packed so that sorting orders them by position
+        int runs = 0;
+        int basePosition = positions[0];
+        int firstPosition = basePosition;
+        long runLength = 1;
+        for (int i = 1; i < count; i++) {
+            int currentPosition = positions[i];
+            if (accessor.compare(array, basePosition, currentPosition) == 0) {
+                firstPosition = Math.min(firstPosition, currentPosition);
+                runLength++;
+            } else {
+                counts[runs++] = ((long) firstPosition << 32) | runLength;
+                basePosition = currentPosition;
+                firstPosition = currentPosition;
+                runLength = 1;
+            }
+        }
+        counts[runs++] = ((long) firstPosition << 32) | runLength;
+
+        Arrays.sort(counts, 0, runs);
+        for (int i = 0; i < runs; i++) {
+            positions[i] = (int) (counts[i] >>> 32);
+            counts[i] &= 0xFFFFFFFFL;
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,71 @@
+package io.datadynamics.hive.udf.utils;
+
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view of several arrays one after the other. Each element is read from its part
+ * through the part's inspector on access, nothing is copied.
+ * <p>
+ * The parts must share an element inspector. A view is reused by its UDF for every row: call
+ * {@link #reset()} and then {@link #addPart} for every input array.
+ */
+public final class ConcatListView extends AbstractList<Object> implements RandomAccess {
+    private ListObjectInspector[] partOIs = new ListObjectInspector[2];
+    private Object[] parts = new Object[2];
+    // ends[i] is the index in this view just after the last element of part i
+    private int[] ends = new int[2];
+    private int partCount;
+
+    public ConcatListView reset() {
+        Arrays.fill(parts, 0, partCount, null);
+        partCount = 0;
+        return this;
+    }
+
+    /**
+     * @param length length of the part, as returned by {@code partOI.getListLength(part)}
+     */
+    public void addPart(ListObjectInspector partOI, Object part, int length) {
+        if (length <= 0) {
+            return;
+        }
+        if (partCount == parts.length) {
+            partOIs = Arrays.copyOf(partOIs, partCount * 2);
+            parts = Arrays.copyOf(parts, partCount * 2);
+            ends = Arrays.copyOf(ends, partCount * 2);
+        }
+        partOIs[partCount] = partOI;
+        parts[partCount] = part;
+        ends[partCount] = size() + length;
+        partCount++;
+    }
+
+    @Override
+    public Object get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        // first part whose end is past the index
+        int low = 0;
+        int high = partCount - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] <= index) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int start = low == 0 ? 0 : ends[low - 1];
+        return partOIs[low].getListElement(parts[low], index - start);
+    }
+
+    @Override
+    public int size() {
+        return partCount == 0 ? 0 : ends[partCount - 1];
+    }
+}
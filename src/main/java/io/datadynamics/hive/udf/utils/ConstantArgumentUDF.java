@@ -0,0 +1,148 @@
+package io.datadynamics.hive.udf.utils;
+
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.objectinspector.ConstantObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorConverters;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorConverters.Converter;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+
+/**
+ * Base class for UDFs whose arguments are usually literals, such as the delimiter of array_join or
+ * the key of map_get_or_default.
+ * <p>
+ * {@link #argument} wraps an argument in {@code initialize()}. A {@link ConstantObjectInspector}
+ * argument is read and converted once there, and {@link Argument#get} returns that value without
+ * touching the deferred object; any other argument is read and converted on every call.
+ * <p>
+ * The value argument of a search such as array_contains(array, value) is bound to the array
+ * accessor with {@link Argument#bindTo}; a literal value is then bound only once.
+ */
+public abstract class ConstantArgumentUDF extends GenericUDF {
+
+    public static final class Argument {
+        private final int index;
+        private final ObjectInspector inputOI;
+        private final Converter converter;
+        private final boolean constant;
+        private final Object constantValue;
+        private final ObjectInspector valueOI;
+
+        private ArrayAccessor accessor;
+        private boolean constantBound; // bind() result of a literal value, computed once
+
+        private Argument(int index, ObjectInspector inputOI, ObjectInspector valueOI, Converter converter) {
+            this.index = index;
+            this.inputOI = inputOI;
+            this.valueOI = valueOI;
+            this.converter = converter;
+            this.constant = ObjectInspectorUtils.isConstantObjectInspector(inputOI);
+            this.constantValue = constant ? convertConstant() : null;
+        }
+
+        private Object convertConstant() {
+            Object value = ((ConstantObjectInspector) inputOI).getWritableConstantValue();
+            if (value == null || converter == null) {
+                return value;
+            }
+            try {
+                return converter.convert(value);
+            } catch (RuntimeException e) {
+                // a literal that cannot be converted behaves like a null literal
+                return null;
+            }
+        }
+
+        public boolean isConstant() {
+            return constant;
+        }
+
+        /**
+         * @return the converted literal, or null if the argument is not constant
+         */
+        public Object getConstantValue() {
+            return constantValue;
+        }
+
+        public ObjectInspector getInputOI() {
+            return inputOI;
+        }
+
+        /**
+         * @return the converted value of this argument for the current row
+         */
+        public Object get(DeferredObject[] arguments) throws HiveException {
+            if (constant) {
+                return constantValue;
+            }
+            Object value = arguments[index].get();
+            if (value == null || converter == null) {
+                return value;
+            }
+            return converter.convert(value);
+        }
+
+        /**
+         * Makes this argument the value that {@code accessor} matches elements against, see
+         * {@link ArrayAccessor#bind}. A literal is bound here, once.
+         *
+         * @return this argument
+         */
+        public Argument bindTo(ArrayAccessor accessor) {
+            this.accessor = accessor;
+            if (constant) {
+                constantBound = accessor.bind(constantValue, valueOI);
+            }
+            return this;
+        }
+
+        /**
+         * Binds the value of the current row to the accessor given to {@link #bindTo}.
+         *
+         * @return false if the value is null
+         */
+        public boolean bindValue(DeferredObject[] arguments) throws HiveException {
+            if (constant) {
+                return constantBound;
+            }
+            return accessor.bind(get(arguments), valueOI);
+        }
+    }
+
+    /**
+     * @param targetOI inspector of the converted value
+     */
+    protected static Argument argument(ObjectInspector[] arguments, int index, ObjectInspector targetOI) {
+        return new Argument(index, arguments[index], targetOI,
+                ObjectInspectorConverters.getConverter(arguments[index], targetOI));
+    }
+
+    /**
+     * Wraps an argument that is used as is, with its own inspector.
+     */
+    protected static Argument argument(ObjectInspector[] arguments, int index) {
+        return new Argument(index, arguments[index], arguments[index], null);
+    }
+
+    /**
+     * Reads an option keyword such as the sort order of array_sort, which must be a literal.
+     *
+     * @return the literal, trimmed and in lower case
+     */
+    protected static String getConstantOption(ObjectInspector[] arguments, int index, String functionName)
+            throws UDFArgumentException {
+        if (!ObjectInspectorUtils.isConstantObjectInspector(arguments[index])) {
+            throw new UDFArgumentTypeException(index, "A constant string is expected at function " + functionName
+                    + ", but \"" + arguments[index].getTypeName() + "\" is found");
+        }
+        Object value = ((ConstantObjectInspector) arguments[index]).getWritableConstantValue();
+        if (value == null) {
+            throw new UDFArgumentTypeException(index, "A constant string is expected at function " + functionName
+                    + ", but null is found");
+        }
+        return value.toString().trim().toLowerCase();
+    }
+}
@@ -0,0 +1,94 @@
+package io.datadynamics.hive.udf.utils;
+
+/**
+ * Bounded binary min-heap of (long key, int position) entries held in two caller-owned arrays,
+ * keeping the entries with the largest keys. The root, {@code keys[0]}, is the smallest key kept.
+ * <p>
+ * Used for the top k elements of {@link ArraySelector} and for the largest random keys of
+ * array_weighted_sample, O(n log k) for n offered entries.
+ */
+public final class KeyHeap {
+
+    private KeyHeap() {
+    }
+
+    /**
+     * Long key with the same order as the double: signed comparison of the keys follows
+     * {@link Double#compare}, except that -0.0 and 0.0 are equal.
+     */
+    public static long doubleKey(double value) {
+        long bits = Double.doubleToLongBits(value == 0.0d ? 0.0d : value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Adds an entry while the heap holds fewer than capacity entries, otherwise replaces the root if
+     * the key is larger.
+     *
+     * @param size     number of entries in the heap
+     * @param capacity maximum number of entries, at least 1 and at most the length of both arrays
+     * @return number of entries in the heap afterwards
+     */
+    public static int offer(long[] keys, int[] positions, int size, int capacity, long key, int position) {
+        if (size < capacity) {
+            keys[size] = key;
+            positions[size] = position;
+            siftUp(keys, positions, size);
+            return size + 1;
+        }
+        if (key > keys[0]) {
+            keys[0] = key;
+            positions[0] = position;
+            siftDown(keys, positions, 0, size);
+        }
+        return size;
+    }
+
+    /**
+     * Pops the root into the freed slot at the end until the heap is empty, leaving
+     * {@code [0, size)} ordered by descending key.
+     */
+    public static void sortDescending(long[] keys, int[] positions, int size) {
+        for (int heapSize = size - 1; heapSize > 0; heapSize--) {
+            swap(keys, positions, 0, heapSize);
+            siftDown(keys, positions, 0, heapSize);
+        }
+    }
+
+    private static void swap(long[] keys, int[] positions, int left, int right) {
+        long key = keys[left];
+        keys[left] = keys[right];
+        keys[right] = key;
+        int position = positions[left];
+        positions[left] = positions[right];
+        positions[right] = position;
+    }
+
+    private static void siftUp(long[] keys, int[] positions, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[parent] <= keys[index]) {
+                return;
+            }
+            swap(keys, positions, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] keys, int[] positions, int index, int size) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (keys[index] <= keys[child]) {
+                return;
+            }
+            swap(keys, positions, index, child);
+            index = child;
+        }
+    }
+}
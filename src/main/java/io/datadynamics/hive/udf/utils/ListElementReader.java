@@ -0,0 +1,171 @@
+package io.datadynamics.hive.udf.utils;
+
+import org.apache.hadoop.hive.serde2.lazy.ByteArrayRef;
+import org.apache.hadoop.hive.serde2.lazybinary.LazyBinaryArray;
+import org.apache.hadoop.hive.serde2.lazybinary.LazyBinaryFactory;
+import org.apache.hadoop.hive.serde2.lazybinary.LazyBinaryNonPrimitive;
+import org.apache.hadoop.hive.serde2.lazybinary.LazyBinaryObject;
+import org.apache.hadoop.hive.serde2.lazybinary.LazyBinaryUtils;
+import org.apache.hadoop.hive.serde2.lazybinary.objectinspector.LazyBinaryListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Reads the length or a single element of an array without materializing the others.
+ * <p>
+ * A {@link LazyBinaryArray} parses the offsets of all of its elements on the first call to
+ * {@code getListLength} or {@code getListElement}. This reader reads its serialized bytes instead:
+ * the length is the leading vint, and an element is reached by skipping the non-null elements
+ * before it, which for fixed-width primitives is a population count of the null bitmap. Every
+ * other representation (Java lists, writables, ORC and Parquet inspectors, which are already
+ * random access) goes through the inspector.
+ */
+public final class ListElementReader {
+    private static final VarHandle BYTES;
+    private static final VarHandle START;
+
+    static {
+        VarHandle bytes = null;
+        VarHandle start = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(LazyBinaryNonPrimitive.class, MethodHandles.lookup());
+            bytes = lookup.findVarHandle(LazyBinaryNonPrimitive.class, "bytes", ByteArrayRef.class);
+            start = lookup.findVarHandle(LazyBinaryNonPrimitive.class, "start", int.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // not accessible in this runtime, read through the inspector
+            bytes = null;
+            start = null;
+        }
+        BYTES = bytes;
+        START = start;
+    }
+
+    private final ListObjectInspector arrayOI;
+    private final boolean direct;
+    private final ObjectInspector elementOI;
+    private final int fixedWidth; // serialized size of a non-null element, or 0 if it varies
+
+    private final LazyBinaryUtils.VInt vInt = new LazyBinaryUtils.VInt();
+    private final LazyBinaryUtils.RecordInfo recordInfo = new LazyBinaryUtils.RecordInfo();
+    private LazyBinaryObject element;
+
+    public ListElementReader(ListObjectInspector arrayOI) {
+        this.arrayOI = arrayOI;
+        this.direct = BYTES != null && arrayOI instanceof LazyBinaryListObjectInspector;
+        this.elementOI = arrayOI.getListElementObjectInspector();
+        this.fixedWidth = fixedWidth(elementOI);
+    }
+
+    private static int fixedWidth(ObjectInspector elementOI) {
+        if (elementOI.getCategory() != ObjectInspector.Category.PRIMITIVE) {
+            return 0;
+        }
+        switch (((PrimitiveObjectInspector) elementOI).getPrimitiveCategory()) {
+            case BOOLEAN:
+            case BYTE:
+                return 1;
+            case SHORT:
+                return 2;
+            case FLOAT:
+                return 4;
+            case DOUBLE:
+                return 8;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * @return length of the array, or -1 if it is null
+     */
+    public int length(Object array) {
+        if (array == null) {
+            return -1;
+        }
+        if (direct && array instanceof LazyBinaryArray) {
+            LazyBinaryArray lazyArray = (LazyBinaryArray) array;
+            LazyBinaryUtils.readVInt(((ByteArrayRef) BYTES.get(lazyArray)).getData(), (int) START.get(lazyArray), vInt);
+            return vInt.value;
+        }
+        return arrayOI.getListLength(array);
+    }
+
+    /**
+     * @param array non-null array
+     * @param index 0-based index; negative indexes count from the end, -1 being the last element
+     * @return the element, or null if it is null or the index is out of bounds. A LazyBinary
+     * element is reused by the next call.
+     */
+    public Object get(Object array, int index) {
+        if (direct && array instanceof LazyBinaryArray) {
+            return getLazyBinary((LazyBinaryArray) array, index);
+        }
+        int length = arrayOI.getListLength(array);
+        if (index < 0) {
+            index += length;
+        }
+        return index >= 0 && index < length ? arrayOI.getListElement(array, index) : null;
+    }
+
+    private Object getLazyBinary(LazyBinaryArray array, int index) {
+        byte[] bytes = ((ByteArrayRef) BYTES.get(array)).getData();
+        int start = (int) START.get(array);
+
+        // [vint size][null bitmap, bit set if not null][non-null elements]
+        LazyBinaryUtils.readVInt(bytes, start, vInt);
+        int length = vInt.value;
+        if (index < 0) {
+            index += length;
+        }
+        if (index < 0 || index >= length) {
+            return null;
+        }
+        int nullBytes = start + vInt.length;
+        if (!isSet(bytes, nullBytes, index)) {
+            return null;
+        }
+
+        int offset = nullBytes + (length + 7) / 8;
+        if (fixedWidth > 0) {
+            offset += fixedWidth * countSet(bytes, nullBytes, index);
+        } else {
+            for (int i = 0; i < index; i++) {
+                if (isSet(bytes, nullBytes, i)) {
+                    LazyBinaryUtils.checkObjectByteInfo(elementOI, bytes, offset, recordInfo, vInt);
+                    offset += recordInfo.elementOffset + recordInfo.elementSize;
+                }
+            }
+        }
+        LazyBinaryUtils.checkObjectByteInfo(elementOI, bytes, offset, recordInfo, vInt);
+
+        if (element == null) {
+            element = LazyBinaryFactory.createLazyBinaryObject(elementOI);
+        }
+        element.init((ByteArrayRef) BYTES.get(array), offset + recordInfo.elementOffset, recordInfo.elementSize);
+        return element.getObject();
+    }
+
+    private static boolean isSet(byte[] bytes, int bitmap, int index) {
+        return (bytes[bitmap + (index >>> 3)] & (1 << (index & 7))) != 0;
+    }
+
+    /**
+     * @return number of set bits among the first count bits of the bitmap
+     */
+    private static int countSet(byte[] bytes, int bitmap, int count) {
+        int set = 0;
+        int fullBytes = count >>> 3;
+        for (int i = 0; i < fullBytes; i++) {
+            set += Integer.bitCount(bytes[bitmap + i] & 0xFF);
+        }
+        int remaining = count & 7;
+        if (remaining > 0) {
+            set += Integer.bitCount(bytes[bitmap + fullBytes] & ((1 << remaining) - 1));
+        }
+        return set;
+    }
+}
@@ -0,0 +1,66 @@
+package io.datadynamics.hive.udf.utils;
+
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view of a contiguous range of another array, walked forward or backward.
+ * <p>
+ * Elements are read from the source array through its inspector on access, nothing is copied.
+ * Slicing or reversing a view points the new view at the original source, so chains such as
+ * {@code array_slice(array_reverse(x), 0, 10)} stay one index computation away from {@code x}.
+ * A view is reused by its UDF for every row and is only valid while the source array is.
+ */
+public final class ListView extends AbstractList<Object> implements RandomAccess {
+    private ListObjectInspector sourceOI;
+    private Object source;
+    private int offset;
+    private int step;
+    private int size;
+
+    private ListView set(ListObjectInspector sourceOI, Object source, int offset, int step, int size) {
+        this.sourceOI = sourceOI;
+        this.source = source;
+        this.offset = offset;
+        this.step = step;
+        this.size = size;
+        return this;
+    }
+
+    /**
+     * Points this view at elements {@code [from, from + length)} of the array.
+     */
+    public ListView slice(ListObjectInspector arrayOI, Object array, int from, int length) {
+        if (array instanceof ListView) {
+            ListView view = (ListView) array;
+            return set(view.sourceOI, view.source, view.offset + from * view.step, view.step, length);
+        }
+        return set(arrayOI, array, from, 1, length);
+    }
+
+    /**
+     * Points this view at the first {@code length} elements of the array in reverse order.
+     */
+    public ListView reverse(ListObjectInspector arrayOI, Object array, int length) {
+        if (array instanceof ListView) {
+            ListView view = (ListView) array;
+            return set(view.sourceOI, view.source, view.offset + (length - 1) * view.step, -view.step, length);
+        }
+        return set(arrayOI, array, length - 1, -1, length);
+    }
+
+    @Override
+    public Object get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return sourceOI.getListElement(source, offset + index * step);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
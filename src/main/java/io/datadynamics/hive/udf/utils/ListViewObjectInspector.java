@@ -0,0 +1,42 @@
+package io.datadynamics.hive.udf.utils;
+
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.StandardListObjectInspector;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inspector of the lists returned by the view based array UDFs ({@link ListView},
+ * {@link ConcatListView}). It is a standard list inspector, so consumers that create or copy
+ * standard lists keep working, with element access going straight to the view.
+ */
+public final class ListViewObjectInspector extends StandardListObjectInspector {
+    private static final ConcurrentHashMap<ObjectInspector, ListViewObjectInspector> CACHE =
+            new ConcurrentHashMap<ObjectInspector, ListViewObjectInspector>();
+
+    private ListViewObjectInspector(ObjectInspector listElementObjectInspector) {
+        super(listElementObjectInspector);
+    }
+
+    public static ListViewObjectInspector get(ObjectInspector listElementObjectInspector) {
+        ListViewObjectInspector result = CACHE.get(listElementObjectInspector);
+        if (result == null) {
+            result = new ListViewObjectInspector(listElementObjectInspector);
+            ListViewObjectInspector previous = CACHE.putIfAbsent(listElementObjectInspector, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Object getListElement(Object data, int index) {
+        if (data instanceof ListView || data instanceof ConcatListView) {
+            List<?> list = (List<?>) data;
+            return index < 0 || index >= list.size() ? null : list.get(index);
+        }
+        return super.getListElement(data, index);
+    }
+}
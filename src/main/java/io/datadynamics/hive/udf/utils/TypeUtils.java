@@ -0,0 +1,33 @@
+package io.datadynamics.hive.udf.utils;
+
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
+
+public final class TypeUtils {
+
+    private TypeUtils() {
+    }
+
+    /**
+     * @return whether the category is tinyint, smallint, int or bigint
+     */
+    public static boolean isIntegral(PrimitiveObjectInspector.PrimitiveCategory category) {
+        switch (category) {
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return whether the inspector is of a tinyint, smallint, int or bigint type
+     */
+    public static boolean isIntegral(ObjectInspector oi) {
+        return oi.getCategory() == ObjectInspector.Category.PRIMITIVE
+                && isIntegral(((PrimitiveObjectInspector) oi).getPrimitiveCategory());
+    }
+}
@@ -0,0 +1,141 @@
+package io.datadynamics.hive.udf.utils.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.hadoop.io.Text;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.fasterxml.jackson.core.JsonToken.*;
+
+/**
+ * Reads a single element of a JSON array without materializing the others.
+ * <p>
+ * Every element is skipped with the streaming parser, and only its start and end offsets are
+ * recorded. For a negative index, counting from the end, the offsets of the last {@code -index}
+ * elements are kept in a ring buffer that grows up to that size and is reused by the next array.
+ * The selected element is then sliced from the input: an object, array, number or literal as
+ * written, and a string decoded from its JSON escapes. The reader is not thread safe; keep one per
+ * UDF instance.
+ */
+public final class JsonArrayElementReader {
+    private static final int INITIAL_SIZE = 16;
+    // end offsets of elements that are not sliced as written
+    private static final int STRING = -1;
+    private static final int NULL = -2;
+
+    private final JsonExtract.ScalarTextJsonExtractor scalarExtractor = new JsonExtract.ScalarTextJsonExtractor();
+    private final Text result = new Text();
+    private int[] starts = new int[INITIAL_SIZE];
+    private int[] ends = new int[INITIAL_SIZE];
+    // offsets of the current element, relative to the start of the input
+    private int start;
+    private int end;
+
+    /**
+     * @param json  UTF-8 encoded JSON, such as the bytes of a {@code Text}
+     * @param index 0-based index; negative indexes count from the end, -1 being the last element
+     * @return the element, reused by the next call; null if json is not an array, the index is out
+     * of bounds, the element is JSON null or the JSON is invalid before the element is found
+     */
+    public Text get(byte[] json, int offset, int length, long index) {
+        try (JsonParser parser = JsonExtract.UTF8_JSON_FACTORY.createParser(json, offset, length)) {
+            if (parser.nextToken() != START_ARRAY) {
+                return null;
+            }
+            return index >= 0 ? getFromStart(parser, json, offset, length, index) : getFromEnd(parser, json, offset, length, index);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Text getFromStart(JsonParser parser, byte[] json, int offset, int length, long index) throws IOException {
+        for (long count = 0; ; count++) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == END_ARRAY) {
+                return null;
+            }
+            if (count == index) {
+                if (token == VALUE_STRING) {
+                    scalarExtractor.extractInto(parser, result);
+                    return result;
+                }
+                locate(parser);
+                return read(json, offset, length);
+            }
+            parser.skipChildren();
+        }
+    }
+
+    private Text getFromEnd(JsonParser parser, byte[] json, int offset, int length, long index) throws IOException {
+        // an array cannot have more elements than an int can count
+        int size = index < -Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) -index;
+        long count = 0;
+        while (true) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return null;
+            }
+            if (token == END_ARRAY) {
+                break;
+            }
+            locate(parser);
+            int slot = (int) (count % size);
+            if (slot == starts.length) {
+                // the ring has not wrapped yet, so its entries are in order
+                int capacity = (int) Math.min(size, 2L * starts.length);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+            }
+            starts[slot] = start;
+            ends[slot] = end;
+            count++;
+        }
+        if (count < size) {
+            return null;
+        }
+
+        // the oldest entry, element count - size, is overwritten next
+        int slot = (int) (count % size);
+        start = starts[slot];
+        end = ends[slot];
+        return read(json, offset, length);
+    }
+
+    /**
+     * Records the offsets of the element at the current token and leaves the parser on its last
+     * token. A string is not read: the parser skips it on the next token without decoding it.
+     */
+    private void locate(JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        start = JsonExtract.tokenOffset(parser);
+        if (token == START_OBJECT || token == START_ARRAY) {
+            parser.skipChildren();
+            end = JsonExtract.currentOffset(parser);
+        } else if (token == VALUE_STRING) {
+            end = STRING;
+        } else if (token == VALUE_NULL) {
+            end = NULL;
+        } else {
+            // the text of numbers and literals is kept as written
+            end = start + parser.getTextLength();
+        }
+    }
+
+    private Text read(byte[] json, int offset, int length) throws IOException {
+        if (end == NULL) {
+            return null;
+        }
+        if (end == STRING) {
+            // decode only this string, which the parser reads up to its closing quote
+            try (JsonParser parser = JsonExtract.UTF8_JSON_FACTORY.createParser(json, offset + start, length - start)) {
+                parser.nextToken();
+                scalarExtractor.extractInto(parser, result);
+            }
+            return result;
+        }
+        result.set(json, offset + start, end - start);
+        return result;
+    }
+}
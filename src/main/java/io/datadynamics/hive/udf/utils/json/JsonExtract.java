@@ -4,17 +4,31 @@ import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.io.SerializedString;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
+import org.apache.hadoop.io.Text;
 
 import java.io.IOException;
 import java.io.StringWriter;
 
 import static com.fasterxml.jackson.core.JsonFactory.Feature.CANONICALIZE_FIELD_NAMES;
+import static com.fasterxml.jackson.core.JsonFactory.Feature.FAIL_ON_SYMBOL_HASH_OVERFLOW;
+import static com.fasterxml.jackson.core.JsonFactory.Feature.INTERN_FIELD_NAMES;
 import static com.fasterxml.jackson.core.JsonToken.*;
 
 public class JsonExtract {
     private static final JsonFactory JSON_FACTORY = new JsonFactory()
             .disable(CANONICALIZE_FIELD_NAMES);
 
+    /**
+     * Factory for UTF-8 byte input. Jackson only reads bytes directly when field names are
+     * canonicalized, otherwise it decodes them through a Reader. The names are not interned, and a
+     * symbol table that overflows is dropped instead of failing the parse. Parsers of this factory
+     * should be closed, which recycles their buffers and symbol tables.
+     */
+    static final JsonFactory UTF8_JSON_FACTORY = new JsonFactory()
+            .enable(CANONICALIZE_FIELD_NAMES)
+            .disable(INTERN_FIELD_NAMES)
+            .disable(FAIL_ON_SYMBOL_HASH_OVERFLOW);
+
     private JsonExtract() {
     }
 
@@ -24,7 +38,30 @@ public class JsonExtract {
         }
 
         try {
-            JsonParser jsonParser = JSON_FACTORY.createParser(jsonInput);
+            return extract(JSON_FACTORY.createParser(jsonInput), jsonExtractor);
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * Parses UTF-8 encoded JSON in place, such as the bytes of a {@code Text}, without decoding it
+     * to a String first.
+     */
+    public static <T> T extract(byte[] jsonInput, int offset, int length, JsonExtractor<T> jsonExtractor) {
+        if (jsonInput == null) {
+            throw new NullPointerException("jsonInput is null");
+        }
+
+        try (JsonParser jsonParser = UTF8_JSON_FACTORY.createParser(jsonInput, offset, length)) {
+            return extract(jsonParser, jsonExtractor);
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    private static <T> T extract(JsonParser jsonParser, JsonExtractor<T> jsonExtractor) throws IOException {
+        try {
             // Initialize by advancing to first token and make sure it exists
             if (jsonParser.nextToken() == null) {
                 return null;
@@ -34,8 +71,6 @@ public class JsonExtract {
         } catch (JsonParseException e) {
             // Return null if we failed to parse something
             return null;
-        } catch (IOException e) {
-            throw Throwables.propagate(e);
         }
     }
 
@@ -44,8 +79,13 @@ public class JsonExtract {
     }
 
     public static <T> JsonExtractor<T> generateExtractor(String path, JsonExtractor<T> rootExtractor, boolean exceptionOnOutOfBounds) {
-        ImmutableList<String> tokens = ImmutableList.copyOf(new JsonPathTokenizer(path));
+        return generateExtractor(ImmutableList.copyOf(new JsonPathTokenizer(path)), rootExtractor, exceptionOnOutOfBounds);
+    }
 
+    /**
+     * @param tokens path segments produced by {@link JsonPathTokenizer}
+     */
+    public static <T> JsonExtractor<T> generateExtractor(ImmutableList<String> tokens, JsonExtractor<T> rootExtractor, boolean exceptionOnOutOfBounds) {
         JsonExtractor<T> jsonExtractor = rootExtractor;
         for (String token : tokens.reverse()) {
             jsonExtractor = new ObjectFieldJsonExtractor(token, jsonExtractor, exceptionOnOutOfBounds);
@@ -175,6 +215,154 @@ public class JsonExtract {
         }
     }
 
+    /**
+     * Like {@link ScalarValueJsonExtractor}, but encodes the value from the parser's character
+     * buffer straight into a {@link Text} that is reused by the next call, without a String.
+     */
+    public static class ScalarTextJsonExtractor
+            implements JsonExtractor<Text> {
+        private final Text result = new Text();
+        private byte[] buffer = new byte[64];
+
+        public Text extract(JsonParser jsonParser)
+                throws IOException {
+            return extractInto(jsonParser, result) ? result : null;
+        }
+
+        /**
+         * @return false, leaving text unchanged, if the value is not a scalar or is null
+         */
+        public boolean extractInto(JsonParser jsonParser, Text text)
+                throws IOException {
+            JsonToken token = jsonParser.getCurrentToken();
+            if (token == null) {
+                throw new JsonParseException("Unexpected end of value", jsonParser.getCurrentLocation());
+            }
+            if (!token.isScalarValue() || token == VALUE_NULL) {
+                return false;
+            }
+            int length = encode(jsonParser.getTextCharacters(), jsonParser.getTextOffset(), jsonParser.getTextLength());
+            text.set(buffer, 0, length);
+            return true;
+        }
+
+        /**
+         * UTF-8 encodes the characters into the buffer, replacing unpaired surrogates with '?' like
+         * {@link String#getBytes}.
+         *
+         * @return number of bytes
+         */
+        private int encode(char[] chars, int offset, int length) {
+            // a char takes at most 3 bytes, a surrogate pair 4
+            if (buffer.length < length * 3) {
+                buffer = new byte[Math.max(length * 3, buffer.length * 2)];
+            }
+            byte[] bytes = buffer;
+            int size = 0;
+            int end = offset + length;
+            for (int i = offset; i < end; i++) {
+                char c = chars[i];
+                if (c < 0x80) {
+                    bytes[size++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[size++] = (byte) (0xC0 | (c >> 6));
+                    bytes[size++] = (byte) (0x80 | (c & 0x3F));
+                } else if (!Character.isSurrogate(c)) {
+                    bytes[size++] = (byte) (0xE0 | (c >> 12));
+                    bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                    int codePoint = Character.toCodePoint(c, chars[++i]);
+                    bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    bytes[size++] = '?';
+                }
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Offset of the first byte (or char) of the current token, relative to the start of the input
+     * given to the parser.
+     */
+    static int tokenOffset(JsonParser jsonParser) {
+        JsonLocation location = jsonParser.getTokenLocation();
+        return (int) (location.getByteOffset() >= 0 ? location.getByteOffset() : location.getCharOffset());
+    }
+
+    /**
+     * Offset just past the last byte (or char) read by the parser.
+     */
+    static int currentOffset(JsonParser jsonParser) {
+        JsonLocation location = jsonParser.getCurrentLocation();
+        return (int) (location.getByteOffset() >= 0 ? location.getByteOffset() : location.getCharOffset());
+    }
+
+    /**
+     * Location of a value in the input of the parser, from the offset of its first byte (or char) to
+     * the offset just past its last one.
+     */
+    public static final class ValueRange {
+        private int start;
+        private int end;
+
+        void set(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        public int getLength() {
+            return end - start;
+        }
+    }
+
+    /**
+     * Locates the value instead of copying it. The caller slices its own input with the returned
+     * range, which gives the value exactly as written, without the generator and writer that
+     * {@link JsonValueJsonExtractor} needs to re-serialize it. The range is reused by the next call.
+     */
+    public static class ValueRangeJsonExtractor
+            implements JsonExtractor<ValueRange> {
+        private final ValueRange range = new ValueRange();
+
+        public ValueRange extract(JsonParser jsonParser)
+                throws IOException {
+            JsonToken token = jsonParser.getCurrentToken();
+            if (token == null) {
+                throw new JsonParseException("Unexpected end of value", jsonParser.getCurrentLocation());
+            }
+
+            int start = tokenOffset(jsonParser);
+            if (token == START_OBJECT || token == START_ARRAY) {
+                jsonParser.skipChildren();
+                range.set(start, currentOffset(jsonParser));
+            } else if (token == VALUE_STRING) {
+                // strings are read lazily, read up to the closing quote
+                jsonParser.finishToken();
+                range.set(start, currentOffset(jsonParser));
+            } else {
+                // the text of numbers and literals is kept as written
+                range.set(start, start + jsonParser.getTextLength());
+            }
+            return range;
+        }
+    }
+
+    /**
+     * Re-serializes the value, which normalizes its whitespace and escapes.
+     */
     public static class JsonValueJsonExtractor
             implements JsonExtractor<String> {
         public String extract(JsonParser jsonParser)
@@ -1,25 +1,75 @@
 package io.datadynamics.hive.udf.utils.json;
 
+import com.google.common.collect.ImmutableList;
+import org.apache.hadoop.io.Text;
+
+/**
+ * A compiled JSON path. The path is tokenized once, and each extractor is built on first use, so a
+ * UDF that only needs scalars does not pay for the others.
+ */
 public class JsonPath {
-    private final JsonExtract.JsonExtractor<String> scalarExtractor;
-    private final JsonExtract.JsonExtractor<String> objectExtractor;
-    private final JsonExtract.JsonExtractor<Long> sizeExtractor;
+    private final String pattern;
+    private final ImmutableList<String> tokens;
+    private JsonExtract.JsonExtractor<String> scalarExtractor;
+    private JsonExtract.JsonExtractor<Text> scalarTextExtractor;
+    private JsonExtract.JsonExtractor<String> objectExtractor;
+    private JsonExtract.JsonExtractor<JsonExtract.ValueRange> valueRangeExtractor;
+    private JsonExtract.JsonExtractor<Long> sizeExtractor;
 
+    /**
+     * @throws RuntimeException if the pattern is not a valid JSON path
+     */
     public JsonPath(String pattern) {
-        scalarExtractor = JsonExtract.generateExtractor(pattern, new JsonExtract.ScalarValueJsonExtractor());
-        objectExtractor = JsonExtract.generateExtractor(pattern, new JsonExtract.JsonValueJsonExtractor());
-        sizeExtractor = JsonExtract.generateExtractor(pattern, new JsonExtract.JsonSizeExtractor());
+        this.pattern = pattern;
+        this.tokens = ImmutableList.copyOf(new JsonPathTokenizer(pattern));
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public ImmutableList<String> getTokens() {
+        return tokens;
     }
 
     public JsonExtract.JsonExtractor<String> getScalarExtractor() {
+        if (scalarExtractor == null) {
+            scalarExtractor = JsonExtract.generateExtractor(tokens, new JsonExtract.ScalarValueJsonExtractor(), false);
+        }
         return scalarExtractor;
     }
 
+    /**
+     * @return extractor of scalars into a {@code Text} that it reuses
+     */
+    public JsonExtract.JsonExtractor<Text> getScalarTextExtractor() {
+        if (scalarTextExtractor == null) {
+            scalarTextExtractor = JsonExtract.generateExtractor(tokens, new JsonExtract.ScalarTextJsonExtractor(), false);
+        }
+        return scalarTextExtractor;
+    }
+
     public JsonExtract.JsonExtractor<String> getObjectExtractor() {
+        if (objectExtractor == null) {
+            objectExtractor = JsonExtract.generateExtractor(tokens, new JsonExtract.JsonValueJsonExtractor(), false);
+        }
         return objectExtractor;
     }
 
+    /**
+     * @return extractor of the location of the value in the input, which it reuses
+     */
+    public JsonExtract.JsonExtractor<JsonExtract.ValueRange> getValueRangeExtractor() {
+        if (valueRangeExtractor == null) {
+            valueRangeExtractor = JsonExtract.generateExtractor(tokens, new JsonExtract.ValueRangeJsonExtractor(), false);
+        }
+        return valueRangeExtractor;
+    }
+
     public JsonExtract.JsonExtractor<Long> getSizeExtractor() {
+        if (sizeExtractor == null) {
+            sizeExtractor = JsonExtract.generateExtractor(tokens, new JsonExtract.JsonSizeExtractor(), false);
+        }
         return sizeExtractor;
     }
 }
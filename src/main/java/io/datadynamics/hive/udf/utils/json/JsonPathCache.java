@@ -0,0 +1,48 @@
+package io.datadynamics.hive.udf.utils.json;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of compiled {@link JsonPath}s, for UDFs whose path argument is not a literal.
+ * Column paths usually take a handful of distinct values, so a row only tokenizes its path when
+ * it was not among the most recently used ones. Not thread safe; keep one per UDF instance.
+ */
+public final class JsonPathCache {
+    public static final int DEFAULT_CAPACITY = 128;
+
+    private final LinkedHashMap<String, JsonPath> paths;
+
+    public JsonPathCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public JsonPathCache(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.paths = new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return the compiled path, from the cache if it was used recently
+     * @throws RuntimeException if the pattern is not a valid JSON path
+     */
+    public JsonPath get(String pattern) {
+        JsonPath path = paths.get(pattern);
+        if (path == null) {
+            path = new JsonPath(pattern);
+            paths.put(pattern, path);
+        }
+        return path;
+    }
+
+    public int size() {
+        return paths.size();
+    }
+}
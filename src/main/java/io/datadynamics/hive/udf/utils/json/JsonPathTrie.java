@@ -0,0 +1,243 @@
+package io.datadynamics.hive.udf.utils.json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.common.base.Throwables;
+import org.apache.hadoop.io.Text;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.fasterxml.jackson.core.JsonToken.*;
+
+/**
+ * Extracts several JSON paths from a document in a single pass.
+ * <p>
+ * The paths are merged into a prefix trie. The document is read once with the streaming parser:
+ * subtrees that no path goes through are skipped, and reading stops as soon as every path has
+ * been resolved. Each path gives the same match as its own {@link JsonExtract.ObjectFieldJsonExtractor}
+ * chain, including the first field winning when a key is repeated. A scalar is returned as its
+ * text and an object or array as its JSON text, sliced from the input as written; JSON null and
+ * paths without a match give null. The document is parsed from UTF-8 bytes and scalars are
+ * encoded straight into reused {@link Text}s, with no String in between. The trie is not thread safe; keep one per UDF instance.
+ */
+public final class JsonPathTrie {
+    private static final int[] NO_INDEXES = new int[0];
+
+    private final Node root = new Node();
+    private final Text[] texts;
+    private final Text[] values;
+    private final int leafCount;
+    private final JsonExtract.ScalarTextJsonExtractor scalarExtractor = new JsonExtract.ScalarTextJsonExtractor();
+    private byte[] input;
+    private int offset;
+    private int remaining;
+    private int generation;
+
+    /**
+     * @param paths compiled paths; a null path never matches
+     */
+    public JsonPathTrie(List<JsonPath> paths) {
+        texts = new Text[paths.size()];
+        values = new Text[paths.size()];
+        int leaves = 0;
+        for (int i = 0; i < paths.size(); i++) {
+            JsonPath path = paths.get(i);
+            if (path == null) {
+                continue;
+            }
+            Node node = root;
+            for (String token : path.getTokens()) {
+                node = node.child(token);
+            }
+            node.addLeaf(i);
+            texts[i] = new Text();
+            leaves++;
+        }
+        leafCount = leaves;
+        root.finish();
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @param index index of the path in the list given to the constructor
+     * @return the value of the path in the last document, or null. The text is reused by the
+     * next document.
+     */
+    public Text getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Resolves every path against the document. A path whose value was read before a syntax error
+     * keeps it; the others are null.
+     *
+     * @param json UTF-8 encoded JSON, such as the bytes of a {@code Text}
+     */
+    public void extract(byte[] json, int offset, int length) {
+        if (json == null) {
+            throw new NullPointerException("json is null");
+        }
+        Arrays.fill(values, null);
+        remaining = leafCount;
+        generation++;
+        if (remaining == 0) {
+            return;
+        }
+
+        input = json;
+        this.offset = offset;
+        try (JsonParser jsonParser = JsonExtract.UTF8_JSON_FACTORY.createParser(json, offset, length)) {
+            if (jsonParser.nextToken() != null) {
+                walk(jsonParser, root);
+            }
+        } catch (JsonParseException e) {
+            // keep the values resolved before the error
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * The parser is on the first token of the value of the node. Unless every path has been
+     * resolved, it is left on the last token of the value.
+     */
+    private void walk(JsonParser jsonParser, Node node) throws IOException {
+        if (node.generation == generation) {
+            // a repeated key: the first occurrence has been walked already
+            jsonParser.skipChildren();
+            return;
+        }
+        node.generation = generation;
+
+        if (node.leaves.length == 0) {
+            walkChildren(jsonParser, node);
+            return;
+        }
+
+        Text value = texts[node.leaves[0]];
+        if (jsonParser.getCurrentToken().isScalarValue()) {
+            if (!scalarExtractor.extractInto(jsonParser, value)) {
+                value = null;
+            }
+        } else {
+            int start = JsonExtract.tokenOffset(jsonParser);
+            if (node.isLeafOnly()) {
+                jsonParser.skipChildren();
+            } else {
+                // the longer paths are resolved on the way; the leaves of this node are not, so the
+                // walk reads up to the end of the value
+                walkChildren(jsonParser, node);
+            }
+            // the value as written, sliced from the input
+            value.set(input, offset + start, JsonExtract.currentOffset(jsonParser) - start);
+        }
+        for (int leaf : node.leaves) {
+            if (value != null && value != texts[leaf]) {
+                texts[leaf].set(value);
+            }
+            values[leaf] = value == null ? null : texts[leaf];
+        }
+        remaining -= node.leaves.length;
+    }
+
+    private void walkChildren(JsonParser jsonParser, Node node) throws IOException {
+        JsonToken token = jsonParser.getCurrentToken();
+        if (token == START_OBJECT) {
+            while (remaining > 0) {
+                token = jsonParser.nextToken();
+                if (token == END_OBJECT) {
+                    return;
+                }
+                if (token != FIELD_NAME) {
+                    throw new JsonParseException("Unexpected end of object", jsonParser.getCurrentLocation());
+                }
+                Node child = node.fields.get(jsonParser.getCurrentName());
+                jsonParser.nextToken(); // Shift to first token of the value
+                if (child == null) {
+                    jsonParser.skipChildren();
+                } else {
+                    walk(jsonParser, child);
+                }
+            }
+        } else if (token == START_ARRAY) {
+            int next = 0;
+            for (int index = 0; remaining > 0; index++) {
+                token = jsonParser.nextToken();
+                if (token == null) {
+                    throw new JsonParseException("Unexpected end of array", jsonParser.getCurrentLocation());
+                }
+                if (token == END_ARRAY) {
+                    return;
+                }
+                if (next < node.indexes.length && node.indexes[next] == index) {
+                    walk(jsonParser, node.indexChildren[next++]);
+                } else {
+                    jsonParser.skipChildren();
+                }
+            }
+        }
+        // a scalar has no fields or elements, the paths below it do not match
+    }
+
+    private static final class Node {
+        private final Map<String, Node> fields = new HashMap<String, Node>();
+        private int[] leaves = NO_INDEXES;
+        // children whose token is an array index, sorted by index
+        private int[] indexes = NO_INDEXES;
+        private Node[] indexChildren;
+        private int generation;
+
+        private Node child(String token) {
+            Node child = fields.get(token);
+            if (child == null) {
+                child = new Node();
+                fields.put(token, child);
+            }
+            return child;
+        }
+
+        private void addLeaf(int leaf) {
+            leaves = Arrays.copyOf(leaves, leaves.length + 1);
+            leaves[leaves.length - 1] = leaf;
+        }
+
+        private boolean isLeafOnly() {
+            return fields.isEmpty();
+        }
+
+        private void finish() {
+            TreeMap<Integer, Node> indexed = new TreeMap<Integer, Node>();
+            for (Map.Entry<String, Node> entry : fields.entrySet()) {
+                int index = tryParseIndex(entry.getKey());
+                if (index >= 0) {
+                    indexed.put(index, entry.getValue());
+                }
+                entry.getValue().finish();
+            }
+            indexes = new int[indexed.size()];
+            indexChildren = new Node[indexed.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Node> entry : indexed.entrySet()) {
+                indexes[i] = entry.getKey();
+                indexChildren[i++] = entry.getValue();
+            }
+        }
+
+        private static int tryParseIndex(String token) {
+            try {
+                return Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
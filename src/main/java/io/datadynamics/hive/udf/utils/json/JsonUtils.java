@@ -3,11 +3,10 @@ package io.datadynamics.hive.udf.utils.json;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.databind.MappingJsonFactory;
-import com.google.common.collect.Lists;
+import org.apache.hadoop.io.Text;
 
 import java.io.IOException;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 
 import static com.fasterxml.jackson.core.JsonFactory.Feature.CANONICALIZE_FIELD_NAMES;
 import static com.fasterxml.jackson.core.JsonToken.*;
@@ -15,82 +14,59 @@ import static com.fasterxml.jackson.core.JsonToken.*;
 public class JsonUtils {
     private static final JsonFactory JSON_FACTORY = new JsonFactory().disable(CANONICALIZE_FIELD_NAMES);
 
-    private static final JsonFactory MAPPING_JSON_FACTORY = new MappingJsonFactory().disable(CANONICALIZE_FIELD_NAMES);
-
     public static Long jsonArrayLength(String jsonString) {
         try {
-            JsonParser parser = JSON_FACTORY.createParser(jsonString);
-            if (parser.nextToken() != START_ARRAY) {
-                return null;
-            }
-            long length = 0;
-            while (true) {
-                JsonToken token = parser.nextToken();
-                if (token == null) {
-                    return null;
-                }
-                if (token == END_ARRAY) {
-                    return length;
-                }
-                parser.skipChildren();
-
-                length++;
-            }
+            return jsonArrayLength(JSON_FACTORY.createParser(jsonString));
         } catch (IOException e) {
             return null;
         }
     }
 
-    public static String jsonArrayGet(String json, long index) {
-        try {
-            JsonParser parser = MAPPING_JSON_FACTORY.createParser(json);
+    /**
+     * Parses UTF-8 encoded JSON in place, such as the bytes of a {@code Text}.
+     */
+    public static Long jsonArrayLength(byte[] json, int offset, int length) {
+        try (JsonParser parser = JsonExtract.UTF8_JSON_FACTORY.createParser(json, offset, length)) {
+            return jsonArrayLength(parser);
+        } catch (IOException e) {
+            return null;
+        }
+    }
 
-            if (parser.nextToken() != START_ARRAY) {
+    private static Long jsonArrayLength(JsonParser parser) throws IOException {
+        if (parser.nextToken() != START_ARRAY) {
+            return null;
+        }
+        long length = 0;
+        while (true) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
                 return null;
             }
-
-            List<String> tokens = null;
-            if (index < 0) {
-                tokens = Lists.newArrayList();
+            if (token == END_ARRAY) {
+                return length;
             }
+            parser.skipChildren();
 
-            long count = 0;
-            while (true) {
-                JsonToken token = parser.nextToken();
-                if (token == null) {
-                    return null;
-                }
-                if (token == END_ARRAY) {
-                    if (tokens != null && count >= index * -1) {
-                        return tokens.get(0);
-                    }
-
-                    return null;
-                }
-
-                String arrayElement;
-                if (token == START_OBJECT || token == START_ARRAY) {
-                    arrayElement = parser.readValueAsTree().toString();
-                } else {
-                    arrayElement = parser.getValueAsString();
-                }
-
-                if (count == index) {
-                    return arrayElement;
-                }
-
-                if (tokens != null) {
-                    tokens.add(arrayElement);
+            length++;
+        }
+    }
 
-                    if (count >= index * -1) {
-                        tokens.remove(0);
-                    }
-                }
+    /**
+     * @return the element of the JSON array at index, as written for an object, array, number or
+     * literal and decoded for a string; null for JSON null or if there is no such element
+     * @see JsonArrayElementReader
+     */
+    public static String jsonArrayGet(String json, long index) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return jsonArrayGet(bytes, 0, bytes.length, index);
+    }
 
-                count++;
-            }
-        } catch (IOException e) {
-            return null;
-        }
+    /**
+     * Parses UTF-8 encoded JSON in place, such as the bytes of a {@code Text}.
+     */
+    public static String jsonArrayGet(byte[] json, int offset, int length, long index) {
+        Text element = new JsonArrayElementReader().get(json, offset, length, index);
+        return element == null ? null : element.toString();
     }
 }
@@ -0,0 +1,136 @@
+package io.datadynamics.hive.udf.vector;
+
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.vector.*;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One numeric input of a vectorized expression, seen as doubles for the current batch.
+ * <p>
+ * A {@link DoubleColumnVector} is used as is. long, decimal and string columns are converted into a
+ * scratch buffer for the rows in use only; strings that do not parse become nulls, like the
+ * row-mode conversion errors of safe_divide.
+ */
+final class DoubleView {
+    double[] vector;
+    boolean[] isNull;
+    boolean noNulls;
+    boolean isRepeating;
+
+    private double[] doubleScratch;
+    private boolean[] nullScratch;
+
+    /**
+     * Converts a constant argument as handed over by the vectorizer (Long, Double, HiveDecimal or UTF-8 bytes).
+     *
+     * @return the value, or NaN when it is null or not a number
+     */
+    static double scalarValue(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof HiveDecimal) {
+            return ((HiveDecimal) value).doubleValue();
+        } else if (value instanceof HiveDecimalWritable) {
+            return ((HiveDecimalWritable) value).doubleValue();
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            return parse(bytes, 0, bytes.length);
+        }
+        return Double.NaN;
+    }
+
+    private static double parse(byte[] bytes, int start, int length) {
+        try {
+            return Double.parseDouble(new String(bytes, start, length, StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Binds a constant; NaN stands for null.
+     */
+    void set(double value) {
+        ensureScratch(1);
+        isRepeating = true;
+        if (Double.isNaN(value)) {
+            noNulls = false;
+            nullScratch[0] = true;
+        } else {
+            noNulls = true;
+            nullScratch[0] = false;
+            doubleScratch[0] = value;
+        }
+        vector = doubleScratch;
+        isNull = nullScratch;
+    }
+
+    void load(ColumnVector input, VectorizedRowBatch batch) {
+        noNulls = input.noNulls;
+        isRepeating = input.isRepeating;
+        if (input instanceof DoubleColumnVector) {
+            vector = ((DoubleColumnVector) input).vector;
+            isNull = input.isNull;
+            return;
+        }
+
+        ensureScratch(batch.getMaxSize());
+        vector = doubleScratch;
+        isNull = input.isNull;
+        int n = isRepeating ? 1 : batch.size;
+        int[] sel = batch.selectedInUse && !isRepeating ? batch.selected : null;
+
+        if (input instanceof Decimal64ColumnVector) {
+            Decimal64ColumnVector decimal64 = (Decimal64ColumnVector) input;
+            double divisor = Math.pow(10, decimal64.scale);
+            long[] longs = decimal64.vector;
+            for (int j = 0; j < n; j++) {
+                int i = sel == null ? j : sel[j];
+                doubleScratch[i] = longs[i] / divisor;
+            }
+        } else if (input instanceof LongColumnVector) {
+            long[] longs = ((LongColumnVector) input).vector;
+            for (int j = 0; j < n; j++) {
+                int i = sel == null ? j : sel[j];
+                doubleScratch[i] = longs[i];
+            }
+        } else if (input instanceof DecimalColumnVector) {
+            HiveDecimalWritable[] decimals = ((DecimalColumnVector) input).vector;
+            for (int j = 0; j < n; j++) {
+                int i = sel == null ? j : sel[j];
+                if (noNulls || !input.isNull[i]) {
+                    doubleScratch[i] = decimals[i].doubleValue();
+                }
+            }
+        } else if (input instanceof BytesColumnVector) {
+            BytesColumnVector bytes = (BytesColumnVector) input;
+            isNull = nullScratch;
+            for (int j = 0; j < n; j++) {
+                int i = sel == null ? j : sel[j];
+                if (!noNulls && input.isNull[i]) {
+                    nullScratch[i] = true;
+                    continue;
+                }
+                double value = parse(bytes.vector[i], bytes.start[i], bytes.length[i]);
+                nullScratch[i] = Double.isNaN(value);
+                doubleScratch[i] = value;
+            }
+            noNulls = false;
+        } else {
+            throw new IllegalArgumentException("Unsupported column vector " + input.getClass().getSimpleName());
+        }
+    }
+
+    boolean isNull(int i) {
+        return !noNulls && isNull[i];
+    }
+
+    private void ensureScratch(int size) {
+        if (doubleScratch == null || doubleScratch.length < size) {
+            doubleScratch = new double[size];
+            nullScratch = new boolean[size];
+        }
+    }
+}
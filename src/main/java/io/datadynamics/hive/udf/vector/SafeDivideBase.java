@@ -0,0 +1,99 @@
+package io.datadynamics.hive.udf.vector;
+
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.exec.vector.expressions.VectorExpression;
+
+/**
+ * Division kernel shared by the vectorized safe_divide expressions: a null input, a zero
+ * denominator or a non-finite quotient gives a null output row.
+ */
+public abstract class SafeDivideBase extends VectorExpression {
+    private static final long serialVersionUID = 1L;
+
+    protected SafeDivideBase(int outputColumnNum) {
+        super(outputColumnNum);
+    }
+
+    protected SafeDivideBase() {
+        super();
+    }
+
+    protected final void divide(VectorizedRowBatch batch, DoubleView numerator, DoubleView denominator) {
+        int n = batch.size;
+        if (n == 0) {
+            return;
+        }
+
+        DoubleColumnVector outV = (DoubleColumnVector) batch.cols[outputColumnNum];
+        double[] outputVector = outV.vector;
+        boolean[] outputIsNull = outV.isNull;
+        // zero denominators produce nulls even without null inputs
+        outV.noNulls = false;
+
+        if (numerator.isRepeating && denominator.isRepeating) {
+            divideRow(numerator, denominator, 0, 0, 0, outputVector, outputIsNull);
+            outV.isRepeating = true;
+            return;
+        }
+        outV.isRepeating = false;
+
+        int numeratorStep = numerator.isRepeating ? 0 : 1;
+        int denominatorStep = denominator.isRepeating ? 0 : 1;
+        int[] sel = batch.selected;
+        if (numerator.noNulls && denominator.noNulls) {
+            double[] a = numerator.vector;
+            double[] b = denominator.vector;
+            if (batch.selectedInUse) {
+                for (int j = 0; j < n; j++) {
+                    int i = sel[j];
+                    double value = a[i * numeratorStep] / b[i * denominatorStep];
+                    outputVector[i] = value;
+                    // a zero denominator gives an infinite or NaN quotient
+                    outputIsNull[i] = !Double.isFinite(value);
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    double value = a[i * numeratorStep] / b[i * denominatorStep];
+                    outputVector[i] = value;
+                    outputIsNull[i] = !Double.isFinite(value);
+                }
+            }
+        } else if (batch.selectedInUse) {
+            for (int j = 0; j < n; j++) {
+                int i = sel[j];
+                divideRow(numerator, denominator, i * numeratorStep, i * denominatorStep, i, outputVector, outputIsNull);
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                divideRow(numerator, denominator, i * numeratorStep, i * denominatorStep, i, outputVector, outputIsNull);
+            }
+        }
+    }
+
+    private static void divideRow(DoubleView numerator, DoubleView denominator, int a, int b, int i,
+                                  double[] outputVector, boolean[] outputIsNull) {
+        if (numerator.isNull(a) || denominator.isNull(b)) {
+            outputIsNull[i] = true;
+            return;
+        }
+        double value = numerator.vector[a] / denominator.vector[b];
+        outputVector[i] = value;
+        outputIsNull[i] = !Double.isFinite(value);
+    }
+
+    /**
+     * safe_divide only accepts numeric, decimal and string arguments, so ALL_FAMILY only ever matches those.
+     */
+    protected static VectorExpressionDescriptor.Descriptor descriptor(VectorExpressionDescriptor.InputExpressionType left,
+                                                                      VectorExpressionDescriptor.InputExpressionType right) {
+        return new VectorExpressionDescriptor.Builder()
+                .setMode(VectorExpressionDescriptor.Mode.PROJECTION)
+                .setNumArguments(2)
+                .setArgumentTypes(
+                        VectorExpressionDescriptor.ArgumentType.ALL_FAMILY,
+                        VectorExpressionDescriptor.ArgumentType.ALL_FAMILY)
+                .setInputExpressionTypes(left, right).build();
+    }
+}
@@ -0,0 +1,56 @@
+package io.datadynamics.hive.udf.vector;
+
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+
+/**
+ * Vectorized safe_divide(column, column).
+ */
+public class SafeDivideColCol extends SafeDivideBase {
+    private static final long serialVersionUID = 1L;
+
+    private final int numeratorColumnNum;
+    private final int denominatorColumnNum;
+
+    private transient DoubleView numerator;
+    private transient DoubleView denominator;
+
+    public SafeDivideColCol(int numeratorColumnNum, int denominatorColumnNum, int outputColumnNum) {
+        super(outputColumnNum);
+        this.numeratorColumnNum = numeratorColumnNum;
+        this.denominatorColumnNum = denominatorColumnNum;
+    }
+
+    public SafeDivideColCol() {
+        super();
+        // dummy final assignments
+        this.numeratorColumnNum = -1;
+        this.denominatorColumnNum = -1;
+    }
+
+    @Override
+    public void evaluate(VectorizedRowBatch batch) throws HiveException {
+        if (childExpressions != null) {
+            evaluateChildren(batch);
+        }
+        if (numerator == null) {
+            numerator = new DoubleView();
+            denominator = new DoubleView();
+        }
+        numerator.load(batch.cols[numeratorColumnNum], batch);
+        denominator.load(batch.cols[denominatorColumnNum], batch);
+        divide(batch, numerator, denominator);
+    }
+
+    @Override
+    public String vectorExpressionParameters() {
+        return getColumnParamString(0, numeratorColumnNum) + ", " + getColumnParamString(1, denominatorColumnNum);
+    }
+
+    @Override
+    public VectorExpressionDescriptor.Descriptor getDescriptor() {
+        return descriptor(VectorExpressionDescriptor.InputExpressionType.COLUMN,
+                VectorExpressionDescriptor.InputExpressionType.COLUMN);
+    }
+}
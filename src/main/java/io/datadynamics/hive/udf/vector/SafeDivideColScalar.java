@@ -0,0 +1,57 @@
+package io.datadynamics.hive.udf.vector;
+
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+
+/**
+ * Vectorized safe_divide(column, constant).
+ */
+public class SafeDivideColScalar extends SafeDivideBase {
+    private static final long serialVersionUID = 1L;
+
+    private final int numeratorColumnNum;
+    // NaN for a null or non-numeric constant
+    private final double denominatorValue;
+
+    private transient DoubleView numerator;
+    private transient DoubleView denominator;
+
+    public SafeDivideColScalar(int numeratorColumnNum, Object denominatorValue, int outputColumnNum) {
+        super(outputColumnNum);
+        this.numeratorColumnNum = numeratorColumnNum;
+        this.denominatorValue = DoubleView.scalarValue(denominatorValue);
+    }
+
+    public SafeDivideColScalar() {
+        super();
+        // dummy final assignments
+        this.numeratorColumnNum = -1;
+        this.denominatorValue = Double.NaN;
+    }
+
+    @Override
+    public void evaluate(VectorizedRowBatch batch) throws HiveException {
+        if (childExpressions != null) {
+            evaluateChildren(batch);
+        }
+        if (numerator == null) {
+            numerator = new DoubleView();
+            denominator = new DoubleView();
+            denominator.set(denominatorValue);
+        }
+        numerator.load(batch.cols[numeratorColumnNum], batch);
+        divide(batch, numerator, denominator);
+    }
+
+    @Override
+    public String vectorExpressionParameters() {
+        return getColumnParamString(0, numeratorColumnNum) + ", val " + denominatorValue;
+    }
+
+    @Override
+    public VectorExpressionDescriptor.Descriptor getDescriptor() {
+        return descriptor(VectorExpressionDescriptor.InputExpressionType.COLUMN,
+                VectorExpressionDescriptor.InputExpressionType.SCALAR);
+    }
+}
@@ -0,0 +1,57 @@
+package io.datadynamics.hive.udf.vector;
+
+import org.apache.hadoop.hive.ql.exec.vector.VectorExpressionDescriptor;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+
+/**
+ * Vectorized safe_divide(constant, column).
+ */
+public class SafeDivideScalarCol extends SafeDivideBase {
+    private static final long serialVersionUID = 1L;
+
+    // NaN for a null or non-numeric constant
+    private final double numeratorValue;
+    private final int denominatorColumnNum;
+
+    private transient DoubleView numerator;
+    private transient DoubleView denominator;
+
+    public SafeDivideScalarCol(Object numeratorValue, int denominatorColumnNum, int outputColumnNum) {
+        super(outputColumnNum);
+        this.numeratorValue = DoubleView.scalarValue(numeratorValue);
+        this.denominatorColumnNum = denominatorColumnNum;
+    }
+
+    public SafeDivideScalarCol() {
+        super();
+        // dummy final assignments
+        this.numeratorValue = Double.NaN;
+        this.denominatorColumnNum = -1;
+    }
+
+    @Override
+    public void evaluate(VectorizedRowBatch batch) throws HiveException {
+        if (childExpressions != null) {
+            evaluateChildren(batch);
+        }
+        if (numerator == null) {
+            numerator = new DoubleView();
+            numerator.set(numeratorValue);
+            denominator = new DoubleView();
+        }
+        denominator.load(batch.cols[denominatorColumnNum], batch);
+        divide(batch, numerator, denominator);
+    }
+
+    @Override
+    public String vectorExpressionParameters() {
+        return "val " + numeratorValue + ", " + getColumnParamString(1, denominatorColumnNum);
+    }
+
+    @Override
+    public VectorExpressionDescriptor.Descriptor getDescriptor() {
+        return descriptor(VectorExpressionDescriptor.InputExpressionType.SCALAR,
+                VectorExpressionDescriptor.InputExpressionType.COLUMN);
+    }
+}
@@ -0,0 +1,119 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.StandardListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class UDFArrayConcatTest {
+
+    private static Object concat(UDFArrayConcat udf, Object left, Object right) throws Exception {
+        return udf.evaluate(new DeferredObject[]{new DeferredJavaObject(left), new DeferredJavaObject(right)});
+    }
+
+    @Test
+    public void testConcatView() throws Exception {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        UDFArrayConcat udf = new UDFArrayConcat();
+        ListObjectInspector outputOI = (ListObjectInspector) udf.initialize(new ObjectInspector[]{arrayOI, arrayOI});
+
+        Object output = concat(udf, Arrays.asList("a", null), Arrays.asList("b", "c", "a"));
+        assertEquals(Arrays.asList("a", null, "b", "c", "a"), output);
+        assertEquals(5, outputOI.getListLength(output));
+        assertEquals("c", outputOI.getListElement(output, 3));
+
+        assertEquals(Arrays.asList("b"), concat(udf, Collections.emptyList(), Arrays.asList("b")));
+        assertEquals(Arrays.asList("a"), concat(udf, Arrays.asList("a"), Collections.emptyList()));
+        assertEquals(Collections.emptyList(), concat(udf, Collections.emptyList(), Collections.emptyList()));
+        assertNull(concat(udf, null, Arrays.asList("b")));
+    }
+
+    @Test
+    public void testConcatCopiesMixedInspectors() throws Exception {
+        ObjectInspector leftOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        ObjectInspector rightOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.writableStringObjectInspector);
+        UDFArrayConcat udf = new UDFArrayConcat();
+        ListObjectInspector outputOI = (ListObjectInspector) udf.initialize(new ObjectInspector[]{leftOI, rightOI});
+
+        assertEquals(PrimitiveObjectInspectorFactory.writableStringObjectInspector, outputOI.getListElementObjectInspector());
+        assertEquals(Arrays.asList(new Text("a"), null, new Text("b")),
+                concat(udf, Arrays.asList("a", null), Arrays.asList(new Text("b"))));
+    }
+
+    @Test
+    public void testVariadic() throws Exception {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaLongObjectInspector);
+        ObjectInspector[] argumentOIs = new ObjectInspector[5];
+        Arrays.fill(argumentOIs, arrayOI);
+        UDFArrayConcat udf = new UDFArrayConcat();
+        udf.initialize(argumentOIs);
+
+        Object output = udf.evaluate(new DeferredObject[]{
+                new DeferredJavaObject(Arrays.asList(1L)),
+                new DeferredJavaObject(Collections.emptyList()),
+                new DeferredJavaObject(Arrays.asList(2L, 3L)),
+                new DeferredJavaObject(Collections.emptyList()),
+                new DeferredJavaObject(Arrays.asList(4L, null, 5L))});
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, null, 5L), output);
+
+        output = udf.evaluate(new DeferredObject[]{
+                new DeferredJavaObject(Arrays.asList(1L)),
+                new DeferredJavaObject(Arrays.asList(2L)),
+                new DeferredJavaObject(null),
+                new DeferredJavaObject(Arrays.asList(3L)),
+                new DeferredJavaObject(Arrays.asList(4L))});
+        assertNull(output);
+    }
+
+    @Test
+    public void testCopyMode() throws Exception {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        ObjectInspector modeOI = PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                TypeInfoFactory.stringTypeInfo, new Text("COPY"));
+        UDFArrayConcat udf = new UDFArrayConcat();
+        ListObjectInspector outputOI = (ListObjectInspector) udf.initialize(new ObjectInspector[]{arrayOI, arrayOI, arrayOI, modeOI});
+
+        // the elements share an inspector, so they are passed through without conversion
+        assertEquals(StandardListObjectInspector.class, outputOI.getClass());
+        assertSame(PrimitiveObjectInspectorFactory.javaStringObjectInspector, outputOI.getListElementObjectInspector());
+        String c = "c";
+        Object output = udf.evaluate(new DeferredObject[]{
+                new DeferredJavaObject(Arrays.asList("a")),
+                new DeferredJavaObject(Arrays.asList("b", c)),
+                new DeferredJavaObject(Collections.emptyList()),
+                null});
+        assertEquals(Arrays.asList("a", "b", "c"), output);
+        assertSame(c, outputOI.getListElement(output, 2));
+    }
+
+    @Test
+    public void testInvalidArguments() throws Exception {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        ObjectInspector modeOI = PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                TypeInfoFactory.stringTypeInfo, new Text("deep"));
+        try {
+            new UDFArrayConcat().initialize(new ObjectInspector[]{arrayOI, arrayOI, modeOI});
+            fail("Expected UDFArgumentException for an unknown mode");
+        } catch (UDFArgumentException expected) {
+            // pass
+        }
+        try {
+            new UDFArrayConcat().initialize(new ObjectInspector[]{arrayOI});
+            fail("Expected UDFArgumentException for a single array");
+        } catch (UDFArgumentException expected) {
+            // pass
+        }
+    }
+}
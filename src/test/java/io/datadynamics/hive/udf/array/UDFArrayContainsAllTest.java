@@ -0,0 +1,79 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.BooleanWritable;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class UDFArrayContainsAllTest {
+
+    private static boolean evaluate(UDFArrayContainsAll udf, Object array, Object values) throws Exception {
+        DeferredObject[] args = {new DeferredJavaObject(array), new DeferredJavaObject(values)};
+        return ((BooleanWritable) udf.evaluate(args)).get();
+    }
+
+    private static UDFArrayContainsAll init(ObjectInspector elementOI, ObjectInspector valuesOI) throws Exception {
+        UDFArrayContainsAll udf = new UDFArrayContainsAll();
+        udf.initialize(new ObjectInspector[]{ObjectInspectorFactory.getStandardListObjectInspector(elementOI), valuesOI});
+        return udf;
+    }
+
+    @Test
+    public void testHashedEitherSide() throws Exception {
+        ObjectInspector elementOI = PrimitiveObjectInspectorFactory.javaIntObjectInspector;
+        UDFArrayContainsAll udf = init(elementOI, ObjectInspectorFactory.getStandardListObjectInspector(elementOI));
+
+        // values is the smaller side, duplicates count once
+        assertEquals(true, evaluate(udf, Arrays.asList(16, 12, 18, 9), Arrays.asList(18, 9, 18)));
+        assertEquals(false, evaluate(udf, Arrays.asList(16, 12, 18, 9), Arrays.asList(18, 7)));
+        assertEquals(false, evaluate(udf, Arrays.asList(16, 12, null, 9), Arrays.asList(12, null)));
+        // array is the smaller side
+        assertEquals(true, evaluate(udf, Arrays.asList(9, 1), Arrays.asList(1, 9, 1, 9)));
+        assertEquals(false, evaluate(udf, Arrays.asList(9, 1), Arrays.asList(1, 9, 1, 2)));
+
+        assertEquals(true, evaluate(udf, Arrays.asList(9), Collections.emptyList()));
+        assertEquals(true, evaluate(udf, Collections.emptyList(), Collections.emptyList()));
+        assertEquals(false, evaluate(udf, Collections.emptyList(), Arrays.asList(9)));
+        assertEquals(false, evaluate(udf, null, Collections.emptyList()));
+    }
+
+    @Test
+    public void testConstantValues() throws Exception {
+        ObjectInspector valuesOI = ObjectInspectorFactory.getStandardConstantListObjectInspector(
+                PrimitiveObjectInspectorFactory.writableStringObjectInspector,
+                Arrays.asList(new Text("sale"), new Text("new"), new Text("sale")));
+        UDFArrayContainsAll udf = init(PrimitiveObjectInspectorFactory.javaStringObjectInspector, valuesOI);
+
+        assertEquals(true, evaluate(udf, Arrays.asList("new", "hot", "sale"), null));
+        assertEquals(false, evaluate(udf, Arrays.asList("new", "hot", null), null));
+
+        valuesOI = ObjectInspectorFactory.getStandardConstantListObjectInspector(
+                PrimitiveObjectInspectorFactory.writableStringObjectInspector,
+                Arrays.asList(new Text("new"), null));
+        udf = init(PrimitiveObjectInspectorFactory.javaStringObjectInspector, valuesOI);
+        assertEquals(false, evaluate(udf, Arrays.asList("new", null), null));
+    }
+
+    @Test
+    public void testScanFallback() throws Exception {
+        ObjectInspector elementOI = PrimitiveObjectInspectorFactory.javaHiveDecimalObjectInspector;
+        UDFArrayContainsAll udf = init(elementOI, ObjectInspectorFactory.getStandardListObjectInspector(elementOI));
+
+        assertEquals(true, evaluate(udf,
+                Arrays.asList(HiveDecimal.create("1.5"), HiveDecimal.create("2")),
+                Arrays.asList(HiveDecimal.create("2.0"), HiveDecimal.create("1.50"))));
+        assertEquals(false, evaluate(udf,
+                Arrays.asList(HiveDecimal.create("1.5"), null),
+                Arrays.asList(HiveDecimal.create("1.5"), null)));
+    }
+}
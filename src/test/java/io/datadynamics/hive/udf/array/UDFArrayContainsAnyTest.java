@@ -0,0 +1,72 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.BooleanWritable;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class UDFArrayContainsAnyTest {
+
+    private static boolean evaluate(UDFArrayContainsAny udf, Object array, Object values) throws Exception {
+        DeferredObject[] args = {new DeferredJavaObject(array), new DeferredJavaObject(values)};
+        return ((BooleanWritable) udf.evaluate(args)).get();
+    }
+
+    private static UDFArrayContainsAny init(ObjectInspector elementOI, ObjectInspector valuesOI) throws Exception {
+        UDFArrayContainsAny udf = new UDFArrayContainsAny();
+        udf.initialize(new ObjectInspector[]{ObjectInspectorFactory.getStandardListObjectInspector(elementOI), valuesOI});
+        return udf;
+    }
+
+    @Test
+    public void testHashedEitherSide() throws Exception {
+        ObjectInspector elementOI = PrimitiveObjectInspectorFactory.javaLongObjectInspector;
+        UDFArrayContainsAny udf = init(elementOI, ObjectInspectorFactory.getStandardListObjectInspector(elementOI));
+
+        // values is the smaller side
+        assertEquals(true, evaluate(udf, Arrays.asList(16L, 12L, 18L, 9L), Arrays.asList(7L, 18L)));
+        assertEquals(false, evaluate(udf, Arrays.asList(16L, 12L, 18L, 9L), Arrays.asList(7L, 8L)));
+        // array is the smaller side
+        assertEquals(true, evaluate(udf, Arrays.asList(9L, 1L), Arrays.asList(7L, 8L, 5L, 1L)));
+        assertEquals(false, evaluate(udf, Arrays.asList(9L, null), Arrays.asList(7L, null, 5L, 1L)));
+
+        assertEquals(false, evaluate(udf, Arrays.asList(9L), Collections.emptyList()));
+        assertEquals(false, evaluate(udf, null, Arrays.asList(9L)));
+        assertEquals(false, evaluate(udf, Arrays.asList(9L), null));
+    }
+
+    @Test
+    public void testConstantValues() throws Exception {
+        ObjectInspector valuesOI = ObjectInspectorFactory.getStandardConstantListObjectInspector(
+                PrimitiveObjectInspectorFactory.writableStringObjectInspector,
+                Arrays.asList(new Text("sale"), null, new Text("new")));
+        UDFArrayContainsAny udf = init(PrimitiveObjectInspectorFactory.javaStringObjectInspector, valuesOI);
+
+        assertEquals(true, evaluate(udf, Arrays.asList("hot", "new"), null));
+        assertEquals(false, evaluate(udf, Arrays.asList("hot", null), null));
+        assertEquals(false, evaluate(udf, Collections.emptyList(), null));
+    }
+
+    @Test
+    public void testScanFallback() throws Exception {
+        ObjectInspector elementOI = PrimitiveObjectInspectorFactory.javaHiveDecimalObjectInspector;
+        UDFArrayContainsAny udf = init(elementOI, ObjectInspectorFactory.getStandardListObjectInspector(elementOI));
+
+        assertEquals(true, evaluate(udf,
+                Arrays.asList(HiveDecimal.create("1.5"), HiveDecimal.create("2")),
+                Arrays.asList(null, HiveDecimal.create("2.0"))));
+        assertEquals(false, evaluate(udf,
+                Arrays.asList(HiveDecimal.create("1.5"), null),
+                Arrays.asList(null, HiveDecimal.create("3"))));
+    }
+}
@@ -6,9 +6,13 @@ import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
 import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
 import org.apache.hadoop.io.BooleanWritable;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.Text;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -36,4 +40,62 @@ public class UDFArrayContainsTest {
         output = (BooleanWritable) udf.evaluate(nullArgs);
         assertEquals("array_contains() test", new BooleanWritable(false).get(), output.get());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testConstantValue() throws Exception {
+        UDFArrayContains udf = new UDFArrayContains();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaIntObjectInspector);
+        ObjectInspector valueOI = PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                TypeInfoFactory.intTypeInfo, new IntWritable(2));
+        udf.initialize(new ObjectInspector[]{arrayOI, valueOI});
+
+        // the literal is bound once in initialize(), so its deferred object is never read
+        DeferredObject[] args = {new DeferredJavaObject(ImmutableList.of(1, 2, 3)), null};
+        assertEquals(true, ((BooleanWritable) udf.evaluate(args)).get());
+
+        args[0] = new DeferredJavaObject(ImmutableList.of(4, 5));
+        assertEquals(false, ((BooleanWritable) udf.evaluate(args)).get());
+
+        args[0] = new DeferredJavaObject(null);
+        assertEquals(false, ((BooleanWritable) udf.evaluate(args)).get());
+    }
+
+    @Test
+    public void testConstantArray() throws Exception {
+        UDFArrayContains udf = new UDFArrayContains();
+
+        List<Text> codes = Arrays.asList(new Text("A01"), null, new Text("B02"), new Text("C03"));
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardConstantListObjectInspector(
+                PrimitiveObjectInspectorFactory.writableStringObjectInspector, codes);
+        ObjectInspector valueOI = PrimitiveObjectInspectorFactory.javaStringObjectInspector;
+        udf.initialize(new ObjectInspector[]{arrayOI, valueOI});
+
+        // the literal array is hashed once, so its deferred object is never read
+        String[] values = {"B02", "B0", "C03", "Z99", "A01"};
+        boolean[] expected = {true, false, true, false, true};
+        for (int i = 0; i < values.length; i++) {
+            DeferredObject[] args = {null, new DeferredJavaObject(values[i])};
+            assertEquals(values[i], expected[i], ((BooleanWritable) udf.evaluate(args)).get());
+        }
+
+        // a null value is never contained, even if the array has null elements
+        DeferredObject[] nullArgs = {null, new DeferredJavaObject(null)};
+        assertEquals(false, ((BooleanWritable) udf.evaluate(nullArgs)).get());
+    }
+
+    @Test
+    public void testConstantIntArray() throws Exception {
+        UDFArrayContains udf = new UDFArrayContains();
+
+        List<IntWritable> ids = Arrays.asList(new IntWritable(7), new IntWritable(-3), new IntWritable(42));
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardConstantListObjectInspector(
+                PrimitiveObjectInspectorFactory.writableIntObjectInspector, ids);
+        ObjectInspector valueOI = PrimitiveObjectInspectorFactory.javaIntObjectInspector;
+        udf.initialize(new ObjectInspector[]{arrayOI, valueOI});
+
+        assertEquals(true, ((BooleanWritable) udf.evaluate(new DeferredObject[]{null, new DeferredJavaObject(-3)})).get());
+        assertEquals(false, ((BooleanWritable) udf.evaluate(new DeferredObject[]{null, new DeferredJavaObject(3)})).get());
+        assertEquals(true, ((BooleanWritable) udf.evaluate(new DeferredObject[]{null, new DeferredJavaObject(42)})).get());
+    }
+}
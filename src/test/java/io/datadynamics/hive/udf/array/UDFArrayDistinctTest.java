@@ -0,0 +1,47 @@
+package io.datadynamics.hive.udf.array;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class UDFArrayDistinctTest {
+    @Test
+    public void testArrayDistinct() throws HiveException {
+        UDFArrayDistinct udf = new UDFArrayDistinct();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI});
+
+        assertTrue(Iterables.elementsEqual(Arrays.asList("b", null, "a", "c"), evaluate(udf, Arrays.asList("b", null, "a", "b", null, "c", "a"))));
+        assertTrue(Iterables.elementsEqual(ImmutableList.of("a"), evaluate(udf, ImmutableList.of("a"))));
+        assertTrue(evaluate(udf, ImmutableList.of()).isEmpty());
+        assertNull(evaluate(udf, null));
+    }
+
+    @Test
+    public void testArrayDistinctSortFallback() throws HiveException {
+        UDFArrayDistinct udf = new UDFArrayDistinct();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaShortObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI});
+
+        List<Short> array = Arrays.asList((short) 16, (short) 13, (short) 12, (short) 13, (short) 18, (short) 16);
+        assertTrue(Iterables.elementsEqual(Arrays.asList((short) 16, (short) 13, (short) 12, (short) 18), evaluate(udf, array)));
+    }
+
+    private List<?> evaluate(UDFArrayDistinct udf, List<?> array) throws HiveException {
+        GenericUDF.DeferredObject[] args = {new GenericUDF.DeferredJavaObject(array)};
+        return (List<?>) udf.evaluate(args);
+    }
+}
@@ -0,0 +1,52 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UDFArrayExceptTest {
+
+    private static Object evaluate(UDFArrayExcept udf, Object left, Object right) throws Exception {
+        DeferredObject[] args = {new DeferredJavaObject(left), new DeferredJavaObject(right)};
+        return udf.evaluate(args);
+    }
+
+    @Test
+    public void testHashExcept() throws Exception {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaLongObjectInspector);
+        UDFArrayExcept udf = new UDFArrayExcept();
+        udf.initialize(new ObjectInspector[]{arrayOI, arrayOI});
+
+        assertEquals(Arrays.asList(16L, null, 13L),
+                evaluate(udf, Arrays.asList(16L, 12L, null, 16L, 13L, null), Arrays.asList(12L, 9L)));
+        assertEquals(Arrays.asList(16L),
+                evaluate(udf, Arrays.asList(16L, null, 12L), Arrays.asList(null, 12L)));
+        assertEquals(Arrays.asList(1L, 2L), evaluate(udf, Arrays.asList(1L, 2L, 1L), Collections.emptyList()));
+        assertEquals(Collections.emptyList(), evaluate(udf, Collections.emptyList(), Arrays.asList(1L)));
+        assertNull(evaluate(udf, Arrays.asList(1L), null));
+    }
+
+    @Test
+    public void testSortMergeExcept() throws Exception {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaHiveDecimalObjectInspector);
+        UDFArrayExcept udf = new UDFArrayExcept();
+        udf.initialize(new ObjectInspector[]{arrayOI, arrayOI});
+
+        List<HiveDecimal> left = Arrays.asList(HiveDecimal.create("3"), null, HiveDecimal.create("1"), HiveDecimal.create("4"), HiveDecimal.create("3"));
+        List<HiveDecimal> right = Arrays.asList(HiveDecimal.create("5"), HiveDecimal.create("1"), HiveDecimal.create("2"));
+        List<Object> expected = new ArrayList<Object>(Arrays.asList(HiveDecimal.create("3"), null, HiveDecimal.create("4")));
+        assertEquals(expected, evaluate(udf, left, right));
+    }
+}
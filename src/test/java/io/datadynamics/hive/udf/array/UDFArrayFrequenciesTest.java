@@ -0,0 +1,71 @@
+package io.datadynamics.hive.udf.array;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.LongWritable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UDFArrayFrequenciesTest {
+    @SuppressWarnings("unchecked")
+    private static String frequencies(UDFArrayFrequencies udf, Object array) throws Exception {
+        Map<Object, LongWritable> output = (Map<Object, LongWritable>) udf.evaluate(new DeferredObject[]{new DeferredJavaObject(array)});
+        if (output == null) {
+            return null;
+        }
+        List<String> entries = new ArrayList<String>();
+        for (Map.Entry<Object, LongWritable> entry : output.entrySet()) {
+            entries.add(entry.getKey() + "=" + entry.getValue().get());
+        }
+        return entries.toString();
+    }
+
+    @Test
+    public void testArrayFrequencies() throws Exception {
+        UDFArrayFrequencies udf = new UDFArrayFrequencies();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI});
+
+        assertEquals("[b=2, a=3, c=1]", frequencies(udf, Arrays.asList("b", "a", null, "a", "c", "b", "a")));
+
+        // the map is reused across rows
+        assertEquals("[x=1]", frequencies(udf, ImmutableList.of("x")));
+        assertEquals("[]", frequencies(udf, ImmutableList.of()));
+        assertNull(frequencies(udf, null));
+    }
+
+    @Test
+    public void testIntArrayFrequencies() throws Exception {
+        UDFArrayFrequencies udf = new UDFArrayFrequencies();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaIntObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI});
+
+        assertEquals("[3=2, 1=1, 2=3]", frequencies(udf, ImmutableList.of(3, 1, 2, 3, 2, 2)));
+    }
+
+    @Test
+    public void testSortFallback() throws Exception {
+        UDFArrayFrequencies udf = new UDFArrayFrequencies();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaHiveDecimalObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI});
+
+        List<HiveDecimal> array = Arrays.asList(HiveDecimal.create("2.5"), HiveDecimal.create("1"), null,
+                HiveDecimal.create("2.5"), HiveDecimal.create("0.1"), HiveDecimal.create("1"), HiveDecimal.create("2.5"));
+        assertEquals("[2.5=3, 1=2, 0.1=1]", frequencies(udf, array));
+    }
+}
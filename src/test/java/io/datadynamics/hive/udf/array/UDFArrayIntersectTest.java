@@ -10,6 +10,7 @@ import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectIn
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertTrue;
@@ -28,6 +29,25 @@ public class UDFArrayIntersectTest {
         assertTrue(Iterables.elementsEqual(ImmutableList.of(1, 2, 5), evaluate(ImmutableList.of(0, 1, 2, 3, 4, 5), ImmutableList.of(1, 1, 2, 2, 5, 5), udf)));
         assertTrue(Iterables.elementsEqual(ImmutableList.of(1, 2, 3, 4), evaluate(ImmutableList.of(0, 1, 2, 3, 4, 4), ImmutableList.of(1, 1, 2, 2, 3, 4), udf)));
         assertTrue(Iterables.elementsEqual(ImmutableList.of(1, 2, 3, 4), evaluate(ImmutableList.of(0, 1, 1, 2, 3, 4, 4), ImmutableList.of(1, 1, 2, 2, 3, 4), udf)));
+
+        // smaller left side, result follows the left array order
+        assertTrue(Iterables.elementsEqual(ImmutableList.of(9, 3), evaluate(ImmutableList.of(9, 3, 9, 7), ImmutableList.of(1, 3, 3, 5, 9, 9, 11, 13), udf)));
+        assertTrue(Iterables.elementsEqual(Arrays.asList(18, 9, null), evaluate(Arrays.asList(16, 12, 18, 9, null), Arrays.asList(14, 9, 6, 18, null), udf)));
+        assertTrue(evaluate(ImmutableList.of(1, 2), ImmutableList.<Integer>of(), udf).isEmpty());
+    }
+
+    @Test
+    public void testArrayIntersectSortMerge() throws HiveException {
+        UDFArrayIntersect udf = new UDFArrayIntersect();
+
+        // float elements are not hashed and go through sort-merge
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaFloatObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI, arrayOI});
+
+        GenericUDF.DeferredObject[] args = {
+                new GenericUDF.DeferredJavaObject(Arrays.asList(3f, 1f, 2f, 2f, 5f)),
+                new GenericUDF.DeferredJavaObject(Arrays.asList(2f, 2f, 2f, 3f, 4f, 4f))};
+        assertTrue(Iterables.elementsEqual(ImmutableList.of(3f, 2f), (List<?>) udf.evaluate(args)));
     }
 
     private ArrayList<Object> evaluate(List<Integer> leftArray, List<Integer> rightArray, UDFArrayIntersect udf) throws HiveException {
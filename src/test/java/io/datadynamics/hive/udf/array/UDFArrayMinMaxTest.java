@@ -0,0 +1,135 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.io.DoubleWritable;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UDFArrayMinMaxTest {
+    @Test
+    public void testArrayMinMax() throws HiveException {
+        UDFArrayMinMax udf = new UDFArrayMinMax();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaLongObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI});
+
+        List<?> output = (List<?>) evaluate(udf, Arrays.asList(16L, null, 12L, 18L, 9L, 18L));
+        assertEquals(9L, output.get(0));
+        assertEquals(18L, output.get(1));
+
+        assertNull(evaluate(udf, Arrays.asList((Long) null, null)));
+        assertNull(evaluate(udf, Collections.emptyList()));
+        assertNull(evaluate(udf, null));
+    }
+
+    @Test
+    public void testArrayMinMaxByType() throws HiveException {
+        checkMinMax(PrimitiveObjectInspectorFactory.javaIntObjectInspector,
+                Arrays.asList(16, null, 12, 18, -9, 18), -9, 18);
+        checkMinMax(PrimitiveObjectInspectorFactory.javaLongObjectInspector,
+                Arrays.asList(null, Long.MAX_VALUE, 0L, Long.MIN_VALUE), Long.MIN_VALUE, Long.MAX_VALUE);
+        checkMinMax(PrimitiveObjectInspectorFactory.javaDoubleObjectInspector,
+                Arrays.asList(1.5, null, -2.25, 7.0), -2.25, 7.0);
+        // strings go through the generic comparator
+        checkMinMax(PrimitiveObjectInspectorFactory.javaStringObjectInspector,
+                Arrays.asList("pear", null, "apple", "", "zucchini"), "", "zucchini");
+        checkMinMax(PrimitiveObjectInspectorFactory.writableStringObjectInspector,
+                Arrays.asList(new Text("b"), null, new Text("c"), new Text("a")), new Text("a"), new Text("c"));
+    }
+
+    private void checkMinMax(ObjectInspector elementOI, List<?> array, Object min, Object max) throws HiveException {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(elementOI);
+        UDFArrayMin minUdf = new UDFArrayMin();
+        assertEquals(elementOI, minUdf.initialize(new ObjectInspector[]{arrayOI}));
+        UDFArrayMax maxUdf = new UDFArrayMax();
+        assertEquals(elementOI, maxUdf.initialize(new ObjectInspector[]{arrayOI}));
+
+        assertEquals(min, evaluate(minUdf, array));
+        assertEquals(max, evaluate(maxUdf, array));
+
+        // Null-only, empty and null arrays have no minimum or maximum
+        for (GenericUDF udf : Arrays.asList(minUdf, maxUdf)) {
+            assertNull(evaluate(udf, Arrays.asList(null, null)));
+            assertNull(evaluate(udf, Collections.emptyList()));
+            assertNull(evaluate(udf, null));
+        }
+    }
+
+    @Test
+    public void testArrayAvg() throws HiveException {
+        UDFArrayAvg udf = new UDFArrayAvg();
+
+        // Integral elements are summed as bigint before the division
+        udf.initialize(new ObjectInspector[]{ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaIntObjectInspector)});
+        assertEquals(new DoubleWritable(13.75), evaluate(udf, Arrays.asList(16, null, 12, 18, 9)));
+        assertEquals(new DoubleWritable(Integer.MAX_VALUE), evaluate(udf, Arrays.asList(Integer.MAX_VALUE, Integer.MAX_VALUE)));
+        assertNull(evaluate(udf, Arrays.asList((Integer) null, null)));
+        assertNull(evaluate(udf, Collections.emptyList()));
+        assertNull(evaluate(udf, null));
+
+        udf.initialize(new ObjectInspector[]{ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaLongObjectInspector)});
+        assertEquals(new DoubleWritable(-0.5), evaluate(udf, Arrays.asList(-1L, 0L, null, 1L, -2L)));
+
+        udf.initialize(new ObjectInspector[]{ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaDoubleObjectInspector)});
+        assertEquals(new DoubleWritable(0.5), evaluate(udf, Arrays.asList(0.25, null, 0.75)));
+        assertNull(evaluate(udf, Arrays.asList((Double) null)));
+        assertNull(evaluate(udf, Collections.emptyList()));
+    }
+
+    @Test(expected = UDFArgumentException.class)
+    public void testArrayAvgString() throws HiveException {
+        new UDFArrayAvg().initialize(new ObjectInspector[]{
+                ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector)});
+    }
+
+    @Test
+    public void testArraySum() throws HiveException {
+        UDFArraySum udf = new UDFArraySum();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaIntObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI});
+
+        assertEquals(new LongWritable(55), evaluate(udf, Arrays.asList(16, null, 12, 18, 9)));
+        assertNull(evaluate(udf, Arrays.asList((Integer) null)));
+    }
+
+    @Test
+    public void testDecimalSumAvg() throws HiveException {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(
+                PrimitiveObjectInspectorFactory.getPrimitiveJavaObjectInspector(TypeInfoFactory.getDecimalTypeInfo(5, 2)));
+        List<HiveDecimal> array = Arrays.asList(HiveDecimal.create("1.25"), null, HiveDecimal.create("2.50"), HiveDecimal.create("0.10"));
+
+        UDFArraySum sum = new UDFArraySum();
+        ObjectInspector sumOI = sum.initialize(new ObjectInspector[]{arrayOI});
+        assertEquals("decimal(15,2)", sumOI.getTypeName());
+        assertEquals(new HiveDecimalWritable(HiveDecimal.create("3.85")), evaluate(sum, array));
+        assertNull(evaluate(sum, Arrays.asList((HiveDecimal) null)));
+
+        UDFArrayAvg avg = new UDFArrayAvg();
+        ObjectInspector avgOI = avg.initialize(new ObjectInspector[]{arrayOI});
+        assertEquals("decimal(9,6)", avgOI.getTypeName());
+        assertEquals(new HiveDecimalWritable(HiveDecimal.create("1.283333")), evaluate(avg, array));
+        assertNull(evaluate(avg, Collections.emptyList()));
+    }
+
+    private Object evaluate(GenericUDF udf, List<?> array) throws HiveException {
+        GenericUDF.DeferredObject[] args = {new GenericUDF.DeferredJavaObject(array)};
+        return udf.evaluate(args);
+    }
+}
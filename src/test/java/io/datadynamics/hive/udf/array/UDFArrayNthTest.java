@@ -0,0 +1,35 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.IntWritable;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UDFArrayNthTest {
+    @Test
+    public void testArrayNth() throws Exception {
+        UDFArrayNth udf = new UDFArrayNth();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI, PrimitiveObjectInspectorFactory.writableIntObjectInspector});
+
+        Object array = Arrays.asList("d", null, "b", "a", "c");
+        String[] expected = {"a", "b", "c", "d", null};
+        for (int n = 0; n < expected.length; n++) {
+            DeferredObject[] args = {new DeferredJavaObject(array), new DeferredJavaObject(new IntWritable(n))};
+            assertEquals(expected[n], udf.evaluate(args));
+        }
+        DeferredObject[] args = {new DeferredJavaObject(array), new DeferredJavaObject(new IntWritable(-1))};
+        assertEquals("d", udf.evaluate(args));
+        args[1] = new DeferredJavaObject(new IntWritable(-5));
+        assertNull(udf.evaluate(args));
+    }
+}
@@ -0,0 +1,97 @@
+package io.datadynamics.hive.udf.array;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentTypeException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.io.DoubleWritable;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UDFArrayPercentileTest {
+    private static Double percentile(UDFArrayPercentile udf, Object array, double p) throws Exception {
+        DoubleWritable output = (DoubleWritable) udf.evaluate(new DeferredObject[]{new DeferredJavaObject(array),
+                new DeferredJavaObject(new DoubleWritable(p))});
+        return output == null ? null : output.get();
+    }
+
+    @Test
+    public void testArrayPercentile() throws Exception {
+        UDFArrayPercentile udf = new UDFArrayPercentile();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaLongObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI, PrimitiveObjectInspectorFactory.writableDoubleObjectInspector});
+
+        // sorted: 10, 20, 30, 40, 50
+        Object array = Arrays.asList(50L, 20L, null, 40L, 10L, 30L);
+        assertEquals(10.0, percentile(udf, array, 0.0), 0.0);
+        assertEquals(30.0, percentile(udf, array, 0.5), 0.0);
+        assertEquals(46.0, percentile(udf, array, 0.9), 1e-9);
+        assertEquals(50.0, percentile(udf, array, 1.0), 0.0);
+
+        assertNull(percentile(udf, Arrays.asList(null, null), 0.5));
+        assertNull(percentile(udf, null, 0.5));
+    }
+
+    @Test
+    public void testDecimalPercentile() throws Exception {
+        UDFArrayPercentile udf = new UDFArrayPercentile();
+
+        // an unsuffixed literal such as 0.9 is typed as decimal(1,1)
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaIntObjectInspector);
+        ObjectInspector pOI = PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                TypeInfoFactory.getDecimalTypeInfo(1, 1), new HiveDecimalWritable(HiveDecimal.create("0.9")));
+        udf.initialize(new ObjectInspector[]{arrayOI, pOI});
+
+        DeferredObject[] args = {new DeferredJavaObject(Arrays.asList(16, 12, 18, 9, null)), new DeferredJavaObject(null)};
+        assertEquals(17.4, ((DoubleWritable) udf.evaluate(args)).get(), 1e-9);
+
+        udf = new UDFArrayPercentile();
+        udf.initialize(new ObjectInspector[]{arrayOI, PrimitiveObjectInspectorFactory.javaHiveDecimalObjectInspector});
+        args[1] = new DeferredJavaObject(HiveDecimal.create("0.5"));
+        assertEquals(14.0, ((DoubleWritable) udf.evaluate(args)).get(), 1e-9);
+    }
+
+    @Test(expected = UDFArgumentTypeException.class)
+    public void testNonNumericPercentile() throws Exception {
+        UDFArrayPercentile udf = new UDFArrayPercentile();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaLongObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI, PrimitiveObjectInspectorFactory.javaStringObjectInspector});
+    }
+
+    @Test(expected = HiveException.class)
+    public void testPercentileOutOfRange() throws Exception {
+        UDFArrayPercentile udf = new UDFArrayPercentile();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaLongObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI, PrimitiveObjectInspectorFactory.writableDoubleObjectInspector});
+        percentile(udf, ImmutableList.of(1L), 1.5);
+    }
+
+    @Test
+    public void testArrayMedian() throws Exception {
+        UDFArrayMedian udf = new UDFArrayMedian();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaIntObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI});
+
+        DeferredObject[] args = {new DeferredJavaObject(ImmutableList.of(7, 1, 3))};
+        assertEquals(3.0, ((DoubleWritable) udf.evaluate(args)).get(), 0.0);
+        args[0] = new DeferredJavaObject(ImmutableList.of(7, 1, 4, 3));
+        assertEquals(3.5, ((DoubleWritable) udf.evaluate(args)).get(), 0.0);
+        args[0] = new DeferredJavaObject(ImmutableList.of());
+        assertNull(udf.evaluate(args));
+    }
+}
@@ -0,0 +1,76 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.BooleanWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class UDFArrayPositionSortedTest {
+    @Test
+    public void testSameAsLinearScan() throws Exception {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaLongObjectInspector);
+        ObjectInspector valueOI = PrimitiveObjectInspectorFactory.javaLongObjectInspector;
+        ObjectInspector[] arguments = {arrayOI, valueOI};
+
+        UDFArrayPosition position = new UDFArrayPosition();
+        UDFArrayPositionSorted positionSorted = new UDFArrayPositionSorted();
+        UDFArrayContainsSorted containsSorted = new UDFArrayContainsSorted();
+        position.initialize(arguments);
+        positionSorted.initialize(arguments);
+        containsSorted.initialize(arguments);
+
+        Random random = new Random(3L);
+        for (int round = 0; round < 500; round++) {
+            List<Long> array = new ArrayList<Long>();
+            int length = random.nextInt(50);
+            for (int i = 0; i < length; i++) {
+                array.add((long) random.nextInt(30));
+            }
+            Collections.sort(array);
+            int nullCount = random.nextInt(3);
+            for (int i = 0; i < nullCount; i++) {
+                // nulls first or nulls last
+                array.add(round % 2 == 0 ? 0 : array.size(), null);
+            }
+
+            Long value = random.nextInt(10) == 0 ? null : (long) random.nextInt(32) - 1;
+            DeferredObject[] args = {new DeferredJavaObject(array), new DeferredJavaObject(value)};
+            long expected = ((LongWritable) position.evaluate(args)).get();
+            assertEquals(array + " " + value, expected, ((LongWritable) positionSorted.evaluate(args)).get());
+            assertEquals(array + " " + value, expected > 0, ((BooleanWritable) containsSorted.evaluate(args)).get());
+        }
+    }
+
+    @Test
+    public void testConstantValue() throws Exception {
+        UDFArrayPositionSorted udf = new UDFArrayPositionSorted();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.writableStringObjectInspector);
+        ObjectInspector valueOI = PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                TypeInfoFactory.stringTypeInfo, new Text("b"));
+        udf.initialize(new ObjectInspector[]{arrayOI, valueOI});
+
+        DeferredObject[] args = {new DeferredJavaObject(Arrays.asList(null, new Text("a"), new Text("b"), new Text("b"))), null};
+        assertEquals(3L, ((LongWritable) udf.evaluate(args)).get());
+
+        args[0] = new DeferredJavaObject(Arrays.asList(new Text("a"), new Text("c")));
+        assertEquals(0L, ((LongWritable) udf.evaluate(args)).get());
+
+        args[0] = new DeferredJavaObject(null);
+        assertEquals(0L, ((LongWritable) udf.evaluate(args)).get());
+    }
+}
@@ -0,0 +1,70 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UDFArrayRankTest {
+    private static final List<Double> BOUNDS = Arrays.asList(null, 0.0, 10.0, 10.0, 100.0);
+
+    private static Long rank(UDFArrayRank udf, Object array, Double value) throws Exception {
+        LongWritable output = (LongWritable) udf.evaluate(new DeferredObject[]{new DeferredJavaObject(array), new DeferredJavaObject(value)});
+        return output == null ? null : output.get();
+    }
+
+    @Test
+    public void testLowerBound() throws Exception {
+        UDFArrayRank udf = new UDFArrayRank();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaDoubleObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI, PrimitiveObjectInspectorFactory.javaDoubleObjectInspector});
+
+        assertEquals(Long.valueOf(0), rank(udf, BOUNDS, -5.0));
+        assertEquals(Long.valueOf(0), rank(udf, BOUNDS, 0.0));
+        assertEquals(Long.valueOf(1), rank(udf, BOUNDS, 5.0));
+        assertEquals(Long.valueOf(1), rank(udf, BOUNDS, 10.0));
+        assertEquals(Long.valueOf(3), rank(udf, BOUNDS, 50.0));
+        assertEquals(Long.valueOf(4), rank(udf, BOUNDS, 500.0));
+
+        assertNull(rank(udf, BOUNDS, null));
+        assertNull(rank(udf, null, 1.0));
+    }
+
+    @Test
+    public void testUpperBound() throws Exception {
+        UDFArrayRank udf = new UDFArrayRank();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaDoubleObjectInspector);
+        ObjectInspector boundOI = PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                TypeInfoFactory.stringTypeInfo, new Text("upper"));
+        udf.initialize(new ObjectInspector[]{arrayOI, PrimitiveObjectInspectorFactory.javaDoubleObjectInspector, boundOI});
+
+        assertEquals(Long.valueOf(0), rank(udf, BOUNDS, -5.0));
+        assertEquals(Long.valueOf(1), rank(udf, BOUNDS, 0.0));
+        assertEquals(Long.valueOf(3), rank(udf, BOUNDS, 10.0));
+        assertEquals(Long.valueOf(4), rank(udf, BOUNDS, 100.0));
+    }
+
+    @Test(expected = UDFArgumentException.class)
+    public void testInvalidBound() throws Exception {
+        UDFArrayRank udf = new UDFArrayRank();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaDoubleObjectInspector);
+        ObjectInspector boundOI = PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                TypeInfoFactory.stringTypeInfo, new Text("middle"));
+        udf.initialize(new ObjectInspector[]{arrayOI, PrimitiveObjectInspectorFactory.javaDoubleObjectInspector, boundOI});
+    }
+}
@@ -0,0 +1,90 @@
+package io.datadynamics.hive.udf.array;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.IntWritable;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class UDFArraySampleTest {
+    private static ObjectInspector seed(int seed) {
+        return PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                TypeInfoFactory.intTypeInfo, new IntWritable(seed));
+    }
+
+    @Test
+    public void testArraySample() throws Exception {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        ObjectInspector kOI = PrimitiveObjectInspectorFactory.writableIntObjectInspector;
+        UDFArraySample udf = new UDFArraySample();
+        udf.initialize(new ObjectInspector[]{arrayOI, kOI, seed(7)});
+        UDFArraySample same = new UDFArraySample();
+        same.initialize(new ObjectInspector[]{arrayOI, kOI, seed(7)});
+
+        List<String> array = ImmutableList.of("a", "b", "c", "d", "e", "f");
+        for (int row = 0; row < 20; row++) {
+            DeferredObject[] args = {new DeferredJavaObject(array), new DeferredJavaObject(new IntWritable(3))};
+            List<?> sample = (List<?>) udf.evaluate(args);
+            assertEquals(3, sample.size());
+            assertEquals(3, new HashSet<Object>(sample).size());
+            assertTrue(array.containsAll(sample));
+            assertEquals(sample, same.evaluate(args));
+        }
+
+        DeferredObject[] args = {new DeferredJavaObject(array), new DeferredJavaObject(new IntWritable(10))};
+        assertEquals(new HashSet<Object>(array), new HashSet<Object>((List<?>) udf.evaluate(args)));
+        args[1] = new DeferredJavaObject(new IntWritable(-1));
+        assertNull(udf.evaluate(args));
+        args[0] = new DeferredJavaObject(null);
+        args[1] = new DeferredJavaObject(new IntWritable(1));
+        assertNull(udf.evaluate(args));
+    }
+
+    @Test
+    public void testArrayWeightedSample() throws Exception {
+        UDFArrayWeightedSample udf = new UDFArrayWeightedSample();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        ObjectInspector weightsOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaDoubleObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI, weightsOI, PrimitiveObjectInspectorFactory.writableIntObjectInspector, seed(11)});
+
+        List<String> array = ImmutableList.of("a", "b", "c", "d");
+        List<Double> weights = Arrays.asList(1.0, 9.0, 0.0, null);
+        int[] firsts = new int[2];
+        for (int row = 0; row < 2000; row++) {
+            DeferredObject[] args = {new DeferredJavaObject(array), new DeferredJavaObject(weights), new DeferredJavaObject(new IntWritable(3))};
+            List<?> sample = (List<?>) udf.evaluate(args);
+            // zero and null weights are never drawn
+            assertEquals(2, sample.size());
+            firsts[sample.get(0).equals("a") ? 0 : 1]++;
+        }
+        // "b" is drawn first with probability 0.9
+        assertTrue(firsts[1] > 1700 && firsts[1] < 1900);
+    }
+
+    @Test(expected = HiveException.class)
+    public void testWeightsLengthMismatch() throws Exception {
+        UDFArrayWeightedSample udf = new UDFArrayWeightedSample();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        ObjectInspector weightsOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaDoubleObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI, weightsOI, PrimitiveObjectInspectorFactory.writableIntObjectInspector});
+
+        DeferredObject[] args = {new DeferredJavaObject(ImmutableList.of("a", "b")), new DeferredJavaObject(ImmutableList.of(1.0)),
+                new DeferredJavaObject(new IntWritable(1))};
+        udf.evaluate(args);
+    }
+}
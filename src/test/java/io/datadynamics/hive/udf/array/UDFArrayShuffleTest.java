@@ -1,14 +1,34 @@
 package io.datadynamics.hive.udf.array;
 
 import com.google.common.collect.ImmutableList;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hive.ql.metadata.HiveException;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde.serdeConstants;
+import org.apache.hadoop.hive.serde2.SerDeUtils;
+import org.apache.hadoop.hive.serde2.lazybinary.LazyBinaryArray;
+import org.apache.hadoop.hive.serde2.lazybinary.LazyBinarySerDe;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+import org.apache.hadoop.hive.serde2.objectinspector.StructField;
+import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.LongWritable;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class UDFArrayShuffleTest {
     @Test
@@ -25,4 +45,66 @@ public class UDFArrayShuffleTest {
         GenericUDF.DeferredObject[] args = {arrayObj};
         System.out.println(udf.evaluate(args));
     }
+
+    private static List<List<Object>> shuffleRows(long seed, List<Integer> array, int rows) throws HiveException {
+        UDFArrayShuffle udf = new UDFArrayShuffle();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaIntObjectInspector);
+        ObjectInspector seedOI = PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                TypeInfoFactory.longTypeInfo, new LongWritable(seed));
+        udf.initialize(new ObjectInspector[]{arrayOI, seedOI});
+
+        List<List<Object>> output = new ArrayList<List<Object>>();
+        for (int i = 0; i < rows; i++) {
+            GenericUDF.DeferredObject[] args = {new GenericUDF.DeferredJavaObject(array), null};
+            output.add(new ArrayList<Object>((List<?>) udf.evaluate(args)));
+        }
+        return output;
+    }
+
+    @Test
+    public void testSeededShuffle() throws HiveException {
+        List<Integer> array = new ArrayList<Integer>();
+        for (int i = 0; i < 20; i++) {
+            array.add(i);
+        }
+
+        List<List<Object>> first = shuffleRows(42L, array, 5);
+        assertEquals(first, shuffleRows(42L, array, 5));
+        assertNotEquals(first, shuffleRows(43L, array, 5));
+
+        for (List<Object> permutation : first) {
+            List<Object> sorted = new ArrayList<Object>(permutation);
+            Collections.sort((List) sorted);
+            assertEquals(array, sorted);
+        }
+    }
+
+    @Test
+    public void testLazyBinaryArray() throws Exception {
+        LazyBinarySerDe serde = new LazyBinarySerDe();
+        Properties properties = new Properties();
+        properties.setProperty(serdeConstants.LIST_COLUMNS, "a");
+        properties.setProperty(serdeConstants.LIST_COLUMN_TYPES, "array<int>");
+        SerDeUtils.initializeSerDe(serde, new Configuration(), properties, null);
+
+        StructObjectInspector inputRowOI = ObjectInspectorFactory.getStandardStructObjectInspector(
+                Collections.singletonList("a"), Collections.<ObjectInspector>singletonList(
+                        ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaIntObjectInspector)));
+        StructObjectInspector rowOI = (StructObjectInspector) serde.getObjectInspector();
+        StructField field = rowOI.getStructFieldRef("a");
+
+        UDFArrayShuffle udf = new UDFArrayShuffle();
+        ListObjectInspector resultOI = (ListObjectInspector) udf.initialize(new ObjectInspector[]{field.getFieldObjectInspector()});
+
+        for (List<Integer> array : ImmutableList.<List<Integer>>of(ImmutableList.of(7), ImmutableList.<Integer>of())) {
+            BytesWritable bytes = (BytesWritable) serde.serialize(Collections.<Object>singletonList(array), inputRowOI);
+            Object lazyArray = rowOI.getStructFieldData(serde.deserialize(bytes), field);
+            assertTrue(lazyArray instanceof LazyBinaryArray);
+
+            Object result = udf.evaluate(new GenericUDF.DeferredObject[]{new GenericUDF.DeferredJavaObject(lazyArray)});
+            assertEquals(array, ObjectInspectorUtils.copyToStandardJavaObject(result, resultOI));
+        }
+        assertNull(udf.evaluate(new GenericUDF.DeferredObject[]{new GenericUDF.DeferredJavaObject(null)}));
+    }
 }
@@ -0,0 +1,70 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.IntWritable;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UDFArraySliceTest {
+    private static final ObjectInspector INT_OI = PrimitiveObjectInspectorFactory.writableIntObjectInspector;
+
+    private static Object slice(UDFArraySlice udf, Object array, int start, int length) throws Exception {
+        DeferredObject[] args = {new DeferredJavaObject(array),
+                new DeferredJavaObject(new IntWritable(start)), new DeferredJavaObject(new IntWritable(length))};
+        return udf.evaluate(args);
+    }
+
+    private static UDFArraySlice init(ObjectInspector arrayOI) throws Exception {
+        UDFArraySlice udf = new UDFArraySlice();
+        udf.initialize(new ObjectInspector[]{arrayOI, INT_OI, INT_OI});
+        return udf;
+    }
+
+    @Test
+    public void testSlice() throws Exception {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaIntObjectInspector);
+        UDFArraySlice udf = init(arrayOI);
+        List<Integer> array = Arrays.asList(16, 13, 12, 13, 18, 16, 9, 18);
+
+        assertEquals(Arrays.asList(9, 18), slice(udf, array, -2, 3));
+        assertEquals(Arrays.asList(18, 16, 9), slice(udf, array, 4, 3));
+        assertEquals(Arrays.asList(16, 13), slice(udf, array, 0, 2));
+        assertEquals(Arrays.asList(9, 18), slice(udf, array, 6, 5));
+        assertEquals(Arrays.asList(16, 13, 12), slice(udf, array, -20, 3));
+        assertEquals(Collections.emptyList(), slice(udf, array, 8, 1));
+        assertEquals(Collections.emptyList(), slice(udf, Collections.emptyList(), 0, 1));
+        assertNull(slice(udf, array, 0, -1));
+        assertNull(slice(udf, null, 0, 1));
+    }
+
+    @Test
+    public void testSliceOfReverse() throws Exception {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaIntObjectInspector);
+        UDFArrayReverse reverse = new UDFArrayReverse();
+        ListObjectInspector reversedOI = (ListObjectInspector) reverse.initialize(new ObjectInspector[]{arrayOI});
+        UDFArraySlice udf = init(reversedOI);
+
+        Object reversed = reverse.evaluate(new DeferredObject[]{new DeferredJavaObject(Arrays.asList(1, 2, 3, 4, 5))});
+        Object sliced = slice(udf, reversed, 1, 3);
+        assertEquals(Arrays.asList(4, 3, 2), sliced);
+
+        // the view reads through the inspector it was built with, and copies like a standard list
+        ListObjectInspector slicedOI = reversedOI;
+        assertEquals(3, slicedOI.getListLength(sliced));
+        assertEquals(2, slicedOI.getListElement(sliced, 2));
+        assertNull(slicedOI.getListElement(sliced, 3));
+        assertEquals(Arrays.asList(4, 3, 2), ObjectInspectorUtils.copyToStandardObject(sliced, slicedOI));
+    }
+}
@@ -0,0 +1,62 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class UDFArraySortTest {
+    private static ObjectInspector constant(String value) {
+        return PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(TypeInfoFactory.stringTypeInfo, new Text(value));
+    }
+
+    @Test
+    public void testArraySortLong() throws HiveException {
+        UDFArraySort udf = new UDFArraySort();
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaLongObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI});
+
+        // large enough for the radix sort path
+        Random random = new Random(7);
+        List<Long> array = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            array.add(random.nextLong() >> random.nextInt(64));
+        }
+        array.add(null);
+        List<?> output = evaluate(udf, array);
+
+        List<Long> expected = new ArrayList<>(array.subList(0, 1000));
+        expected.sort(null);
+        assertEquals(null, output.get(0));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).longValue(), ((LongWritable) output.get(i + 1)).get());
+        }
+    }
+
+    @Test
+    public void testArraySortStringDesc() throws HiveException {
+        UDFArraySort udf = new UDFArraySort();
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI, constant("DESC"), constant("nulls first")});
+
+        List<?> output = evaluate(udf, Arrays.asList("b", null, "ab", "c", "a"));
+        assertEquals(Arrays.asList(null, new Text("c"), new Text("b"), new Text("ab"), new Text("a")), output);
+    }
+
+    private List<?> evaluate(UDFArraySort udf, List<?> array) throws HiveException {
+        GenericUDF.DeferredObject[] args = {new GenericUDF.DeferredJavaObject(array)};
+        return (List<?>) udf.evaluate(args);
+    }
+}
@@ -0,0 +1,55 @@
+package io.datadynamics.hive.udf.array;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.IntWritable;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UDFArrayTopKTest {
+    private static Object evaluate(GenericUDF udf, Object array, Integer k) throws Exception {
+        return udf.evaluate(new DeferredObject[]{new DeferredJavaObject(array),
+                new DeferredJavaObject(k == null ? null : new IntWritable(k))});
+    }
+
+    @Test
+    public void testArrayTopK() throws Exception {
+        UDFArrayTopK udf = new UDFArrayTopK();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaDoubleObjectInspector);
+        udf.initialize(new ObjectInspector[]{arrayOI, PrimitiveObjectInspectorFactory.writableIntObjectInspector});
+
+        List<Double> scores = Arrays.asList(0.5, null, 2.5, -1.0, 2.5, 9.0, 0.0);
+        assertEquals(ImmutableList.of(9.0, 2.5, 2.5), evaluate(udf, scores, 3));
+        assertEquals(ImmutableList.of(9.0, 2.5, 2.5, 0.5, 0.0, -1.0), evaluate(udf, scores, 10));
+        assertEquals(ImmutableList.of(), evaluate(udf, scores, 0));
+
+        assertNull(evaluate(udf, scores, -1));
+        assertNull(evaluate(udf, scores, null));
+        assertNull(evaluate(udf, null, 3));
+    }
+
+    @Test
+    public void testArrayBottomK() throws Exception {
+        UDFArrayBottomK udf = new UDFArrayBottomK();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        ObjectInspector kOI = PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                TypeInfoFactory.intTypeInfo, new IntWritable(2));
+        udf.initialize(new ObjectInspector[]{arrayOI, kOI});
+
+        DeferredObject[] args = {new DeferredJavaObject(Arrays.asList("pear", null, "apple", "fig", "banana")), null};
+        assertEquals(ImmutableList.of("apple", "banana"), udf.evaluate(args));
+    }
+}
@@ -0,0 +1,71 @@
+package io.datadynamics.hive.udf.array;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.IntWritable;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UDFArrayTopValuesTest {
+    private static Object topValues(UDFArrayTopValues udf, Object array, Integer k) throws Exception {
+        return udf.evaluate(new DeferredObject[]{new DeferredJavaObject(array),
+                new DeferredJavaObject(k == null ? null : new IntWritable(k))});
+    }
+
+    @Test
+    public void testArrayTopValues() throws Exception {
+        UDFArrayTopValues udf = new UDFArrayTopValues();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        ObjectInspector kOI = PrimitiveObjectInspectorFactory.writableIntObjectInspector;
+        udf.initialize(new ObjectInspector[]{arrayOI, kOI});
+
+        // ties keep the order of first occurrence
+        List<String> array = Arrays.asList("c", "b", null, "a", "b", "a", "d", "a", null, "c");
+        assertEquals(ImmutableList.of("a", "c", "b"), topValues(udf, array, 3));
+        assertEquals(ImmutableList.of("a"), topValues(udf, array, 1));
+        assertEquals(ImmutableList.of("a", "c", "b", "d"), topValues(udf, array, 10));
+        assertEquals(ImmutableList.of(), topValues(udf, array, 0));
+
+        assertNull(topValues(udf, array, -1));
+        assertNull(topValues(udf, array, null));
+        assertNull(topValues(udf, null, 3));
+    }
+
+    @Test
+    public void testConstantK() throws Exception {
+        UDFArrayTopValues udf = new UDFArrayTopValues();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaIntObjectInspector);
+        ObjectInspector kOI = PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                TypeInfoFactory.intTypeInfo, new IntWritable(2));
+        udf.initialize(new ObjectInspector[]{arrayOI, kOI});
+
+        DeferredObject[] args = {new DeferredJavaObject(ImmutableList.of(5, 7, 7, 9, 9, 9)), null};
+        assertEquals(ImmutableList.of(9, 7), udf.evaluate(args));
+    }
+
+    @Test
+    public void testSortFallback() throws Exception {
+        UDFArrayTopValues udf = new UDFArrayTopValues();
+
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaHiveDecimalObjectInspector);
+        ObjectInspector kOI = PrimitiveObjectInspectorFactory.writableIntObjectInspector;
+        udf.initialize(new ObjectInspector[]{arrayOI, kOI});
+
+        List<HiveDecimal> array = Arrays.asList(HiveDecimal.create("3"), HiveDecimal.create("1"), HiveDecimal.create("2"),
+                HiveDecimal.create("1"), HiveDecimal.create("2"), HiveDecimal.create("3"));
+        assertEquals(ImmutableList.of(HiveDecimal.create("3"), HiveDecimal.create("1")), topValues(udf, array, 2));
+    }
+}
@@ -0,0 +1,64 @@
+package io.datadynamics.hive.udf.array;
+
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.LongWritable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UDFArrayUnionTest {
+
+    private static Object evaluate(UDFArrayUnion udf, Object left, Object right) throws Exception {
+        DeferredObject[] args = {new DeferredJavaObject(left), new DeferredJavaObject(right)};
+        return udf.evaluate(args);
+    }
+
+    @Test
+    public void testHashUnion() throws Exception {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        UDFArrayUnion udf = new UDFArrayUnion();
+        udf.initialize(new ObjectInspector[]{arrayOI, arrayOI});
+
+        assertEquals(Arrays.asList("b", "a", null, "c", "d"),
+                evaluate(udf, Arrays.asList("b", "a", "b", null), Arrays.asList("c", null, "a", "d", "c")));
+        assertEquals(Arrays.asList("c", "a"), evaluate(udf, Collections.emptyList(), Arrays.asList("c", "a", "c")));
+        assertNull(evaluate(udf, null, Arrays.asList("a")));
+    }
+
+    @Test
+    public void testMixedInspectors() throws Exception {
+        ObjectInspector leftOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaLongObjectInspector);
+        ObjectInspector rightOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.writableLongObjectInspector);
+        UDFArrayUnion udf = new UDFArrayUnion();
+        ListObjectInspector outputOI = (ListObjectInspector) udf.initialize(new ObjectInspector[]{leftOI, rightOI});
+
+        assertEquals(PrimitiveObjectInspectorFactory.writableLongObjectInspector, outputOI.getListElementObjectInspector());
+        Object output = evaluate(udf, Arrays.asList(16L, 12L), Arrays.asList(new LongWritable(12L), new LongWritable(9L)));
+        assertEquals(Arrays.asList(new LongWritable(16L), new LongWritable(12L), new LongWritable(9L)), output);
+    }
+
+    @Test
+    public void testSortMergeUnion() throws Exception {
+        ObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaHiveDecimalObjectInspector);
+        UDFArrayUnion udf = new UDFArrayUnion();
+        udf.initialize(new ObjectInspector[]{arrayOI, arrayOI});
+
+        List<HiveDecimal> left = Arrays.asList(HiveDecimal.create("3"), null, HiveDecimal.create("1"), HiveDecimal.create("3"));
+        List<HiveDecimal> right = Arrays.asList(HiveDecimal.create("5"), HiveDecimal.create("1"), null, HiveDecimal.create("2"), HiveDecimal.create("5"));
+        List<Object> expected = new ArrayList<Object>(Arrays.asList(HiveDecimal.create("3"), null, HiveDecimal.create("1"),
+                HiveDecimal.create("5"), HiveDecimal.create("2")));
+        assertEquals(expected, evaluate(udf, left, right));
+    }
+}
@@ -0,0 +1,132 @@
+package io.datadynamics.hive.udf.array.vector;
+
+import io.datadynamics.hive.udf.array.UDFArrayContains;
+import io.datadynamics.hive.udf.array.UDFArrayPosition;
+import org.apache.hadoop.hive.ql.exec.vector.*;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ListScalarSearchTest {
+
+    /**
+     * Rows: [1, 2, 3], null, [], [null, 3], [4, 3, 3]
+     */
+    private static VectorizedRowBatch longListBatch() {
+        VectorizedRowBatch batch = new VectorizedRowBatch(2, 5);
+        LongColumnVector child = new LongColumnVector(16);
+        ListColumnVector list = new ListColumnVector(5, child);
+        long[][] rows = {{1, 2, 3}, null, {}, {0, 3}, {4, 3, 3}};
+        int offset = 0;
+        for (int row = 0; row < rows.length; row++) {
+            if (rows[row] == null) {
+                list.isNull[row] = true;
+                list.noNulls = false;
+                continue;
+            }
+            list.offsets[row] = offset;
+            list.lengths[row] = rows[row].length;
+            for (long value : rows[row]) {
+                child.vector[offset++] = value;
+            }
+        }
+        // the 0 of row 3 is a null element
+        child.isNull[(int) list.offsets[3]] = true;
+        child.noNulls = false;
+        list.childCount = offset;
+        batch.cols[0] = list;
+        batch.cols[1] = new LongColumnVector(5);
+        batch.size = rows.length;
+        return batch;
+    }
+
+    @Test
+    public void testContainsAndPositionLong() throws Exception {
+        VectorizedRowBatch batch = longListBatch();
+        new ListContainsLongScalar(0, 3L, 1).evaluate(batch);
+        assertArrayEquals(new long[]{1, 0, 0, 1, 1}, ((LongColumnVector) batch.cols[1]).vector);
+
+        new ListPositionLongScalar(0, 3L, 1).evaluate(batch);
+        assertArrayEquals(new long[]{3, 0, 0, 2, 2}, ((LongColumnVector) batch.cols[1]).vector);
+
+        // null elements never match
+        new ListPositionLongScalar(0, 0L, 1).evaluate(batch);
+        assertArrayEquals(new long[]{0, 0, 0, 0, 0}, ((LongColumnVector) batch.cols[1]).vector);
+    }
+
+    @Test
+    public void testFilterLong() throws Exception {
+        VectorizedRowBatch batch = longListBatch();
+        new FilterListContainsLongScalar(0, 3L).evaluate(batch);
+        assertEquals(3, batch.size);
+        assertTrue(batch.selectedInUse);
+        assertArrayEquals(new int[]{0, 3, 4}, Arrays.copyOf(batch.selected, batch.size));
+
+        new FilterListContainsLongScalar(0, 1L).evaluate(batch);
+        assertEquals(1, batch.size);
+        assertEquals(0, batch.selected[0]);
+    }
+
+    @Test
+    public void testRepeatingDoubleAndString() throws Exception {
+        VectorizedRowBatch batch = new VectorizedRowBatch(2, 3);
+        DoubleColumnVector doubles = new DoubleColumnVector(2);
+        doubles.vector[0] = 1.5d;
+        doubles.vector[1] = -0.0d;
+        ListColumnVector list = new ListColumnVector(3, doubles);
+        list.lengths[0] = 2;
+        list.isRepeating = true;
+        batch.cols[0] = list;
+        batch.cols[1] = new LongColumnVector(3);
+        batch.size = 3;
+
+        new ListPositionDoubleScalar(0, 0.0d, 1).evaluate(batch);
+        assertTrue(batch.cols[1].isRepeating);
+        assertEquals(2, ((LongColumnVector) batch.cols[1]).vector[0]);
+
+        BytesColumnVector strings = new BytesColumnVector(2);
+        strings.initBuffer();
+        strings.setVal(0, "ab".getBytes(StandardCharsets.UTF_8));
+        strings.setVal(1, "abc".getBytes(StandardCharsets.UTF_8));
+        list = new ListColumnVector(3, strings);
+        list.lengths[0] = 2;
+        list.isRepeating = true;
+        batch.cols[0] = list;
+
+        new FilterListContainsStringScalar(0, "abc".getBytes(StandardCharsets.UTF_8)).evaluate(batch);
+        assertEquals(3, batch.size);
+        new FilterListContainsStringScalar(0, "a".getBytes(StandardCharsets.UTF_8)).evaluate(batch);
+        assertEquals(0, batch.size);
+    }
+
+    /**
+     * Looks the expression class up the way the vectorizer does for a (column, scalar) call.
+     */
+    private static Class<?> lookup(Class<?> udfClass, String elementType, VectorExpressionDescriptor.Mode mode) throws Exception {
+        VectorExpressionDescriptor.Descriptor descriptor = new VectorExpressionDescriptor.Builder()
+                .setMode(mode)
+                .setNumArguments(2)
+                .setArgumentType(0, "List")
+                .setArgumentType(1, elementType)
+                .setInputExpressionTypes(
+                        VectorExpressionDescriptor.InputExpressionType.COLUMN,
+                        VectorExpressionDescriptor.InputExpressionType.SCALAR).build();
+        return new VectorExpressionDescriptor().getVectorExpressionClass(udfClass, descriptor, false);
+    }
+
+    @Test
+    public void testDescriptorLookup() throws Exception {
+        assertEquals(FilterListContainsLongScalar.class,
+                lookup(UDFArrayContains.class, "Long", VectorExpressionDescriptor.Mode.FILTER));
+        assertEquals(ListContainsStringScalar.class,
+                lookup(UDFArrayContains.class, "String", VectorExpressionDescriptor.Mode.PROJECTION));
+        assertEquals(ListPositionDoubleScalar.class,
+                lookup(UDFArrayPosition.class, "Double", VectorExpressionDescriptor.Mode.PROJECTION));
+        assertEquals(null, lookup(UDFArrayPosition.class, "Decimal", VectorExpressionDescriptor.Mode.PROJECTION));
+    }
+}
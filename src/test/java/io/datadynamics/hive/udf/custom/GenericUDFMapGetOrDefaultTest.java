@@ -7,6 +7,8 @@ import org.apache.hadoop.hive.serde2.objectinspector.MapObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
 import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.Text;
 import org.junit.Test;
 
 import java.sql.Date;
@@ -324,6 +326,54 @@ public class GenericUDFMapGetOrDefaultTest {
         assertEquals("0", out);
     }
 
+    @Test
+    public void constantKeyAndDefault_convertedOnce() throws Exception {
+        // map<int,string>, key/default가 리터럴이면 initialize()에서 한 번만 변환
+        ObjectInspector keyOI = PrimitiveObjectInspectorFactory.javaIntObjectInspector;
+        ObjectInspector valOI = PrimitiveObjectInspectorFactory.javaStringObjectInspector;
+        MapObjectInspector mOI = mapOI(keyOI, valOI);
+        GenericUDFMapGetOrDefault udf = initUDF(mOI,
+                PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                        TypeInfoFactory.stringTypeInfo, new Text("10")),
+                PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                        TypeInfoFactory.stringTypeInfo, new Text("None")));
+
+        Map<Integer, String> hit = new HashMap<>();
+        hit.put(10, "TEN");
+        Map<Integer, String> miss = new HashMap<>();
+        miss.put(20, "TWENTY");
+
+        // 상수 인자의 DeferredObject는 읽지 않는다
+        assertEquals("TEN", udf.evaluate(new GenericUDF.DeferredObject[]{
+                new DeferredJavaObject(hit), null, null
+        }));
+        assertEquals("None", udf.evaluate(new GenericUDF.DeferredObject[]{
+                new DeferredJavaObject(miss), null, null
+        }));
+    }
+
+    @Test
+    public void constantKeyNotConvertible_returnsDefault() throws Exception {
+        ObjectInspector keyOI = PrimitiveObjectInspectorFactory.javaIntObjectInspector;
+        ObjectInspector valOI = PrimitiveObjectInspectorFactory.javaStringObjectInspector;
+        MapObjectInspector mOI = mapOI(keyOI, valOI);
+        GenericUDFMapGetOrDefault udf = initUDF(mOI,
+                PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                        TypeInfoFactory.stringTypeInfo, new Text("abc")),
+                PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+
+        Map<Integer, String> m = new HashMap<>();
+        m.put(10, "TEN");
+
+        Object out = udf.evaluate(new GenericUDF.DeferredObject[]{
+                new DeferredJavaObject(m),
+                null,
+                new DeferredJavaObject("None")
+        });
+
+        assertEquals("None", out);
+    }
+
     @Test
     public void initializeRejectsNonMapFirstArg() {
         try {
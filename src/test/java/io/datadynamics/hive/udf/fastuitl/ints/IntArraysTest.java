@@ -0,0 +1,99 @@
+package io.datadynamics.hive.udf.fastuitl.ints;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class IntArraysTest {
+    private static final IntComparator NATURAL = new AbstractIntComparator() {
+        @Override
+        public int compare(int left, int right) {
+            return Integer.compare(left, right);
+        }
+    };
+
+    private static int[] randomArray(Random random, int length, int bound) {
+        int[] a = new int[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = random.nextInt(bound) - bound / 2;
+        }
+        return a;
+    }
+
+    @Test
+    public void testQuickSort() {
+        Random random = new Random(1);
+        // lengths around the insertion sort cutoff and the median-of-9 pivot, with many duplicates
+        for (int length : new int[]{0, 1, 2, 7, 15, 16, 17, 50, 129, 1000}) {
+            for (int bound : new int[]{3, 1000}) {
+                int[] a = randomArray(random, length, bound);
+                int[] expected = a.clone();
+                Arrays.sort(expected);
+                IntArrays.quickSort(a, 0, length, NATURAL);
+                assertArrayEquals(expected, a);
+            }
+        }
+    }
+
+    @Test
+    public void testQuickSortRange() {
+        int[] a = {9, 8, 7, 6, 5, 4, 3, 2, 1, 0};
+        IntArrays.quickSort(a, 2, 8, NATURAL);
+        assertArrayEquals(new int[]{9, 8, 2, 3, 4, 5, 6, 7, 1, 0}, a);
+    }
+
+    @Test
+    public void testParallelQuickSort() {
+        int threshold = IntArrays.getParallelSortThreshold();
+        IntArrays.setParallelSortThreshold(64);
+        try {
+            Random random = new Random(2);
+            for (int bound : new int[]{5, 1_000_000}) {
+                int[] a = randomArray(random, 100_000, bound);
+                int[] expected = a.clone();
+                Arrays.sort(expected);
+                IntArrays.parallelQuickSort(a, 0, a.length, NATURAL);
+                assertArrayEquals(expected, a);
+            }
+        } finally {
+            IntArrays.setParallelSortThreshold(threshold);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelSortThresholdTooSmall() {
+        IntArrays.setParallelSortThreshold(1);
+    }
+
+    @Test
+    public void testRadixSort() {
+        Random random = new Random(3);
+        int[] a = new int[5000];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextInt();
+        }
+        int[] expected = a.clone();
+        Arrays.sort(expected);
+        IntArrays.radixSort(a, 0, a.length, new int[a.length]);
+        assertArrayEquals(expected, a);
+    }
+
+    @Test
+    public void testRadixSortReusesCountBuffer() {
+        Random random = new Random(5);
+        int[] count = new int[IntArrays.RADIX_COUNT_SIZE];
+        for (int round = 0; round < 3; round++) {
+            int[] a = new int[1000 + round * 700];
+            for (int i = 0; i < a.length; i++) {
+                a[i] = random.nextInt(1 << (8 * (round + 1)));
+            }
+            int[] expected = a.clone();
+            Arrays.sort(expected);
+            IntArrays.radixSort(a, 0, a.length, new int[a.length], count);
+            assertArrayEquals(expected, a);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.datadynamics.hive.udf.fastuitl.longs;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LongOpenHashSetTest {
+    @Test
+    public void testAddFindClear() {
+        LongOpenHashSet set = new LongOpenHashSet();
+        for (long i = 0; i < 10_000; i++) {
+            assertEquals((int) i, set.add(i * 31));
+        }
+        assertEquals(10_000, set.size());
+        assertEquals(-(5 + 1), set.add(5 * 31));
+        assertEquals(7, set.find(7 * 31));
+        assertEquals(-1, set.find(1));
+        assertEquals(9999L * 31, set.key(9999));
+
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0));
+        assertEquals(0, set.add(42));
+        assertTrue(set.contains(42));
+    }
+}
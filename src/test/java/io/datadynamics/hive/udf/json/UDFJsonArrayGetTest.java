@@ -0,0 +1,99 @@
+package io.datadynamics.hive.udf.json;
+
+import io.datadynamics.hive.udf.utils.json.JsonUtils;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UDFJsonArrayGetTest {
+    private static final String ARRAY = "[1, {\"a\": [2, 3]}, \"x\\\"y\", null, [], true, -2.5e1, \"\\u00e9\"]";
+
+    private static UDFJsonArrayGet initialize(ObjectInspector indexOI) throws UDFArgumentException {
+        UDFJsonArrayGet udf = new UDFJsonArrayGet();
+        udf.initialize(new ObjectInspector[]{PrimitiveObjectInspectorFactory.javaStringObjectInspector, indexOI});
+        return udf;
+    }
+
+    private static String get(UDFJsonArrayGet udf, String json, Object index) throws Exception {
+        Object output = udf.evaluate(new DeferredObject[]{new DeferredJavaObject(json), new DeferredJavaObject(index)});
+        return output == null ? null : output.toString();
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        UDFJsonArrayGet udf = initialize(PrimitiveObjectInspectorFactory.javaLongObjectInspector);
+
+        assertEquals("1", get(udf, ARRAY, 0L));
+        assertEquals("{\"a\": [2, 3]}", get(udf, ARRAY, 1L));
+        assertEquals("x\"y", get(udf, ARRAY, 2L));
+        assertNull(get(udf, ARRAY, 3L));
+        assertEquals("[]", get(udf, ARRAY, 4L));
+        assertEquals("true", get(udf, ARRAY, 5L));
+        assertEquals("-2.5e1", get(udf, ARRAY, 6L));
+        assertEquals("\u00e9", get(udf, ARRAY, 7L));
+        assertNull(get(udf, ARRAY, 8L));
+
+        assertEquals("\u00e9", get(udf, ARRAY, -1L));
+        assertEquals("-2.5e1", get(udf, ARRAY, -2L));
+        assertEquals("x\"y", get(udf, ARRAY, -6L));
+        assertEquals("{\"a\": [2, 3]}", get(udf, ARRAY, -7L));
+        assertEquals("1", get(udf, ARRAY, -8L));
+        assertNull(get(udf, ARRAY, -9L));
+        assertNull(get(udf, ARRAY, Long.MIN_VALUE));
+
+        assertNull(get(udf, "{\"a\": 1}", 0L));
+        assertNull(get(udf, "[1, 2", -1L));
+        assertEquals("1", get(udf, "[1, 2", 0L));
+        assertNull(get(udf, null, 0L));
+        assertNull(get(udf, ARRAY, null));
+    }
+
+    @Test
+    public void testIntIndex() throws Exception {
+        UDFJsonArrayGet udf = initialize(PrimitiveObjectInspectorFactory.javaIntObjectInspector);
+
+        assertEquals("{\"a\": [2, 3]}", get(udf, ARRAY, 1));
+        assertEquals("1", get(udf, ARRAY, -8));
+    }
+
+    @Test
+    public void testRingBuffer() throws Exception {
+        UDFJsonArrayGet udf = initialize(PrimitiveObjectInspectorFactory.javaLongObjectInspector);
+        Random random = new Random(0);
+
+        for (int length : new int[]{0, 1, 15, 16, 17, 100, 1000}) {
+            StringBuilder json = new StringBuilder("[");
+            for (int i = 0; i < length; i++) {
+                json.append(i == 0 ? "" : ", ").append(random.nextBoolean() ? "\"s" + i + "\"" : "[" + i + "]");
+            }
+            String array = json.append("]").toString();
+
+            for (long index = -length - 2; index < length + 2; index++) {
+                long position = index < 0 ? length + index : index;
+                String expected = position < 0 || position >= length ? null : array.contains("\"s" + position + "\"") ? "s" + position : "[" + position + "]";
+                assertEquals(array + " " + index, expected, get(udf, array, index));
+            }
+        }
+    }
+
+    @Test
+    public void testJsonUtils() {
+        assertEquals("{\"a\": [2, 3]}", JsonUtils.jsonArrayGet(ARRAY, -7));
+        assertEquals("x\"y", JsonUtils.jsonArrayGet(ARRAY, 2));
+        assertNull(JsonUtils.jsonArrayGet(ARRAY, 3));
+        assertEquals(Long.valueOf(8), JsonUtils.jsonArrayLength(ARRAY));
+    }
+
+    @Test(expected = UDFArgumentException.class)
+    public void testNonIntegerIndex() throws Exception {
+        initialize(PrimitiveObjectInspectorFactory.javaDoubleObjectInspector);
+    }
+}
@@ -0,0 +1,124 @@
+package io.datadynamics.hive.udf.json;
+
+import io.datadynamics.hive.udf.utils.json.JsonExtract;
+import io.datadynamics.hive.udf.utils.json.JsonPath;
+import io.datadynamics.hive.udf.utils.json.JsonPathTrie;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UDFJsonExtractMultiTest {
+    private static final String[] PATHS = {
+            "$", "$.a", "$.a.b", "$.a.b[0]", "$.a.b[1].c", "$.a.b[2]", "$.a.b[5]", "$.d", "$.d.x",
+            "$.items[0].id", "$.items[1].id", "$.items.0", "$[\"a\"].b[1]", "$.dup.x", "$.dup.y", "$.a.b[1].c"
+    };
+
+    private static final String[] DOCUMENTS = {
+            "{\"a\": {\"b\": [1, {\"c\": \"x\"}, null]}, \"d\": \"text\", \"items\": [{\"id\": 7}, {\"id\": true}]}",
+            "{\"items\": [{\"id\": 1.5, \"id\": 2}], \"a\": 3, \"dup\": {\"x\": 1}, \"dup\": {\"y\": 2}}",
+            "{\"items\": {\"0\": \"zero\"}, \"a\": {\"b\": []}, \"d\": {\"x\": [1, 2]}}",
+            "{\"a\": {\"b\": [1, {\"c\": \"x\"}, null]}, \"d\": ",
+            "[1, 2, 3]",
+            "\"scalar\"",
+            "null",
+            "",
+            "{\"a\": {\"b\": [1, {\"c\": \"x\"",
+    };
+
+    private static UDFJsonExtractMulti initialize(String... paths) throws UDFArgumentException {
+        ObjectInspector[] arguments = new ObjectInspector[paths.length + 1];
+        arguments[0] = PrimitiveObjectInspectorFactory.javaStringObjectInspector;
+        for (int i = 0; i < paths.length; i++) {
+            arguments[i + 1] = PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                    TypeInfoFactory.stringTypeInfo, paths[i] == null ? null : new Text(paths[i]));
+        }
+        UDFJsonExtractMulti udf = new UDFJsonExtractMulti();
+        StructObjectInspector outputOI = (StructObjectInspector) udf.initialize(arguments);
+        assertEquals(paths.length, outputOI.getAllStructFieldRefs().size());
+        assertEquals("c0", outputOI.getAllStructFieldRefs().get(0).getFieldName());
+        return udf;
+    }
+
+    private static Object[] evaluate(UDFJsonExtractMulti udf, String json) throws Exception {
+        return (Object[]) udf.evaluate(new DeferredObject[]{new DeferredJavaObject(json)});
+    }
+
+    /**
+     * The value of a single path: the scalar text, or else the object or array as written.
+     */
+    private static String extractOne(String json, String path) {
+        JsonPath jsonPath = new JsonPath(path);
+        String scalar = JsonExtract.extract(json, jsonPath.getScalarExtractor());
+        if (scalar != null) {
+            return scalar;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        JsonExtract.ValueRange range = JsonExtract.extract(bytes, 0, bytes.length, jsonPath.getValueRangeExtractor());
+        if (range == null) {
+            return null;
+        }
+        String value = new String(bytes, range.getStart(), range.getLength(), StandardCharsets.UTF_8);
+        return "null".equals(value) ? null : value;
+    }
+
+    @Test
+    public void testMatchesSinglePathExtraction() throws Exception {
+        UDFJsonExtractMulti udf = initialize(PATHS);
+
+        for (String json : DOCUMENTS) {
+            Object[] output = evaluate(udf, json);
+            for (int i = 0; i < PATHS.length; i++) {
+                String expected = extractOne(json, PATHS[i]);
+                assertEquals(json + " " + PATHS[i], expected, output[i] == null ? null : output[i].toString());
+            }
+        }
+    }
+
+    @Test
+    public void testExtract() throws Exception {
+        UDFJsonExtractMulti udf = initialize("$.a", "$.b.c", "$.items[0].id", "$.missing", null);
+
+        Object[] output = evaluate(udf, "{\"a\": 1, \"b\": {\"c\": [2, 3]}, \"items\": [{\"id\": \"x\"}]}");
+        assertEquals("1", output[0].toString());
+        assertEquals("[2, 3]", output[1].toString());
+        assertEquals("x", output[2].toString());
+        assertNull(output[3]);
+        assertNull(output[4]);
+
+        assertNull(udf.evaluate(new DeferredObject[]{new DeferredJavaObject(null)}));
+    }
+
+    @Test
+    public void testByteRange() {
+        JsonPathTrie trie = new JsonPathTrie(Arrays.asList(new JsonPath("$.a"), new JsonPath("$.a.b[1]"), new JsonPath("$.c")));
+        byte[] json = "xx{\"a\": {\"b\": [1, \"é\"]}, \"c\": null}yy".getBytes(StandardCharsets.UTF_8);
+
+        trie.extract(json, 2, json.length - 4);
+        assertEquals("{\"b\": [1, \"é\"]}", trie.getValue(0).toString());
+        assertEquals("é", trie.getValue(1).toString());
+        assertNull(trie.getValue(2));
+    }
+
+    @Test(expected = UDFArgumentException.class)
+    public void testNonConstantPath() throws Exception {
+        new UDFJsonExtractMulti().initialize(new ObjectInspector[]{
+                PrimitiveObjectInspectorFactory.javaStringObjectInspector, PrimitiveObjectInspectorFactory.javaStringObjectInspector});
+    }
+
+    @Test(expected = UDFArgumentException.class)
+    public void testInvalidPath() throws Exception {
+        initialize("$.a", "b");
+    }
+}
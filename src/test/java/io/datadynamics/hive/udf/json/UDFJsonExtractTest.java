@@ -0,0 +1,167 @@
+package io.datadynamics.hive.udf.json;
+
+import io.datadynamics.hive.udf.utils.json.JsonPathCache;
+import org.apache.hadoop.hive.common.type.HiveVarchar;
+import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredJavaObject;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF.DeferredObject;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class UDFJsonExtractTest {
+    private static final String JSON = "{\"a\": {\"b\": [1, {\"c\": \"x\"}, null]}, \"d\": \"text\", \"e\": 1.5}";
+
+    private static ObjectInspector constantPath(String path) {
+        return PrimitiveObjectInspectorFactory.getPrimitiveWritableConstantObjectInspector(
+                TypeInfoFactory.stringTypeInfo, path == null ? null : new Text(path));
+    }
+
+    private static GenericUDF initialize(GenericUDF udf, ObjectInspector pathOI) throws UDFArgumentException {
+        udf.initialize(new ObjectInspector[]{PrimitiveObjectInspectorFactory.javaStringObjectInspector, pathOI});
+        return udf;
+    }
+
+    private static String evaluate(GenericUDF udf, String json, String path) throws HiveException {
+        Object output = udf.evaluate(new DeferredObject[]{new DeferredJavaObject(json), new DeferredJavaObject(path)});
+        return output == null ? null : output.toString();
+    }
+
+    @Test
+    public void testJsonExtract() throws Exception {
+        GenericUDF udf = initialize(new UDFJsonExtract(), PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+
+        assertEquals("[1, {\"c\": \"x\"}, null]", evaluate(udf, JSON, "$.a.b"));
+        assertEquals("{\"c\": \"x\"}", evaluate(udf, JSON, "$.a.b[1]"));
+        assertEquals("\"text\"", evaluate(udf, JSON, "$.d"));
+        assertEquals("1.5", evaluate(udf, JSON, "$.e"));
+        assertEquals("null", evaluate(udf, JSON, "$.a.b[2]"));
+        assertEquals(JSON, evaluate(udf, JSON, "$"));
+        assertEquals("-1.0e2", evaluate(udf, " -1.0e2 ", "$"));
+        assertEquals("\"\\u00e9\\\"\"", evaluate(udf, "[\"\\u00e9\\\"\", true]", "$[0]"));
+        assertEquals("true", evaluate(udf, "[\"\\u00e9\\\"\", true]", "$[1]"));
+        assertNull(evaluate(udf, JSON, "$.a.b[3]"));
+        assertNull(evaluate(udf, JSON, "$.x"));
+        assertNull(evaluate(udf, "{\"a\": ", "$.a"));
+        assertNull(evaluate(udf, null, "$.a"));
+        assertNull(evaluate(udf, JSON, null));
+    }
+
+    @Test
+    public void testJsonExtractNormalize() throws Exception {
+        GenericUDF udf = new UDFJsonExtract();
+        udf.initialize(new ObjectInspector[]{PrimitiveObjectInspectorFactory.javaStringObjectInspector,
+                PrimitiveObjectInspectorFactory.javaStringObjectInspector, constantPath("normalize")});
+
+        assertEquals("[1,{\"c\":\"x\"},null]", evaluate(udf, JSON, "$.a.b"));
+        assertEquals("\"é\\\"\"", evaluate(udf, "[\"\\u00e9\\\"\"]", "$[0]"));
+        assertNull(evaluate(udf, "{\"a\": [1, ", "$.a"));
+    }
+
+    @Test(expected = UDFArgumentException.class)
+    public void testInvalidMode() throws Exception {
+        new UDFJsonExtract().initialize(new ObjectInspector[]{PrimitiveObjectInspectorFactory.javaStringObjectInspector,
+                PrimitiveObjectInspectorFactory.javaStringObjectInspector, constantPath("pretty")});
+    }
+
+    @Test
+    public void testJsonExtractScalar() throws Exception {
+        GenericUDF udf = initialize(new UDFJsonExtractScalar(), constantPath("$.a.b[1].c"));
+
+        assertEquals("x", evaluate(udf, JSON, null));
+        assertNull(evaluate(udf, "{\"a\": {\"b\": [1, 2]}}", null));
+        assertNull(evaluate(udf, null, null));
+
+        udf = initialize(new UDFJsonExtractScalar(), PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        assertEquals("1", evaluate(udf, JSON, "$.a.b[0]"));
+        assertEquals("1.5", evaluate(udf, JSON, "$.e"));
+        assertEquals("text", evaluate(udf, JSON, "$[\"d\"]"));
+        assertNull(evaluate(udf, JSON, "$.a"));
+        assertNull(evaluate(udf, JSON, "$.a.b[2]"));
+    }
+
+    @Test
+    public void testMultiByteScalars() throws Exception {
+        GenericUDF udf = initialize(new UDFJsonExtractScalar(), PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        String json = "{\"ko\": \"한글\", \"emoji\": \"a\uD83D\uDE00b\", \"escaped\": \"\\u00e9\\\"\\n\", \"broken\": \"\\ud800x\"}";
+
+        assertEquals("한글", evaluate(udf, json, "$.ko"));
+        assertEquals("a\uD83D\uDE00b", evaluate(udf, json, "$.emoji"));
+        assertEquals("\u00e9\"\n", evaluate(udf, json, "$.escaped"));
+        assertEquals("?x", evaluate(udf, json, "$.broken"));
+    }
+
+    @Test
+    public void testTextInput() throws Exception {
+        GenericUDF udf = new UDFJsonExtractScalar();
+        udf.initialize(new ObjectInspector[]{PrimitiveObjectInspectorFactory.writableStringObjectInspector, constantPath("$.d")});
+
+        // the Text buffer is longer than its content
+        Text json = new Text("{\"d\": \"longer value\", \"padding\": 0}");
+        json.set("{\"d\": \"v\"}");
+        Object output = udf.evaluate(new DeferredObject[]{new DeferredJavaObject(json), new DeferredJavaObject(null)});
+        assertEquals("v", output.toString());
+
+        udf = new UDFJsonExtractScalar();
+        udf.initialize(new ObjectInspector[]{PrimitiveObjectInspectorFactory.getPrimitiveJavaObjectInspector(
+                TypeInfoFactory.getVarcharTypeInfo(100)), constantPath("$.d")});
+        output = udf.evaluate(new DeferredObject[]{new DeferredJavaObject(new HiveVarchar("{\"d\": 1}", 100)), new DeferredJavaObject(null)});
+        assertEquals("1", output.toString());
+    }
+
+    @Test
+    public void testJsonSize() throws Exception {
+        GenericUDF udf = initialize(new UDFJsonSize(), PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+
+        assertEquals("3", evaluate(udf, JSON, "$"));
+        assertEquals("3", evaluate(udf, JSON, "$.a.b"));
+        assertEquals("1", evaluate(udf, JSON, "$.a.b[1]"));
+        assertEquals("0", evaluate(udf, JSON, "$.d"));
+        assertNull(evaluate(udf, JSON, "$.x"));
+    }
+
+    @Test
+    public void testNullConstantPath() throws Exception {
+        GenericUDF udf = initialize(new UDFJsonExtract(), constantPath(null));
+
+        assertNull(evaluate(udf, JSON, null));
+    }
+
+    @Test(expected = UDFArgumentException.class)
+    public void testInvalidConstantPath() throws Exception {
+        initialize(new UDFJsonExtract(), constantPath("a.b"));
+    }
+
+    @Test(expected = HiveException.class)
+    public void testInvalidPath() throws Exception {
+        GenericUDF udf = initialize(new UDFJsonExtract(), PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+
+        evaluate(udf, JSON, "$.a..b");
+    }
+
+    @Test(expected = UDFArgumentException.class)
+    public void testNonStringJson() throws Exception {
+        new UDFJsonExtract().initialize(new ObjectInspector[]{
+                PrimitiveObjectInspectorFactory.javaIntObjectInspector, PrimitiveObjectInspectorFactory.javaStringObjectInspector});
+    }
+
+    @Test
+    public void testPathCache() {
+        JsonPathCache cache = new JsonPathCache(2);
+
+        assertSame(cache.get("$.a"), cache.get("$.a"));
+        cache.get("$.b");
+        cache.get("$.a");
+        cache.get("$.c"); // evicts $.b, the least recently used
+        assertEquals(2, cache.size());
+        assertSame(cache.get("$.a"), cache.get("$.a"));
+    }
+}
@@ -0,0 +1,55 @@
+package io.datadynamics.hive.udf.utils;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ArrayAccessorTest {
+    @Test
+    public void testLongAccessor() {
+        ListObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaLongObjectInspector);
+        ArrayAccessor accessor = ArrayAccessor.create(arrayOI);
+        assertEquals(ArrayAccessor.Kind.LONG, accessor.getKind());
+
+        List<Long> array = Arrays.asList(3L, null, 1L);
+        assertTrue(accessor.bind(new LongWritable(1L), PrimitiveObjectInspectorFactory.writableLongObjectInspector));
+        assertFalse(accessor.matches(array, 0));
+        assertFalse(accessor.matches(array, 1));
+        assertTrue(accessor.matches(array, 2));
+        assertFalse(accessor.bind(null, PrimitiveObjectInspectorFactory.writableLongObjectInspector));
+
+        // nulls first
+        assertTrue(accessor.compare(array, 1, 2) < 0);
+        assertTrue(accessor.compare(array, 0, 2) > 0);
+    }
+
+    @Test
+    public void testStringAccessor() {
+        ListObjectInspector javaArrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaStringObjectInspector);
+        ListObjectInspector writableArrayOI = ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.writableStringObjectInspector);
+        ArrayAccessor javaAccessor = ArrayAccessor.create(javaArrayOI);
+        ArrayAccessor writableAccessor = ArrayAccessor.create(writableArrayOI);
+        assertEquals(ArrayAccessor.Kind.STRING, javaAccessor.getKind());
+
+        List<String> javaArray = ImmutableList.of("a", "b");
+        List<Text> writableArray = ImmutableList.of(new Text("b"), new Text("c"));
+
+        assertTrue(writableAccessor.bind("b", PrimitiveObjectInspectorFactory.javaStringObjectInspector));
+        assertTrue(writableAccessor.matches(writableArray, 0));
+        assertFalse(writableAccessor.matches(writableArray, 1));
+
+        assertEquals(0, javaAccessor.compare(javaArray, 1, writableAccessor, writableArray, 0));
+        assertTrue(javaAccessor.compare(javaArray, 0, writableAccessor, writableArray, 1) < 0);
+    }
+}
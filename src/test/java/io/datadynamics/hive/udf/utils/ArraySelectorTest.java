@@ -0,0 +1,77 @@
+package io.datadynamics.hive.udf.utils;
+
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.assertEquals;
+
+public class ArraySelectorTest {
+    private static <T extends Comparable<T>> void check(ObjectInspector elementOI, IntFunction<T> values) {
+        ListObjectInspector arrayOI = ObjectInspectorFactory.getStandardListObjectInspector(elementOI);
+        ArraySelector selector = new ArraySelector(ArrayAccessor.create(arrayOI));
+        Random random = new Random(7L);
+        for (int round = 0; round < 200; round++) {
+            int length = random.nextInt(300);
+            List<T> array = new ArrayList<T>();
+            List<T> sorted = new ArrayList<T>();
+            for (int i = 0; i < length; i++) {
+                // few distinct values and some nulls
+                T value = random.nextInt(10) == 0 ? null : values.apply(random.nextInt(40));
+                array.add(value);
+                if (value != null) {
+                    sorted.add(value);
+                }
+            }
+            Collections.sort(sorted);
+
+            int k = random.nextInt(20);
+            int count = selector.top(array, k, true);
+            assertEquals(Math.min(k, sorted.size()), count);
+            for (int i = 0; i < count; i++) {
+                assertEquals(sorted.get(sorted.size() - 1 - i), array.get(selector.getPosition(i)));
+            }
+            count = selector.top(array, k, false);
+            for (int i = 0; i < count; i++) {
+                assertEquals(sorted.get(i), array.get(selector.getPosition(i)));
+            }
+
+            assertEquals(sorted.size(), selector.load(array));
+            for (int rank = 0; rank < sorted.size(); rank += 1 + random.nextInt(5)) {
+                assertEquals(sorted.get(rank), array.get(selector.select(rank)));
+                if (rank + 1 < sorted.size()) {
+                    assertEquals(sorted.get(rank + 1), array.get(selector.selectNext(rank)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInts() {
+        check(PrimitiveObjectInspectorFactory.javaIntObjectInspector, v -> v - 20);
+    }
+
+    @Test
+    public void testDoubles() {
+        check(PrimitiveObjectInspectorFactory.javaDoubleObjectInspector, v -> v == 0 ? Double.NaN : (v - 20) * 0.75d);
+    }
+
+    @Test
+    public void testStrings() {
+        check(PrimitiveObjectInspectorFactory.javaStringObjectInspector, v -> "s" + v);
+    }
+
+    @Test
+    public void testDecimals() {
+        check(PrimitiveObjectInspectorFactory.javaHiveDecimalObjectInspector, v -> HiveDecimal.create(v - 20).scaleByPowerOfTen(-1));
+    }
+}
@@ -0,0 +1,89 @@
+package io.datadynamics.hive.udf.utils;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.serde.serdeConstants;
+import org.apache.hadoop.hive.serde2.SerDeUtils;
+import org.apache.hadoop.hive.serde2.lazybinary.LazyBinaryArray;
+import org.apache.hadoop.hive.serde2.lazybinary.LazyBinarySerDe;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorUtils;
+import org.apache.hadoop.hive.serde2.objectinspector.StructField;
+import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoUtils;
+import org.apache.hadoop.io.BytesWritable;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ListElementReaderTest {
+    /**
+     * Serializes the array with LazyBinarySerDe, then checks every index of the deserialized
+     * array against the Java list.
+     */
+    private static void check(String typeName, List<?> array) throws Exception {
+        LazyBinarySerDe serde = new LazyBinarySerDe();
+        Properties properties = new Properties();
+        properties.setProperty(serdeConstants.LIST_COLUMNS, "a");
+        properties.setProperty(serdeConstants.LIST_COLUMN_TYPES, typeName);
+        SerDeUtils.initializeSerDe(serde, new Configuration(), properties, null);
+
+        TypeInfo typeInfo = TypeInfoUtils.getTypeInfoFromTypeString(typeName);
+        StructObjectInspector inputRowOI = ObjectInspectorFactory.getStandardStructObjectInspector(
+                Collections.singletonList("a"),
+                Collections.singletonList(TypeInfoUtils.getStandardJavaObjectInspectorFromTypeInfo(typeInfo)));
+        BytesWritable bytes = (BytesWritable) serde.serialize(Collections.<Object>singletonList(array), inputRowOI);
+
+        StructObjectInspector rowOI = (StructObjectInspector) serde.getObjectInspector();
+        StructField field = rowOI.getStructFieldRef("a");
+        ListObjectInspector arrayOI = (ListObjectInspector) field.getFieldObjectInspector();
+        ObjectInspector elementOI = arrayOI.getListElementObjectInspector();
+
+        ListElementReader reader = new ListElementReader(arrayOI);
+        for (int index = -array.size() - 1; index <= array.size(); index++) {
+            // a fresh row each time, so that nothing has been parsed yet
+            Object lazyArray = rowOI.getStructFieldData(serde.deserialize(new BytesWritable(bytes.copyBytes())), field);
+            assertTrue(lazyArray instanceof LazyBinaryArray);
+            assertEquals(array.size(), reader.length(lazyArray));
+
+            Object expected = index >= -array.size() && index < array.size()
+                    ? array.get(index < 0 ? index + array.size() : index) : null;
+            Object actual = ObjectInspectorUtils.copyToStandardJavaObject(reader.get(lazyArray, index), elementOI);
+            assertEquals(typeName + " at " + index, expected, actual);
+        }
+    }
+
+    @Test
+    public void testFixedWidth() throws Exception {
+        check("array<double>", Arrays.asList(1.5, null, -2.0, null, null, null, null, null, null, 7.25, 8.0));
+        check("array<smallint>", Arrays.asList((short) 3, null, (short) -4));
+    }
+
+    @Test
+    public void testVariableWidth() throws Exception {
+        check("array<int>", Arrays.asList(1, null, 300000, -5, null, Integer.MIN_VALUE));
+        check("array<bigint>", Arrays.asList(null, Long.MAX_VALUE, 0L, -1L));
+        check("array<string>", Arrays.asList("a", null, "", "longer value", null, "z"));
+        check("array<array<int>>", Arrays.asList(Arrays.asList(1, 2), null, Collections.emptyList(), Arrays.asList(3)));
+    }
+
+    @Test
+    public void testEmptyAndNull() throws Exception {
+        check("array<string>", Collections.emptyList());
+
+        ListElementReader reader = new ListElementReader(
+                ObjectInspectorFactory.getStandardListObjectInspector(PrimitiveObjectInspectorFactory.javaIntObjectInspector));
+        assertEquals(-1, reader.length(null));
+        assertEquals(2, reader.length(Arrays.asList(1, null)));
+        assertEquals(1, reader.get(Arrays.asList(1, null), -2));
+    }
+}
@@ -0,0 +1,127 @@
+package io.datadynamics.hive.udf.vector;
+
+import io.datadynamics.hive.udf.GenericUDFSafeDivide;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.vector.*;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SafeDivideVectorTest {
+
+    private static VectorizedRowBatch batch(ColumnVector left, ColumnVector right, int size) {
+        VectorizedRowBatch batch = new VectorizedRowBatch(3, size);
+        batch.cols[0] = left;
+        batch.cols[1] = right;
+        batch.cols[2] = new DoubleColumnVector(size);
+        batch.size = size;
+        return batch;
+    }
+
+    private static void assertOutput(VectorizedRowBatch batch, Double... expected) {
+        DoubleColumnVector out = (DoubleColumnVector) batch.cols[2];
+        for (int i = 0; i < expected.length; i++) {
+            int row = out.isRepeating ? 0 : i;
+            if (expected[i] == null) {
+                assertTrue("row " + i, out.isNull[row]);
+            } else {
+                assertFalse("row " + i, out.isNull[row]);
+                assertEquals(expected[i], out.vector[row], 0.0d);
+            }
+        }
+    }
+
+    @Test
+    public void testColColLongDouble() throws Exception {
+        LongColumnVector numerator = new LongColumnVector(4);
+        DoubleColumnVector denominator = new DoubleColumnVector(4);
+        long[] a = {10, 1, 7, 0};
+        double[] b = {4.0, 0.0, -0.0, 0.0};
+        for (int i = 0; i < 4; i++) {
+            numerator.vector[i] = a[i];
+            denominator.vector[i] = b[i];
+        }
+        VectorizedRowBatch batch = batch(numerator, denominator, 4);
+        new SafeDivideColCol(0, 1, 2).evaluate(batch);
+        assertOutput(batch, 2.5, null, null, null);
+
+        numerator.noNulls = false;
+        numerator.isNull[0] = true;
+        denominator.vector[1] = 2.0;
+        new SafeDivideColCol(0, 1, 2).evaluate(batch);
+        assertOutput(batch, null, 0.5, null, null);
+    }
+
+    @Test
+    public void testRepeatingAndSelected() throws Exception {
+        LongColumnVector numerator = new LongColumnVector(3);
+        numerator.vector[0] = 9;
+        numerator.isRepeating = true;
+        LongColumnVector denominator = new LongColumnVector(3);
+        denominator.vector[0] = 3;
+        denominator.isRepeating = true;
+        VectorizedRowBatch batch = batch(numerator, denominator, 3);
+        new SafeDivideColCol(0, 1, 2).evaluate(batch);
+        assertTrue(batch.cols[2].isRepeating);
+        assertOutput(batch, 3.0, 3.0, 3.0);
+
+        denominator.isRepeating = false;
+        denominator.vector[1] = 0;
+        denominator.vector[2] = 2;
+        batch.selectedInUse = true;
+        batch.selected[0] = 1;
+        batch.selected[1] = 2;
+        batch.size = 2;
+        new SafeDivideColCol(0, 1, 2).evaluate(batch);
+        assertFalse(batch.cols[2].isRepeating);
+        assertTrue(batch.cols[2].isNull[1]);
+        assertEquals(4.5, ((DoubleColumnVector) batch.cols[2]).vector[2], 0.0d);
+    }
+
+    @Test
+    public void testColScalarDecimal() throws Exception {
+        DecimalColumnVector numerator = new DecimalColumnVector(2, 10, 2);
+        numerator.set(0, HiveDecimal.create("1.50"));
+        numerator.set(1, HiveDecimal.create("-3.00"));
+        VectorizedRowBatch batch = batch(numerator, null, 2);
+        new SafeDivideColScalar(0, HiveDecimal.create("0.5"), 2).evaluate(batch);
+        assertOutput(batch, 3.0, -6.0);
+
+        new SafeDivideColScalar(0, 0L, 2).evaluate(batch);
+        assertOutput(batch, null, null);
+
+        new SafeDivideColScalar(0, null, 2).evaluate(batch);
+        assertOutput(batch, null, null);
+    }
+
+    @Test
+    public void testScalarColString() throws Exception {
+        BytesColumnVector denominator = new BytesColumnVector(3);
+        denominator.initBuffer();
+        denominator.setVal(0, "4".getBytes(StandardCharsets.UTF_8));
+        denominator.setVal(1, "x".getBytes(StandardCharsets.UTF_8));
+        denominator.setVal(2, " 0.5 ".getBytes(StandardCharsets.UTF_8));
+        VectorizedRowBatch batch = batch(null, denominator, 3);
+        batch.cols[1] = denominator;
+        new SafeDivideScalarCol(2L, 1, 2).evaluate(batch);
+        assertOutput(batch, 0.5, null, 4.0);
+    }
+
+    @Test
+    public void testDescriptorLookup() throws Exception {
+        VectorExpressionDescriptor.Descriptor descriptor = new VectorExpressionDescriptor.Builder()
+                .setMode(VectorExpressionDescriptor.Mode.PROJECTION)
+                .setNumArguments(2)
+                .setArgumentType(0, "Long")
+                .setArgumentType(1, "Decimal")
+                .setInputExpressionTypes(
+                        VectorExpressionDescriptor.InputExpressionType.COLUMN,
+                        VectorExpressionDescriptor.InputExpressionType.SCALAR).build();
+        assertEquals(SafeDivideColScalar.class,
+                new VectorExpressionDescriptor().getVectorExpressionClass(GenericUDFSafeDivide.class, descriptor, false));
+    }
+}